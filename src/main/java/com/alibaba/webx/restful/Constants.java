@@ -2,8 +2,65 @@ package com.alibaba.webx.restful;
 
 public interface Constants {
 
-    public static final String PROVIDER_PACKAGES = "webx.restful.provider.packages";
+    public static final String PROVIDER_PACKAGES     = "webx.restful.provider.packages";
 
-    public static final String COMMON_DELIMITERS = " ,;\n";
+    /**
+     * The route matching engine, {@link #ROUTER_TRIE} (default) or {@link #ROUTER_PATTERN}.
+     */
+    public static final String ROUTER                = "webx.restful.router";
+
+    public static final String ROUTER_TRIE           = "trie";
+
+    public static final String ROUTER_PATTERN        = "pattern";
+
+    /**
+     * Maximum number of cached route matches per cache, the route cache is disabled when not set or not positive.
+     */
+    public static final String ROUTE_CACHE_SIZE      = "webx.restful.route.cache.size";
+
+    /**
+     * Path extensions mapped to the media type of the response, as {@code extension=media/type} pairs, for example
+     * {@code json=application/json, txt=text/plain}. The extension is removed from the path before routing and takes
+     * precedence over the {@code Accept} header. Defaults to {@code json=application/json}.
+     */
+    public static final String MEDIA_TYPE_EXTENSIONS = "webx.restful.media.extensions";
+
+    /**
+     * Maximum number of characters read while matching a path pattern with nested quantifiers, such as
+     * {@code {id: (a+)+}}, the request is answered with {@code 400} when exceeded. Defaults to 100000, the step limit
+     * is disabled when not positive.
+     */
+    public static final String MATCH_STEP_LIMIT      = "webx.restful.match.step.limit";
+
+    /**
+     * The way resource methods are called, {@link #INVOKER_ASM} (default) or {@link #INVOKER_REFLECTION}.
+     */
+    public static final String INVOKER               = "webx.restful.invoker";
+
+    public static final String INVOKER_ASM           = "asm";
+
+    public static final String INVOKER_REFLECTION    = "reflection";
+
+    /**
+     * Maximum number of idle instances pooled per resource class, for the classes created per request whose
+     * constructor reads nothing from the request. A pooled instance gets its request dependent properties again when
+     * reused, the autowired ones once. The instances are created per request when not set or not positive.
+     */
+    public static final String INSTANCE_POOL_SIZE    = "webx.restful.instance.pool.size";
+
+    /**
+     * {@code true} to read the query, form and unannotated parameters of GET and HEAD requests from an index of the
+     * raw query string built on first access, decoded in UTF-8, instead of the servlet parameter map. Defaults to
+     * {@code false}.
+     */
+    public static final String QUERY_INDEX           = "webx.restful.query.index";
+
+    /**
+     * Maximum number of values of a parameter bound to an array or a collection, counting the repeated and the comma
+     * separated values, more values are refused. Defaults to 1000.
+     */
+    public static final String MAX_PARAMETER_VALUES  = "webx.restful.parameter.max.values";
+
+    public static final String COMMON_DELIMITERS     = " ,;\n";
 
 }
@@ -24,9 +24,9 @@ import com.alibaba.webx.restful.model.Resource;
 import com.alibaba.webx.restful.model.finder.ClassInfo;
 import com.alibaba.webx.restful.model.finder.ResourceFinder;
 import com.alibaba.webx.restful.model.finder.WebAppResourcesScanner;
-import com.alibaba.webx.restful.model.param.ParameterProviderImpl;
 import com.alibaba.webx.restful.process.ApplicationHandler;
 import com.alibaba.webx.restful.process.RestfulComponent;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
 import com.alibaba.webx.restful.process.impl.UriInfoImpl;
 import com.alibaba.webx.restful.spi.ParameterProvider;
 import com.alibaba.webx.restful.util.ApplicationContextUtils;
@@ -64,12 +64,13 @@ public class RestfulServletFilter implements Filter {
 
         ApplicationContextUtils.setApplicationContext(applicationContxt);
 
-        ParameterProvider parameterProvider = new ParameterProviderImpl(applicationContxt);
+        Map<String, Object> initParams = getInitParams(filterConfig);
+        applicationConfig.getProperties().putAll(initParams);
 
-        String[] packageNames = getConfigPackageNames(filterConfig);
-        if (packageNames != null && packageNames.length != 0) {
+        ParameterProvider parameterProvider = ApplicationHandler.createParameterProvider(applicationConfig,
+                                                                                         applicationContxt);
 
-        }
+        String[] packageNames = ResourceUtils.parsePropertyValue(initParams.get(Constants.PROVIDER_PACKAGES));
 
         Map<Class<?>, ClassInfo> scanResult = ResourceUtils.scanResources(resourceFinders, packageNames);
 
@@ -87,13 +88,6 @@ public class RestfulServletFilter implements Filter {
         return applicationConfig;
     }
 
-    private String[] getConfigPackageNames(FilterConfig filterConfig) {
-        final Map<String, Object> initParams = getInitParams(filterConfig);
-        String packageProperty = (String) initParams.get(Constants.PROVIDER_PACKAGES);
-        String[] packageNames = ResourceUtils.parsePropertyValue(packageProperty);
-        return packageNames;
-    }
-
     private Map<String, Object> getInitParams(FilterConfig webConfig) {
         Map<String, Object> props = new HashMap<String, Object>();
         Enumeration<?> names = webConfig.getInitParameterNames();
@@ -112,9 +106,23 @@ public class RestfulServletFilter implements Filter {
 
         ApplicationHandler handler = component.getHandler();
 
-        UriInfo uriInfo = new UriInfoImpl(httpRequest);
+        // requests for other paths go down the chain before anything is created
+        if (!handler.isRoutable(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        UriInfo uriInfo = new UriInfoImpl(httpRequest, handler.getMediaTypeExtensions());
+
+        ContainerRequestContextImpl requestContext = handler.createRequestContext(httpRequest, httpResponse, uriInfo);
+
+        // a matched route without resource method is answered with 405 by the handler
+        if (requestContext.getResourceMethod() == null && requestContext.getRoute() == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        handler.service(httpRequest, httpResponse, uriInfo);
+        handler.service(requestContext);
     }
 
 }
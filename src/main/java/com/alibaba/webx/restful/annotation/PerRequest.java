@@ -0,0 +1,19 @@
+package com.alibaba.webx.restful.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps a root resource class created per request. A class whose constructor parameters and properties are all
+ * autowired is otherwise created once and shared by the requests, so a class keeping state in its own fields has to
+ * be annotated.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PerRequest {
+
+}
@@ -1,8 +1,12 @@
 package com.alibaba.webx.restful.model;
 
 import java.io.Closeable;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.ws.rs.core.Application;
 
@@ -10,11 +14,17 @@ import com.alibaba.webx.restful.util.ConcurrentIdentityHashMap;
 
 public class ApplicationImpl extends Application implements Closeable {
 
-    private static final Object                               PRESENT   = new Object();
+    private static final Object                               PRESENT       = new Object();
 
-    private final ConcurrentIdentityHashMap<Resource, Object> resources = new ConcurrentIdentityHashMap<Resource, Object>();
+    private final ConcurrentIdentityHashMap<Resource, Object> resources     = new ConcurrentIdentityHashMap<Resource, Object>();
 
-    private final ConcurrentIdentityHashMap<Object, Object>   instances = new ConcurrentIdentityHashMap<Object, Object>();
+    private final ConcurrentIdentityHashMap<Object, Object>   instances     = new ConcurrentIdentityHashMap<Object, Object>();
+
+    private final Map<String, Object>                         properties    = new ConcurrentHashMap<String, Object>();
+
+    private volatile Resource[]                               resourceArray = new Resource[0];
+
+    private final List<ResourceListener>                      listeners     = new CopyOnWriteArrayList<ResourceListener>();
 
     public ApplicationImpl(){
     }
@@ -23,14 +33,70 @@ public class ApplicationImpl extends Application implements Closeable {
         return resources.keySet();
     }
 
-    public void addResources(List<Resource> resources) {
+    /**
+     * Get the resources sorted by {@link ResourceComparator}, the order is the same whatever the order the resources
+     * were added in. The array is rebuilt when the resources change and must not be modified.
+     *
+     * @return sorted resource array.
+     */
+    public Resource[] getResourceArray() {
+        return resourceArray;
+    }
+
+    public synchronized void addResources(List<Resource> resources) {
         for (Resource item : resources) {
             this.resources.put(item, PRESENT);
         }
+        resourcesChanged();
     }
 
-    public void addResource(Resource resource) {
+    public synchronized void addResource(Resource resource) {
         this.resources.put(resource, PRESENT);
+        resourcesChanged();
+    }
+
+    public synchronized void removeResource(Resource resource) {
+        if (this.resources.remove(resource) != null) {
+            resourcesChanged();
+        }
+    }
+
+    /**
+     * Replace all the resources at once, for example when the resources are built again on a context refresh. The
+     * listeners see a single change, so requests never see a partial resource set.
+     */
+    public synchronized void setResources(List<Resource> resources) {
+        this.resources.clear();
+        for (Resource item : resources) {
+            this.resources.put(item, PRESENT);
+        }
+        resourcesChanged();
+    }
+
+    /**
+     * Register a listener notified of each following change of the resources.
+     */
+    public void addResourceListener(ResourceListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeResourceListener(ResourceListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Publish a new sorted copy of the resources, the arrays already handed out are never modified so readers do not
+     * need any lock.
+     */
+    private void resourcesChanged() {
+        Resource[] array = resources.keySet().toArray(new Resource[0]);
+        Arrays.sort(array, ResourceComparator.getInstance());
+
+        resourceArray = array;
+
+        for (ResourceListener listener : listeners) {
+            listener.resourcesChanged(this, array);
+        }
     }
 
     public Set<Object> getSingletons() {
@@ -41,8 +107,25 @@ public class ApplicationImpl extends Application implements Closeable {
         return this.instances.put(instance, PRESENT);
     }
 
-    public void close() {
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    public Object getProperty(String name) {
+        return properties.get(name);
+    }
+
+    public void setProperty(String name, Object value) {
+        if (value == null) {
+            properties.remove(name);
+        } else {
+            properties.put(name, value);
+        }
+    }
+
+    public synchronized void close() {
         this.resources.clear();
         this.instances.clear();
+        resourcesChanged();
     }
 }
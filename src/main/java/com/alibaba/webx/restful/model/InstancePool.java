@@ -0,0 +1,223 @@
+package com.alibaba.webx.restful.model;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Pool of the instances of a resource class created per request. A new instance is created with all its properties,
+ * a reused one gets only its request dependent properties again, the autowired ones are kept.
+ * <p>
+ * The idle instances are kept in stripes selected by the id of the thread, so that the threads of the container
+ * rarely share a lock. An instance is borrowed as a {@link PooledInstance}, which must be released once the request
+ * is done with the instance. A borrowed instance collected without being released is counted as a leak and logged.
+ */
+public final class InstancePool {
+
+    private final static Log                     LOG         = LogFactory.getLog(InstancePool.class);
+
+    private final MultiInstanceConstructor       constructor;
+    private final Stripe[]                       stripes;
+    private final int                            stripeMask;
+
+    private final AtomicLong                     hitCount    = new AtomicLong();
+    private final AtomicLong                     missCount   = new AtomicLong();
+    private final AtomicLong                     leakCount   = new AtomicLong();
+    private final AtomicInteger                  activeCount = new AtomicInteger();
+
+    /**
+     * The trackers of the borrowed instances, a tracker is queued when its instance is collected before released.
+     */
+    private final Set<LeakTracker>               trackers;
+    private final ReferenceQueue<PooledInstance> leakQueue   = new ReferenceQueue<PooledInstance>();
+
+    /**
+     * @param capacity the maximum number of idle instances, shared by the stripes.
+     */
+    public InstancePool(MultiInstanceConstructor constructor, int capacity){
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("illegal capacity : " + capacity);
+        }
+
+        int stripeCount = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (stripeCount < processors && stripeCount * 2 <= capacity) {
+            stripeCount *= 2;
+        }
+
+        this.constructor = constructor;
+        this.trackers = Collections.newSetFromMap(new ConcurrentHashMap<LeakTracker, Boolean>());
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+
+        int stripeCapacity = (capacity + stripeCount - 1) / stripeCount;
+        for (int i = 0; i < stripeCount; ++i) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    public Class<?> getHandlerClass() {
+        return constructor.getHandlerClass();
+    }
+
+    /**
+     * Take an idle instance and set its request dependent properties, or create a new instance when the stripe of the
+     * current thread is empty.
+     */
+    public PooledInstance borrow(RestfulRequestContext requestContext) throws Exception {
+        pollLeaks();
+
+        Object instance = getStripe().poll();
+        if (instance == null) {
+            missCount.incrementAndGet();
+            instance = constructor.createInstance(requestContext);
+        } else {
+            hitCount.incrementAndGet();
+            constructor.resetInstance(instance, requestContext);
+        }
+
+        PooledInstance pooledInstance = new PooledInstance(instance);
+        LeakTracker tracker = new LeakTracker(pooledInstance, leakQueue);
+        pooledInstance.tracker = tracker;
+        trackers.add(tracker);
+        activeCount.incrementAndGet();
+
+        return pooledInstance;
+    }
+
+    /**
+     * Give a borrowed instance back, the instance is dropped when the stripe of the current thread is full.
+     */
+    public void release(PooledInstance pooledInstance) {
+        LeakTracker tracker = pooledInstance.tracker;
+        if (tracker == null || !trackers.remove(tracker)) {
+            throw new IllegalStateException("instance already released, class " + getHandlerClass().getName());
+        }
+
+        tracker.clear();
+        pooledInstance.tracker = null;
+        activeCount.decrementAndGet();
+
+        getStripe().offer(pooledInstance.instance);
+    }
+
+    private Stripe getStripe() {
+        return stripes[(int) Thread.currentThread().getId() & stripeMask];
+    }
+
+    private void pollLeaks() {
+        for (;;) {
+            LeakTracker tracker = (LeakTracker) leakQueue.poll();
+            if (tracker == null) {
+                break;
+            }
+
+            if (trackers.remove(tracker)) {
+                activeCount.decrementAndGet();
+                long leaks = leakCount.incrementAndGet();
+                LOG.warn("resource instance not released, class " + getHandlerClass().getName() + ", " + leaks
+                         + " leaked");
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Borrowed instances collected without being released, counted when an instance is borrowed afterwards.
+     */
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    /**
+     * Borrowed instances not yet released.
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public int getIdleCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "instance pool of " + getHandlerClass().getName() + ", hit " + getHitCount() + ", miss "
+               + getMissCount() + ", leak " + getLeakCount() + ", active " + getActiveCount() + ", idle "
+               + getIdleCount();
+    }
+
+    /**
+     * A borrowed instance, released at most once.
+     */
+    public static final class PooledInstance {
+
+        private final Object instance;
+        private LeakTracker  tracker;
+
+        PooledInstance(Object instance){
+            this.instance = instance;
+        }
+
+        public Object getInstance() {
+            return instance;
+        }
+    }
+
+    private static final class LeakTracker extends WeakReference<PooledInstance> {
+
+        LeakTracker(PooledInstance referent, ReferenceQueue<PooledInstance> queue){
+            super(referent, queue);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Object[] instances;
+        private int            size;
+
+        Stripe(int capacity){
+            this.instances = new Object[capacity];
+        }
+
+        synchronized Object poll() {
+            if (size == 0) {
+                return null;
+            }
+
+            Object instance = instances[--size];
+            instances[size] = null;
+            return instance;
+        }
+
+        synchronized void offer(Object instance) {
+            if (size < instances.length) {
+                instances[size++] = instance;
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
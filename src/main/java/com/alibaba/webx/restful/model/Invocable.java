@@ -6,6 +6,10 @@ import java.util.List;
 
 import javax.ws.rs.core.GenericType;
 
+import com.alibaba.webx.restful.model.invoker.Binder;
+import com.alibaba.webx.restful.model.invoker.DefaultBinder;
+import com.alibaba.webx.restful.model.invoker.Invoker;
+import com.alibaba.webx.restful.model.invoker.ReflectionInvoker;
 import com.alibaba.webx.restful.process.RestfulRequestContext;
 
 public final class Invocable {
@@ -16,6 +20,16 @@ public final class Invocable {
     private final GenericType<?>      responseType;
     private final Annotation[]        annotations;
 
+    /**
+     * Calls the method, by reflection until the invoker of the application is set.
+     */
+    private Invoker                   invoker;
+
+    /**
+     * Reads the arguments and calls the method, through the parameters until the binder of the application is set.
+     */
+    private Binder                    binder;
+
     @SuppressWarnings("rawtypes")
     public Invocable(InstanceConstructor instanceConstructor, Method method, List<Parameter> parameters){
         this.constructor = instanceConstructor;
@@ -25,6 +39,8 @@ public final class Invocable {
         this.responseType = new GenericType(method.getGenericReturnType());
 
         this.parameters = parameters;
+        this.invoker = new ReflectionInvoker(method);
+        this.binder = new DefaultBinder(this);
     }
 
     public InstanceConstructor getConstructor() {
@@ -66,11 +82,40 @@ public final class Invocable {
         return args;
     }
 
+    public Invoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Set the invoker of the method, before the resource is published to the request threads.
+     */
+    public void setInvoker(Invoker invoker) {
+        this.invoker = invoker;
+    }
+
+    public Binder getBinder() {
+        return binder;
+    }
+
+    /**
+     * Set the binder of the method, before the resource is published to the request threads.
+     */
+    public void setBinder(Binder binder) {
+        this.binder = binder;
+    }
+
     public Object invoke(Object instance, Object[] args) throws Exception {
-        Object returnObject = method.invoke(instance, args);
+        Object returnObject = invoker.invoke(instance, args);
         return returnObject;
     }
 
+    /**
+     * Read the arguments from the request and call the method.
+     */
+    public Object invoke(Object instance, RestfulRequestContext requestContext) throws Exception {
+        return binder.invoke(instance, requestContext);
+    }
+
     public Object createInstance(RestfulRequestContext requestContext) throws Exception {
         return this.constructor.createInstance(requestContext);
     }
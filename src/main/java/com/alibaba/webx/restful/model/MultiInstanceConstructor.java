@@ -1,8 +1,11 @@
 package com.alibaba.webx.restful.model;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.alibaba.webx.restful.model.invoker.DefaultInjector;
+import com.alibaba.webx.restful.model.invoker.Injector;
 import com.alibaba.webx.restful.process.RestfulRequestContext;
 
 public final class MultiInstanceConstructor implements InstanceConstructor {
@@ -13,17 +16,63 @@ public final class MultiInstanceConstructor implements InstanceConstructor {
 
     private final List<InstanceSetter> setters;
 
+    /**
+     * The setters of the properties read from the request, set again when a pooled instance is reused.
+     */
+    private final List<InstanceSetter> requestSetters = new ArrayList<InstanceSetter>();
+
+    /**
+     * Call the setters, by reflection until the injectors of the application are set.
+     */
+    private Injector                   injector;
+    private Injector                   requestInjector;
+
+    /**
+     * Pool of the instances, {@code null} to create an instance per request.
+     */
+    private InstancePool               instancePool;
+
     public MultiInstanceConstructor(Constructor<?> constructor, List<Parameter> parameters, List<InstanceSetter> setters){
         this.handlerClass = constructor.getDeclaringClass();
         this.constructor = constructor;
         this.parameters = parameters;
         this.setters = setters;
+
+        for (InstanceSetter setter : setters) {
+            if (Parameter.Source.AUTO_WIRED != setter.getParameter().getSource()) {
+                requestSetters.add(setter);
+            }
+        }
+
+        this.injector = new DefaultInjector(setters);
+        this.requestInjector = new DefaultInjector(requestSetters);
     }
 
     public List<InstanceSetter> getSetters() {
         return setters;
     }
 
+    public List<InstanceSetter> getRequestSetters() {
+        return requestSetters;
+    }
+
+    public Injector getInjector() {
+        return injector;
+    }
+
+    public Injector getRequestInjector() {
+        return requestInjector;
+    }
+
+    /**
+     * Set the injectors of all the setters and of the request dependent setters, before the resource is published to
+     * the request threads.
+     */
+    public void setInjectors(Injector injector, Injector requestInjector) {
+        this.injector = injector;
+        this.requestInjector = requestInjector;
+    }
+
     public Class<?> getHandlerClass() {
         return handlerClass;
     }
@@ -50,6 +99,37 @@ public final class MultiInstanceConstructor implements InstanceConstructor {
         return false;
     }
 
+    /**
+     * Check whether the instances may be pooled, the constructor reading nothing from the request.
+     */
+    public boolean isPoolable() {
+        for (Parameter p : parameters) {
+            if (Parameter.Source.AUTO_WIRED != p.getSource()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether an instance may be shared by the requests, the constructor and the setters reading nothing from
+     * the request.
+     */
+    public boolean isRequestIndependent() {
+        return isPoolable() && requestSetters.isEmpty();
+    }
+
+    public InstancePool getInstancePool() {
+        return instancePool;
+    }
+
+    /**
+     * Set the pool of the instances, before the resource is published to the request threads.
+     */
+    public void setInstancePool(InstancePool instancePool) {
+        this.instancePool = instancePool;
+    }
+
     public Object createInstance(RestfulRequestContext requestContext) throws Exception {
         Object[] constructArgs = new Object[parameters.size()];
         for (int i = 0; i < constructArgs.length; ++i) {
@@ -57,13 +137,16 @@ public final class MultiInstanceConstructor implements InstanceConstructor {
             constructArgs[i] = parameter.getParameterValue(requestContext);
         }
         Object resourceInstance = constructor.newInstance(constructArgs);
-        
-        for (InstanceSetter setter : setters) {
-            Parameter parameter = setter.getParameter();
-            Object propertyValue = parameter.getParameterValue(requestContext);
-            setter.getMethod().invoke(resourceInstance, propertyValue);
-        }
-        
+
+        injector.inject(resourceInstance, requestContext);
+
         return resourceInstance;
     }
+
+    /**
+     * Set the request dependent properties of a pooled instance again, the autowired ones are kept.
+     */
+    public void resetInstance(Object resourceInstance, RestfulRequestContext requestContext) throws Exception {
+        requestInjector.inject(resourceInstance, requestContext);
+    }
 }
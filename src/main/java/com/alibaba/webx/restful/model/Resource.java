@@ -1,5 +1,8 @@
 package com.alibaba.webx.restful.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.alibaba.webx.restful.model.uri.PathPattern;
@@ -14,6 +17,10 @@ public final class Resource {
     private final List<ResourceMethod> subResourceMethods;
     private final List<ResourceMethod> subResourceLocators;
 
+    private final ResourceMethod[]     resourceMethodArray;
+    private final ResourceMethod[]     subResourceMethodArray;
+    private final ResourceMethod[]     subResourceLocatorArray;
+
     public Resource(final String name, final String path, final boolean isRoot,
                     final List<ResourceMethod> resourceMethods, final List<ResourceMethod> subResourceMethods,
                     final List<ResourceMethod> subResourceLocators){
@@ -28,9 +35,35 @@ public final class Resource {
             this.pathPattern = new PathPattern(path, PathPattern.RightHandPath.capturingZeroOrMoreSegments);
         }
 
-        this.resourceMethods = resourceMethods;
-        this.subResourceMethods = subResourceMethods;
-        this.subResourceLocators = subResourceLocators;
+        this.resourceMethodArray = sort(resourceMethods);
+        this.subResourceMethodArray = sort(subResourceMethods);
+        this.subResourceLocatorArray = sort(subResourceLocators);
+
+        this.resourceMethods = asList(resourceMethodArray);
+        this.subResourceMethods = asList(subResourceMethodArray);
+        this.subResourceLocators = asList(subResourceLocatorArray);
+
+        bindPathVariables(resourceMethodArray);
+        bindPathVariables(subResourceMethodArray);
+        bindPathVariables(subResourceLocatorArray);
+    }
+
+    private void bindPathVariables(ResourceMethod[] methods) {
+        for (ResourceMethod method : methods) {
+            method.bindPathVariables(pathPattern);
+        }
+    }
+
+    private static ResourceMethod[] sort(List<ResourceMethod> methods) {
+        ResourceMethod[] array = methods.toArray(new ResourceMethod[methods.size()]);
+        Arrays.sort(array, ResourceMethodComparator.getInstance());
+        return array;
+    }
+
+    private static List<ResourceMethod> asList(ResourceMethod[] array) {
+        List<ResourceMethod> list = new ArrayList<ResourceMethod>(array.length);
+        Collections.addAll(list, array);
+        return Collections.unmodifiableList(list);
     }
 
     /**
@@ -62,6 +95,33 @@ public final class Resource {
         return name;
     }
 
+    /**
+     * Get the resource methods sorted by {@link ResourceMethodComparator}, the array must not be modified.
+     *
+     * @return non-null resource method array.
+     */
+    public ResourceMethod[] getResourceMethodArray() {
+        return resourceMethodArray;
+    }
+
+    /**
+     * Get the sub-resource methods sorted by {@link ResourceMethodComparator}, the array must not be modified.
+     *
+     * @return non-null sub-resource method array.
+     */
+    public ResourceMethod[] getSubResourceMethodArray() {
+        return subResourceMethodArray;
+    }
+
+    /**
+     * Get the sub-resource locators sorted by {@link ResourceMethodComparator}, the array must not be modified.
+     *
+     * @return non-null sub-resource locator array.
+     */
+    public ResourceMethod[] getSubResourceLocatorArray() {
+        return subResourceLocatorArray;
+    }
+
     /**
      * Provides a non-null list of resource methods available on the resource.
      * 
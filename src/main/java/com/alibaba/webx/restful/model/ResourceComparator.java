@@ -0,0 +1,38 @@
+package com.alibaba.webx.restful.model;
+
+import java.util.Comparator;
+
+import com.alibaba.webx.restful.model.uri.PathPatternComparator;
+
+/**
+ * Orders resources by the specificity of their path patterns, most specific first. Resources with equally specific
+ * patterns are ordered by name, so the order does not depend on how the resources were collected.
+ */
+public class ResourceComparator implements Comparator<Resource> {
+
+    private final static ResourceComparator instance = new ResourceComparator();
+
+    public final static ResourceComparator getInstance() {
+        return instance;
+    }
+
+    @Override
+    public int compare(Resource a, Resource b) {
+        int i = PathPatternComparator.getInstance().compare(a.getPathPattern(), b.getPathPattern());
+        if (i != 0) {
+            return i;
+        }
+
+        return compareString(a.getName(), b.getName());
+    }
+
+    static int compareString(String a, String b) {
+        if (a == null) {
+            return b == null ? 0 : 1;
+        }
+        if (b == null) {
+            return -1;
+        }
+        return a.compareTo(b);
+    }
+}
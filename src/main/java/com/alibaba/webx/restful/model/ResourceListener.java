@@ -0,0 +1,14 @@
+package com.alibaba.webx.restful.model;
+
+/**
+ * Notified when the resources of an application change. Changes are notified one at a time by the thread modifying
+ * the application, never by request threads, so listeners may rebuild expensive state.
+ */
+public interface ResourceListener {
+
+    /**
+     * @param application the changed application.
+     * @param resources the new resources sorted by {@link ResourceComparator}, the array must not be modified.
+     */
+    void resourcesChanged(ApplicationImpl application, Resource[] resources);
+}
@@ -11,6 +11,7 @@ import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 
+import com.alibaba.webx.restful.model.param.PathVariableParameter;
 import com.alibaba.webx.restful.model.uri.PathPattern;
 
 public class ResourceMethod implements ResourceInfo {
@@ -85,6 +86,9 @@ public class ResourceMethod implements ResourceInfo {
     // Invocable
     private final Invocable       invocable;
 
+    // Path variables of the resource path followed by the ones of the method path
+    private String[]              pathVariableNames = new String[0];
+
     public ResourceMethod(final String httpMethod, final String path, final Collection<MediaType> consumedTypes,
                           final Collection<MediaType> producedTypes, final Invocable invocable){
 
@@ -120,6 +124,51 @@ public class ResourceMethod implements ResourceInfo {
         return pathPattern;
     }
 
+    /**
+     * Resolve the path variable layout against the path pattern of the resource, and bind the path variable
+     * parameters of the method to their index. Called once when the resource is built.
+     */
+    void bindPathVariables(PathPattern resourcePathPattern) {
+        List<String> names = new ArrayList<String>(resourcePathPattern.getTemplate().getTemplateVariables());
+        names.addAll(pathPattern.getTemplate().getTemplateVariables());
+        this.pathVariableNames = names.toArray(new String[names.size()]);
+
+        if (invocable == null) {
+            return;
+        }
+
+        for (Parameter parameter : invocable.getParameters()) {
+            if (parameter instanceof PathVariableParameter) {
+                PathVariableParameter pathVariableParameter = (PathVariableParameter) parameter;
+                pathVariableParameter.setPathVariableIndex(getPathVariableIndex(pathVariableParameter.getName()));
+            }
+        }
+    }
+
+    /**
+     * Get the names of the path variables of the resource path followed by the ones of the method path, in the order
+     * of the path variable offsets stored by the router. The array must not be modified.
+     *
+     * @return path variable names.
+     */
+    public String[] getPathVariableNames() {
+        return pathVariableNames;
+    }
+
+    /**
+     * Get the index of a path variable, the method path variables take precedence over the resource ones.
+     *
+     * @return the index, -1 if there is no such variable.
+     */
+    public int getPathVariableIndex(String name) {
+        for (int i = pathVariableNames.length - 1; i >= 0; --i) {
+            if (pathVariableNames[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     public List<MediaType> getConsumedTypes() {
         return consumedTypes;
     }
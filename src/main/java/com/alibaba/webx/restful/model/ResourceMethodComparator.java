@@ -0,0 +1,33 @@
+package com.alibaba.webx.restful.model;
+
+import java.util.Comparator;
+
+import com.alibaba.webx.restful.model.uri.PathPatternComparator;
+
+/**
+ * Orders resource methods by the specificity of their path patterns, most specific first, then by HTTP method and by
+ * Java method signature.
+ */
+public class ResourceMethodComparator implements Comparator<ResourceMethod> {
+
+    private final static ResourceMethodComparator instance = new ResourceMethodComparator();
+
+    public final static ResourceMethodComparator getInstance() {
+        return instance;
+    }
+
+    @Override
+    public int compare(ResourceMethod a, ResourceMethod b) {
+        int i = PathPatternComparator.getInstance().compare(a.getPathPattern(), b.getPathPattern());
+        if (i != 0) {
+            return i;
+        }
+
+        i = ResourceComparator.compareString(a.getHttpMethod(), b.getHttpMethod());
+        if (i != 0) {
+            return i;
+        }
+
+        return a.getResourceMethod().toString().compareTo(b.getResourceMethod().toString());
+    }
+}
@@ -0,0 +1,43 @@
+package com.alibaba.webx.restful.model.converter;
+
+import java.lang.reflect.Array;
+
+/**
+ * Converts the values of a parameter to an array. The {@code int}, {@code long}, {@code double} and {@code boolean}
+ * elements are parsed straight into the array by their primitive converter, without boxing.
+ */
+public class ArrayConverter extends MultiValueConverter {
+
+    private final Class<?> componentType;
+
+    public ArrayConverter(Class<?> componentType, TypeConverter elementConverter, int maxValueCount,
+                          TypeConverter jsonConverter){
+        super(componentType, elementConverter, maxValueCount, jsonConverter);
+        this.componentType = componentType;
+    }
+
+    public Class<?> getComponentType() {
+        return componentType;
+    }
+
+    @Override
+    protected Object createValues(int count) {
+        return Array.newInstance(componentType, count);
+    }
+
+    @Override
+    protected void addValue(Object values, int index, String literalValue, int start, int end)
+                                                                                                throws TypeConvertException {
+        if (componentType == int.class && elementConverter instanceof IntTypeConverter) {
+            ((int[]) values)[index] = ((IntTypeConverter) elementConverter).toInt(literalValue, start, end);
+        } else if (componentType == long.class && elementConverter instanceof LongTypeConverter) {
+            ((long[]) values)[index] = ((LongTypeConverter) elementConverter).toLong(literalValue, start, end);
+        } else if (componentType == double.class && elementConverter instanceof DoubleTypeConverter) {
+            ((double[]) values)[index] = ((DoubleTypeConverter) elementConverter).toDouble(literalValue, start, end);
+        } else if (componentType == boolean.class && elementConverter instanceof BooleanTypeConverter) {
+            ((boolean[]) values)[index] = ((BooleanTypeConverter) elementConverter).toBoolean(literalValue, start, end);
+        } else {
+            Array.set(values, index, elementConverter.convert(literalValue.substring(start, end)));
+        }
+    }
+}
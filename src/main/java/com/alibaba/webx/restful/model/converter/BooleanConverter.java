@@ -0,0 +1,37 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Converts {@code true} and {@code false}, ignoring case, and {@code 1} and {@code 0}.
+ */
+public class BooleanConverter implements TypeConverter, BooleanTypeConverter {
+
+    @Override
+    public Object convert(String literalValue) throws TypeConvertException {
+        return toBoolean(literalValue, 0, literalValue.length()) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    public boolean toBoolean(CharSequence literalValue, int start, int end) throws TypeConvertException {
+        if (regionMatches(literalValue, start, end, "true") || regionMatches(literalValue, start, end, "1")) {
+            return true;
+        }
+
+        if (regionMatches(literalValue, start, end, "false") || regionMatches(literalValue, start, end, "0")) {
+            return false;
+        }
+
+        throw new TypeConvertException("illegal boolean : " + literalValue.subSequence(start, end), null);
+    }
+
+    private static boolean regionMatches(CharSequence literalValue, int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < value.length(); ++i) {
+            if (Character.toLowerCase(literalValue.charAt(start + i)) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
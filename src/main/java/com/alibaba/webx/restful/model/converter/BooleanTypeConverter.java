@@ -0,0 +1,9 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Converter of {@code boolean} parameters, reading the literal from the character sequence.
+ */
+public interface BooleanTypeConverter {
+
+    boolean toBoolean(CharSequence literalValue, int start, int end) throws TypeConvertException;
+}
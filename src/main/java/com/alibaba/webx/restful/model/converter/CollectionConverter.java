@@ -0,0 +1,51 @@
+package com.alibaba.webx.restful.model.converter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Converts the values of a parameter to a {@code List}, {@code Collection}, {@code Set} or {@code SortedSet}, an
+ * {@code ArrayList}, a {@code LinkedHashSet} or a {@code TreeSet} of the converted elements.
+ */
+public class CollectionConverter extends MultiValueConverter {
+
+    private final Class<?> collectionClass;
+
+    public CollectionConverter(Class<?> collectionClass, Class<?> elementClass, TypeConverter elementConverter,
+                               int maxValueCount, TypeConverter jsonConverter){
+        super(elementClass, elementConverter, maxValueCount, jsonConverter);
+        this.collectionClass = collectionClass;
+    }
+
+    public static boolean isSupported(Class<?> collectionClass) {
+        return collectionClass == Collection.class || collectionClass == List.class
+               || collectionClass == Set.class || collectionClass == SortedSet.class;
+    }
+
+    public Class<?> getCollectionClass() {
+        return collectionClass;
+    }
+
+    @Override
+    protected Object createValues(int count) {
+        if (collectionClass == SortedSet.class) {
+            return new TreeSet<Object>();
+        }
+        if (collectionClass == Set.class) {
+            return new LinkedHashSet<Object>(count * 4 / 3 + 1);
+        }
+        return new ArrayList<Object>(count);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void addValue(Object values, int index, String literalValue, int start, int end)
+                                                                                                throws TypeConvertException {
+        ((Collection<Object>) values).add(elementConverter.convert(literalValue.substring(start, end)));
+    }
+}
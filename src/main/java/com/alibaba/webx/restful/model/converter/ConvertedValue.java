@@ -0,0 +1,39 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Default value converted again for each request, for the mutable values such as the arrays and collections of the
+ * multi-valued parameters, so that a request never sees the changes of another one.
+ */
+public class ConvertedValue implements DynamicValue {
+
+    private final TypeConverter typeConverter;
+    private final String        literalValue;
+
+    /**
+     * @throws TypeConvertException if the literal value cannot be converted.
+     */
+    public ConvertedValue(TypeConverter typeConverter, String literalValue) throws TypeConvertException{
+        typeConverter.convert(literalValue);
+
+        this.typeConverter = typeConverter;
+        this.literalValue = literalValue;
+    }
+
+    public Object getValue() {
+        try {
+            return typeConverter.convert(literalValue);
+        } catch (TypeConvertException e) {
+            // converted once already
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    public String getLiteralValue() {
+        return literalValue;
+    }
+
+    @Override
+    public String toString() {
+        return literalValue;
+    }
+}
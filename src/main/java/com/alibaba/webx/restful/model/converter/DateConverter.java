@@ -1,12 +1,32 @@
 package com.alibaba.webx.restful.model.converter;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import com.alibaba.webx.restful.util.FastDateFormat;
+
 public class DateConverter implements TypeConverter {
 
-    private String pattern;
+    public final static String       NOW_LITERAL = "now()";
+
+    /**
+     * The value of the {@code now()} default value, the current date of each request.
+     */
+    public final static DynamicValue NOW         = new Now();
+
+    private final FastDateFormat     dateFormat;
+
+    /**
+     * Converter of the {@link FastDateFormat#DATE}, {@link FastDateFormat#DATE_TIME} and
+     * {@link FastDateFormat#DATE_TIME_MILLIS} patterns, selected by the shape of the literal value.
+     */
+    public DateConverter(){
+        this.dateFormat = null;
+    }
+
+    public DateConverter(String pattern){
+        this.dateFormat = FastDateFormat.getInstance(pattern);
+    }
 
     @Override
     public Object convert(String literalValue) throws TypeConvertException {
@@ -14,14 +34,17 @@ public class DateConverter implements TypeConverter {
             return null;
         }
 
-        if (literalValue.equals("now()")) {
+        if (literalValue.equals(NOW_LITERAL)) {
             return new Date();
         }
 
-        SimpleDateFormat dateFormat;
-        if (pattern != null) {
-            dateFormat = new SimpleDateFormat(pattern);
-        } else {
+        // milliseconds, as read by the JSON converter
+        if (isDigits(literalValue)) {
+            return new Date(Long.parseLong(literalValue));
+        }
+
+        FastDateFormat dateFormat = this.dateFormat;
+        if (dateFormat == null) {
             int spaceCount = 0;
             int dotCount = 0;
             for (int i = 0; i < literalValue.length(); ++i) {
@@ -34,11 +57,11 @@ public class DateConverter implements TypeConverter {
             }
 
             if (spaceCount == 0) {
-                dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+                dateFormat = FastDateFormat.getInstance(FastDateFormat.DATE);
             } else if (dotCount == 0) {
-                dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+                dateFormat = FastDateFormat.getInstance(FastDateFormat.DATE_TIME);
             } else {
-                dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+                dateFormat = FastDateFormat.getInstance(FastDateFormat.DATE_TIME_MILLIS);
             }
         }
 
@@ -49,4 +72,25 @@ public class DateConverter implements TypeConverter {
         }
     }
 
+    private static boolean isDigits(String literalValue) {
+        for (int i = 0; i < literalValue.length(); ++i) {
+            char ch = literalValue.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Now implements DynamicValue {
+
+        public Object getValue() {
+            return new Date();
+        }
+
+        @Override
+        public String toString() {
+            return NOW_LITERAL;
+        }
+    }
 }
@@ -1,11 +1,96 @@
 package com.alibaba.webx.restful.model.converter;
 
 
-public class DoubleConverter implements TypeConverter {
+public class DoubleConverter implements TypeConverter, DoubleTypeConverter {
+
+    /**
+     * Powers of ten represented exactly as doubles.
+     */
+    private static final double[] POWERS_OF_TEN       = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /**
+     * Significant digits of a mantissa represented exactly as a double.
+     */
+    private static final int      MAX_MANTISSA_DIGITS = 15;
 
     @Override
     public Object convert(String literalValue) {
         return Double.parseDouble(literalValue);
     }
 
+    /**
+     * Decimal literals with at most 15 significant digits and a small exponent are computed exactly from the mantissa
+     * and a power of ten, other literals, such as {@code NaN} or hexadecimal ones, are parsed by
+     * {@link Double#parseDouble(String)}.
+     */
+    public double toDouble(CharSequence literalValue, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (literalValue.charAt(i) == '-' || literalValue.charAt(i) == '+')) {
+            negative = literalValue.charAt(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean point = false;
+        for (; i < end; ++i) {
+            char ch = literalValue.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+                if (mantissa == 0 && ch == '0') {
+                    // leading zeros are not significant
+                } else if (++significantDigits > MAX_MANTISSA_DIGITS) {
+                    return parseDouble(literalValue, start, end);
+                } else {
+                    mantissa = mantissa * 10 + (ch - '0');
+                }
+                if (point) {
+                    exponent--;
+                }
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+
+        if (digits == 0) {
+            return parseDouble(literalValue, start, end);
+        }
+
+        if (i < end) {
+            char ch = literalValue.charAt(i);
+            if (ch != 'e' && ch != 'E' || i + 1 == end) {
+                return parseDouble(literalValue, start, end);
+            }
+
+            // an exponent beyond the powers is left to parseDouble
+            try {
+                exponent += (int) LongConverter.parseLong(literalValue, i + 1, end, -1000, 1000);
+            } catch (NumberFormatException e) {
+                return parseDouble(literalValue, start, end);
+            }
+        }
+
+        double value;
+        if (exponent == 0 || mantissa == 0) {
+            value = mantissa;
+        } else if (exponent > 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return parseDouble(literalValue, start, end);
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static double parseDouble(CharSequence literalValue, int start, int end) {
+        return Double.parseDouble(literalValue.subSequence(start, end).toString());
+    }
 }
@@ -0,0 +1,10 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Converter of {@code double} parameters. The literal is read from the character sequence, only uncommon literals
+ * are copied into a string.
+ */
+public interface DoubleTypeConverter {
+
+    double toDouble(CharSequence literalValue, int start, int end) throws TypeConvertException;
+}
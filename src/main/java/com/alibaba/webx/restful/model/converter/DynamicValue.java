@@ -0,0 +1,9 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Default value of a parameter computed again for each request, such as {@code now()} for a date.
+ */
+public interface DynamicValue {
+
+    Object getValue();
+}
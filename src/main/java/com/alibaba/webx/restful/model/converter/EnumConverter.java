@@ -0,0 +1,36 @@
+package com.alibaba.webx.restful.model.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts the name of an enum constant, or its ordinal as the JSON converter did, through a table built once.
+ */
+public class EnumConverter implements TypeConverter {
+
+    private final Class<?>            enumClass;
+    private final Map<String, Object> constants = new HashMap<String, Object>();
+
+    public EnumConverter(Class<?> enumClass){
+        this.enumClass = enumClass;
+
+        for (Object constant : enumClass.getEnumConstants()) {
+            Enum<?> item = (Enum<?>) constant;
+            constants.put(item.name(), item);
+            constants.put(Integer.toString(item.ordinal()), item);
+        }
+    }
+
+    @Override
+    public Object convert(String literalValue) throws TypeConvertException {
+        Object value = constants.get(literalValue);
+        if (value == null) {
+            throw new TypeConvertException("illegal " + enumClass.getName() + " : " + literalValue, null);
+        }
+        return value;
+    }
+
+    public Class<?> getEnumClass() {
+        return enumClass;
+    }
+}
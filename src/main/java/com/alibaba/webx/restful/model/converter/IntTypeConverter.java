@@ -0,0 +1,10 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Converter of the literal values of {@code int} parameters, reading a region of a character sequence without boxing
+ * the value.
+ */
+public interface IntTypeConverter {
+
+    int toInt(CharSequence literalValue, int start, int end) throws TypeConvertException;
+}
@@ -1,11 +1,15 @@
 package com.alibaba.webx.restful.model.converter;
 
 
-public class IntegerConverter implements TypeConverter {
+public class IntegerConverter implements TypeConverter, IntTypeConverter {
 
     @Override
     public Object convert(String literalValue) {
         return Integer.parseInt(literalValue);
     }
 
+    public int toInt(CharSequence literalValue, int start, int end) {
+        return (int) LongConverter.parseLong(literalValue, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
 }
@@ -1,11 +1,59 @@
 package com.alibaba.webx.restful.model.converter;
 
 
-public class LongConverter implements TypeConverter {
+public class LongConverter implements TypeConverter, LongTypeConverter {
 
     @Override
     public Object convert(String literalValue) {
         return Long.parseLong(literalValue);
     }
 
+    public long toLong(CharSequence literalValue, int start, int end) {
+        return parseLong(literalValue, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parse a decimal number as {@link Long#parseLong(String)} does, without creating a string.
+     *
+     * @throws NumberFormatException if the region is not a number between the bounds.
+     */
+    static long parseLong(CharSequence literalValue, int start, int end, long min, long max) {
+        if (start >= end) {
+            throw numberFormatException(literalValue, start, end);
+        }
+
+        // accumulated negatively, the minimum has no positive counterpart
+        int i = start;
+        boolean negative = false;
+        long limit = -max;
+        char first = literalValue.charAt(i);
+        if (first == '-' || first == '+') {
+            if (first == '-') {
+                negative = true;
+                limit = min;
+            }
+            if (++i == end) {
+                throw numberFormatException(literalValue, start, end);
+            }
+        }
+
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; ++i) {
+            int digit = Character.digit(literalValue.charAt(i), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                throw numberFormatException(literalValue, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormatException(literalValue, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    static NumberFormatException numberFormatException(CharSequence literalValue, int start, int end) {
+        return new NumberFormatException("For input string: \"" + literalValue.subSequence(start, end) + "\"");
+    }
 }
@@ -0,0 +1,9 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Converter of {@code long} parameters, parsing the characters between the offsets in place.
+ */
+public interface LongTypeConverter {
+
+    long toLong(CharSequence literalValue, int start, int end) throws TypeConvertException;
+}
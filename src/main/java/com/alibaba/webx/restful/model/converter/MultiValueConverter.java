@@ -0,0 +1,102 @@
+package com.alibaba.webx.restful.model.converter;
+
+/**
+ * Converter of the parameters bound to arrays and collections. Each literal value of a repeated parameter, such as
+ * {@code ?id=1&id=2}, is a list of values separated by commas, such as {@code ?id=1,2}, except for {@code String}
+ * elements which are taken as is. Blank values are skipped, the elements are converted by the converter of the element
+ * type.
+ * <p>
+ * The values are counted before the array or collection is created, more values than the maximum count are refused.
+ * A single value starting with {@code [} is read as JSON, as the arrays and collections were read before.
+ */
+public abstract class MultiValueConverter implements TypeConverter {
+
+    protected final TypeConverter elementConverter;
+    private final boolean         split;
+    private final int             maxValueCount;
+    private final TypeConverter   jsonConverter;
+
+    /**
+     * @param jsonConverter the converter of the JSON values, {@code null} if not read as JSON.
+     */
+    public MultiValueConverter(Class<?> elementClass, TypeConverter elementConverter, int maxValueCount,
+                               TypeConverter jsonConverter){
+        this.elementConverter = elementConverter;
+        this.split = elementClass != String.class;
+        this.maxValueCount = maxValueCount;
+        this.jsonConverter = jsonConverter;
+    }
+
+    @Override
+    public Object convert(String literalValue) throws TypeConvertException {
+        return convert(new String[] { literalValue });
+    }
+
+    public Object convert(String[] literalValues) throws TypeConvertException {
+        if (jsonConverter != null && literalValues.length == 1) {
+            String literalValue = literalValues[0].trim();
+            if (literalValue.startsWith("[")) {
+                return jsonConverter.convert(literalValue);
+            }
+        }
+
+        int count = addValues(literalValues, null);
+        if (count > maxValueCount) {
+            throw new TypeConvertException("too many values : " + count + ", max " + maxValueCount, null);
+        }
+
+        Object values = createValues(count);
+        addValues(literalValues, values);
+        return values;
+    }
+
+    public TypeConverter getElementConverter() {
+        return elementConverter;
+    }
+
+    public int getMaxValueCount() {
+        return maxValueCount;
+    }
+
+    /**
+     * Add the values to the array or collection, or only count them when it is {@code null}.
+     *
+     * @return the number of values.
+     */
+    private int addValues(String[] literalValues, Object values) throws TypeConvertException {
+        int index = 0;
+        for (String literalValue : literalValues) {
+            int length = literalValue.length();
+            int start = 0;
+            while (start < length) {
+                int end = split ? literalValue.indexOf(',', start) : -1;
+                if (end == -1) {
+                    end = length;
+                }
+
+                int valueStart = start;
+                int valueEnd = end;
+                while (valueStart < valueEnd && literalValue.charAt(valueStart) <= ' ') {
+                    valueStart++;
+                }
+                while (valueEnd > valueStart && literalValue.charAt(valueEnd - 1) <= ' ') {
+                    valueEnd--;
+                }
+
+                if (valueStart < valueEnd) {
+                    if (values != null) {
+                        addValue(values, index, literalValue, valueStart, valueEnd);
+                    }
+                    index++;
+                }
+                start = end + 1;
+            }
+        }
+        return index;
+    }
+
+    protected abstract Object createValues(int count);
+
+    protected abstract void addValue(Object values, int index, String literalValue, int start, int end)
+                                                                                                         throws TypeConvertException;
+}
@@ -1,44 +1,135 @@
 package com.alibaba.webx.restful.model.converter;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Registry of the type converters keyed by the parameter type. The converters are stateless and shared by the
+ * parameters, the converters of enums, arrays, collections and of the types read as JSON are created once per type.
+ * <p>
+ * An array, or a {@code List}, {@code Collection}, {@code Set} or {@code SortedSet} of a type with a registered
+ * converter or of an enum, is converted from the repeated and comma separated values of the parameter by a
+ * {@link MultiValueConverter}, other arrays and collections are read as JSON.
+ */
 public class TypeConverterProviderImpl implements TypeConverterProvider {
 
-    private final static TypeConverterProviderImpl instance = new TypeConverterProviderImpl();
+    public final static int                          DEFAULT_MAX_VALUES = 1000;
+
+    private final static TypeConverterProviderImpl   instance           = new TypeConverterProviderImpl();
+
+    private final ConcurrentMap<Type, TypeConverter> converters         = new ConcurrentHashMap<Type, TypeConverter>();
+
+    private final int                                maxValueCount;
 
     public static TypeConverterProviderImpl getInstance() {
         return instance;
     }
 
+    public TypeConverterProviderImpl(){
+        this(DEFAULT_MAX_VALUES);
+    }
+
+    /**
+     * @param maxValueCount the maximum number of values of a parameter converted to an array or a collection.
+     */
+    public TypeConverterProviderImpl(int maxValueCount){
+        this.maxValueCount = maxValueCount;
+
+        register(new ByteConverter(), byte.class, Byte.class);
+        register(new ShortConverter(), short.class, Short.class);
+        register(new IntegerConverter(), int.class, Integer.class);
+        register(new LongConverter(), long.class, Long.class);
+        register(new FloatConverter(), float.class, Float.class);
+        register(new DoubleConverter(), double.class, Double.class);
+        register(new BooleanConverter(), boolean.class, Boolean.class);
+        register(new BigIntegerConverter(), BigInteger.class);
+        register(new BigDecimalConverter(), BigDecimal.class);
+        register(new StringConverter(), String.class);
+        register(new DateConverter(), Date.class);
+        register(new ClassConverter(), Class.class);
+        register(new ByteArrayConverter(), byte[].class);
+    }
+
+    /**
+     * Register the converter of the types, replacing the converter registered before.
+     */
+    public void register(TypeConverter typeConverter, Type... types) {
+        for (Type type : types) {
+            converters.put(type, typeConverter);
+        }
+    }
+
+    public TypeConverter getTypeConverter(Type type) {
+        return converters.get(type);
+    }
+
     @Override
     public TypeConverter create(Class<?> clazz, Type type, Annotation[] annotations) {
-        TypeConverter typeConverter;
-        if (byte.class == clazz) {
-            typeConverter = new ByteConverter();
-        } else if (short.class == clazz) {
-            typeConverter = new ShortConverter();
-        } else if (int.class == clazz) {
-            typeConverter = new IntegerConverter();
-        } else if (long.class == clazz) {
-            typeConverter = new LongConverter();
-        } else if (float.class == clazz) {
-            typeConverter = new FloatConverter();
-        } else if (double.class == clazz) {
-            typeConverter = new DoubleConverter();
-        } else if (BigInteger.class == clazz) {
-            typeConverter = new BigIntegerConverter();
-        } else if (BigDecimal.class == clazz) {
-            typeConverter = new BigDecimalConverter();
-        } else if (String.class == clazz) {
-            typeConverter = new StringConverter();
+        // the generic type of a parameterized class, the class itself otherwise
+        Type key = type == null ? clazz : type;
+
+        TypeConverter typeConverter = converters.get(key);
+        if (typeConverter != null) {
+            return typeConverter;
+        }
+
+        if (clazz.isEnum()) {
+            typeConverter = new EnumConverter(clazz);
         } else {
-            typeConverter = new JSONConverter(type);
+            typeConverter = createMultiValueConverter(clazz, type);
+            if (typeConverter == null) {
+                typeConverter = new JSONConverter(key);
+            }
         }
 
-        return typeConverter;
+        TypeConverter existing = converters.putIfAbsent(key, typeConverter);
+        return existing == null ? typeConverter : existing;
+    }
+
+    public int getMaxValueCount() {
+        return maxValueCount;
+    }
+
+    private TypeConverter createMultiValueConverter(Class<?> clazz, Type type) {
+        if (clazz.isArray()) {
+            Class<?> componentType = clazz.getComponentType();
+            TypeConverter elementConverter = getElementConverter(componentType);
+            if (elementConverter != null) {
+                return new ArrayConverter(componentType, elementConverter, maxValueCount, new JSONConverter(clazz));
+            }
+            return null;
+        }
+
+        if (CollectionConverter.isSupported(clazz) && type instanceof ParameterizedType) {
+            Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (elementType instanceof Class<?>) {
+                Class<?> elementClass = (Class<?>) elementType;
+                TypeConverter elementConverter = getElementConverter(elementClass);
+                if (elementConverter != null) {
+                    return new CollectionConverter(clazz, elementClass, elementConverter, maxValueCount,
+                                                   new JSONConverter(type));
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the registered converter of the class or its enum converter, {@code null} for the other classes.
+     */
+    private TypeConverter getElementConverter(Class<?> elementClass) {
+        TypeConverter elementConverter = converters.get(elementClass);
+        if (elementConverter == null && elementClass.isEnum()) {
+            elementConverter = create(elementClass, elementClass, null);
+        }
+        return elementConverter;
     }
 
 }
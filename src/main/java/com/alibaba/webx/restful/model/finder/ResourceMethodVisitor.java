@@ -6,7 +6,7 @@ import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Attribute;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
-import org.springframework.util.Assert;
+import org.objectweb.asm.Type;
 
 
 public class ResourceMethodVisitor implements MethodVisitor {
@@ -18,7 +18,11 @@ public class ResourceMethodVisitor implements MethodVisitor {
 
     private MethodInfo                  methodInfo;
 
-    private transient int               localVariableIndex = -1;
+    /**
+     * The local variable slots of the parameters, and the names of the parameters read from the local variables.
+     */
+    private final int[]                 parameterSlots;
+    private final String[]              parameterNames;
 
     public ResourceMethodVisitor(AnnotatedClassVisitor annotatedClassVisitor, int access, String name, String desc,
                                  String signature, String[] exceptions){
@@ -29,6 +33,16 @@ public class ResourceMethodVisitor implements MethodVisitor {
         methodInfo.desc = desc;
         methodInfo.signature = signature;
         methodInfo.exceptions = exceptions;
+
+        Type[] argumentTypes = Type.getArgumentTypes(desc);
+        parameterSlots = new int[argumentTypes.length];
+        parameterNames = new String[argumentTypes.length];
+
+        int slot = Modifier.isStatic(access) ? 0 : 1;
+        for (int i = 0; i < argumentTypes.length; ++i) {
+            parameterSlots[i] = slot;
+            slot += argumentTypes[i].getSize();
+        }
     }
 
     @Override
@@ -39,20 +53,24 @@ public class ResourceMethodVisitor implements MethodVisitor {
 
     @Override
     public void visitLocalVariable(String name, String desc, String signature, Label start, Label end, int index) {
-        localVariableIndex++;
-
-        if (localVariableIndex == 0) {
-            if (!Modifier.isStatic(methodInfo.access)) {
-                Assert.isTrue("this".equals(name));
+        // the local variables are not in the order of their slots, the other local variables reuse no parameter slot
+        for (int i = 0; i < parameterSlots.length; ++i) {
+            if (parameterSlots[i] == index && parameterNames[i] == null) {
+                parameterNames[i] = name;
                 return;
             }
         }
-
-        methodInfo.parameterNames.add(name);
     }
 
     @Override
     public void visitEnd() {
+        for (String parameterName : parameterNames) {
+            if (parameterName == null) {
+                break;
+            }
+            methodInfo.parameterNames.add(parameterName);
+        }
+
         this.annotatedClassVisitor.getClassInfo().getMethods().add(methodInfo);
     }
 
@@ -0,0 +1,160 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.alibaba.webx.restful.model.InstanceSetter;
+import com.alibaba.webx.restful.model.Invocable;
+import com.alibaba.webx.restful.util.AsmUtils;
+
+/**
+ * Generates an invoker class per method calling the method directly, the arguments are cast and unboxed and the
+ * return value boxed by the generated code, without access checks. The invokers are kept for each method, building
+ * the resources again reuses them. The exceptions thrown by the method are thrown as is.
+ * <p>
+ * The binders and the injectors are generated by {@link BinderGenerator}, one class per resource method or resource
+ * class, so that each binder or injector is a monomorphic call site. They hold the parameters of the resources and
+ * are generated again when the resources are built again, each class is defined by a class loader of its own and
+ * unloaded with its binder or injector.
+ * <p>
+ * Methods of non public classes and non public methods are called through {@link ReflectionInvoker},
+ * {@link DefaultBinder} and {@link DefaultInjector}, as well as methods the generated class cannot be defined for.
+ */
+public final class AsmInvokerFactory implements InvokerFactory, Opcodes {
+
+    private final static Log                             LOG      = LogFactory.getLog(AsmInvokerFactory.class);
+
+    private final Map<Method, Invoker>                   invokers = new ConcurrentHashMap<Method, Invoker>();
+
+    private final Map<ClassLoader, GeneratedClassLoader> loaders  = new HashMap<ClassLoader, GeneratedClassLoader>();
+
+    public Invoker createInvoker(Method method) {
+        Invoker invoker = invokers.get(method);
+        if (invoker != null) {
+            return invoker;
+        }
+
+        if (!isAccessible(method)) {
+            invoker = new ReflectionInvoker(method);
+        } else {
+            try {
+                invoker = generateInvoker(method);
+            } catch (Throwable e) {
+                LOG.warn("generate invoker error, method " + method + ", invoked by reflection", e);
+                invoker = new ReflectionInvoker(method);
+            }
+        }
+
+        invokers.put(method, invoker);
+        return invoker;
+    }
+
+    public Binder createBinder(Invocable invocable) {
+        Method method = invocable.getMethod();
+        if (!isAccessible(method)) {
+            return new DefaultBinder(invocable);
+        }
+
+        try {
+            // dropped with the binder, the parameters of the resources built again get a new binder
+            ClassLoader parent = method.getDeclaringClass().getClassLoader();
+            return BinderGenerator.generate(invocable, new GeneratedClassLoader(parent));
+        } catch (Throwable e) {
+            LOG.warn("generate binder error, method " + method + ", bound by parameters", e);
+            return new DefaultBinder(invocable);
+        }
+    }
+
+    public Injector createInjector(Class<?> clazz, List<InstanceSetter> setters) {
+        if (setters.isEmpty() || clazz.getClassLoader() == null || !AsmUtils.isPublic(clazz)) {
+            return new DefaultInjector(setters);
+        }
+
+        for (InstanceSetter setter : setters) {
+            if (!isAccessible(setter.getMethod())) {
+                return new DefaultInjector(setters);
+            }
+        }
+
+        try {
+            // dropped with the injector, as the binders
+            GeneratedClassLoader classLoader = new GeneratedClassLoader(clazz.getClassLoader());
+            return BinderGenerator.generateInjector(clazz, setters, classLoader);
+        } catch (Throwable e) {
+            LOG.warn("generate injector error, class " + clazz.getName() + ", injected by reflection", e);
+            return new DefaultInjector(setters);
+        }
+    }
+
+    private static boolean isAccessible(Method method) {
+        Class<?> clazz = method.getDeclaringClass();
+        return Modifier.isPublic(method.getModifiers()) && clazz.getClassLoader() != null && AsmUtils.isPublic(clazz);
+    }
+
+    private Invoker generateInvoker(Method method) throws Exception {
+        Class<?> clazz = method.getDeclaringClass();
+        String className = GeneratedClassLoader.newClassName(clazz, "Invoker");
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className.replace('.', '/'), null, "java/lang/Object",
+                 new String[] { Type.getInternalName(Invoker.class) });
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;", null,
+                            new String[] { "java/lang/Exception" });
+        mv.visitCode();
+
+        if (!Modifier.isStatic(method.getModifiers())) {
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(clazz));
+        }
+
+        Type[] argumentTypes = Type.getArgumentTypes(method);
+        for (int i = 0; i < argumentTypes.length; ++i) {
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitLdcInsn(Integer.valueOf(i));
+            mv.visitInsn(AALOAD);
+            AsmUtils.unbox(mv, argumentTypes[i]);
+        }
+
+        AsmUtils.invoke(mv, method);
+        AsmUtils.box(mv, Type.getReturnType(method));
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+
+        Class<?> invokerClass = getClassLoader(clazz.getClassLoader()).defineClass(className, cw.toByteArray());
+        return (Invoker) invokerClass.newInstance();
+    }
+
+    private GeneratedClassLoader getClassLoader(ClassLoader parent) {
+        synchronized (loaders) {
+            GeneratedClassLoader classLoader = loaders.get(parent);
+            if (classLoader == null) {
+                classLoader = new GeneratedClassLoader(parent);
+                loaders.put(parent, classLoader);
+            }
+            return classLoader;
+        }
+    }
+}
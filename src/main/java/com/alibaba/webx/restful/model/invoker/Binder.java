@@ -0,0 +1,15 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Reads the arguments of a resource method from the request and calls the method.
+ */
+public interface Binder {
+
+    /**
+     * @param instance the resource instance, ignored for static methods.
+     * @return the return value, boxed for primitive return types, {@code null} for void methods.
+     */
+    Object invoke(Object instance, RestfulRequestContext requestContext) throws Exception;
+}
@@ -0,0 +1,320 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.alibaba.webx.restful.model.InstanceSetter;
+import com.alibaba.webx.restful.model.Invocable;
+import com.alibaba.webx.restful.model.Parameter;
+import com.alibaba.webx.restful.model.converter.BooleanTypeConverter;
+import com.alibaba.webx.restful.model.converter.DoubleTypeConverter;
+import com.alibaba.webx.restful.model.converter.IntTypeConverter;
+import com.alibaba.webx.restful.model.converter.LongTypeConverter;
+import com.alibaba.webx.restful.model.converter.TypeConverter;
+import com.alibaba.webx.restful.model.param.DefaultParameter;
+import com.alibaba.webx.restful.model.param.HeaderParameter;
+import com.alibaba.webx.restful.model.param.LiteralParameter;
+import com.alibaba.webx.restful.model.param.PathParameter;
+import com.alibaba.webx.restful.model.param.PathVariableParameter;
+import com.alibaba.webx.restful.model.param.QueryParameter;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+import com.alibaba.webx.restful.util.AsmUtils;
+
+/**
+ * Generates the binder of a resource method. Path, query and header parameters are read by the generated code from
+ * the request context, path variables by their bound index, and converted by {@link LiteralParameter#convert}, so the
+ * default value rules are the ones of the parameter. The other parameters are read through
+ * {@link Parameter#getParameterValue}. Each parameter is held in a field of its concrete class, so every call site of
+ * a binder class sees a single receiver class.
+ * <p>
+ * The {@code int}, {@code long}, {@code double} and {@code boolean} literal parameters with a primitive converter
+ * are read by their primitive getter, without boxing the value.
+ * <p>
+ * The injectors of the resource classes are generated the same way, each setter is called with the value of its
+ * parameter, unboxed for primitive properties.
+ * <p>
+ * The values of the fields are passed to the constructor of the generated class as an array.
+ */
+final class BinderGenerator implements Opcodes {
+
+    private static final String CONTEXT_NAME   = Type.getInternalName(RestfulRequestContext.class);
+    private static final String CONTEXT_DESC   = Type.getDescriptor(RestfulRequestContext.class);
+    private static final String CONVERT_DESC   = "(Ljava/lang/String;)Ljava/lang/Object;";
+    private static final String PARAMETER_DESC = "(" + CONTEXT_DESC + ")Ljava/lang/Object;";
+    private static final String INJECT_DESC    = "(Ljava/lang/Object;" + CONTEXT_DESC + ")V";
+    private static final String INVOKE_DESC    = "(Ljava/lang/Object;" + CONTEXT_DESC + ")Ljava/lang/Object;";
+
+    private final GeneratedClassLoader classLoader;
+    private final String               internalName;
+    private final ClassWriter          cw;
+
+    private final List<Object>         fieldValues = new ArrayList<Object>();
+    private final List<Type>           fieldTypes  = new ArrayList<Type>();
+
+    private BinderGenerator(GeneratedClassLoader classLoader, String className){
+        this.classLoader = classLoader;
+        this.internalName = className.replace('.', '/');
+        this.cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    }
+
+    static Binder generate(Invocable invocable, GeneratedClassLoader classLoader) throws Exception {
+        Method method = invocable.getMethod();
+        String className = GeneratedClassLoader.newClassName(method.getDeclaringClass(), "Binder");
+
+        BinderGenerator generator = new BinderGenerator(classLoader, className);
+        byte[] bytes = generator.generateClass(invocable);
+
+        Class<?> binderClass = classLoader.defineClass(className, bytes);
+        Constructor<?> constructor = binderClass.getConstructor(Object[].class);
+        return (Binder) constructor.newInstance(new Object[] { generator.fieldValues.toArray() });
+    }
+
+    static Injector generateInjector(Class<?> clazz, List<InstanceSetter> setters, GeneratedClassLoader classLoader)
+                                                                                                                   throws Exception {
+        String className = GeneratedClassLoader.newClassName(clazz, "Injector");
+
+        BinderGenerator generator = new BinderGenerator(classLoader, className);
+        byte[] bytes = generator.generateInjectorClass(clazz, setters);
+
+        Class<?> injectorClass = classLoader.defineClass(className, bytes);
+        Constructor<?> constructor = injectorClass.getConstructor(Object[].class);
+        return (Injector) constructor.newInstance(new Object[] { generator.fieldValues.toArray() });
+    }
+
+    private byte[] generateInjectorClass(Class<?> clazz, List<InstanceSetter> setters) {
+        cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, internalName, null, "java/lang/Object",
+                 new String[] { Type.getInternalName(Injector.class) });
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "inject", INJECT_DESC, null,
+                                          new String[] { "java/lang/Exception" });
+        mv.visitCode();
+
+        for (InstanceSetter setter : setters) {
+            Method method = setter.getMethod();
+
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(clazz));
+            readArgument(mv, setter.getParameter(), Type.getArgumentTypes(method)[0]);
+            AsmUtils.invoke(mv, method);
+
+            // setters returning the instance
+            Type returnType = Type.getReturnType(method);
+            if (returnType.getSort() == Type.LONG || returnType.getSort() == Type.DOUBLE) {
+                mv.visitInsn(POP2);
+            } else if (returnType.getSort() != Type.VOID) {
+                mv.visitInsn(POP);
+            }
+        }
+
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        generateConstructor();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private byte[] generateClass(Invocable invocable) {
+        Method method = invocable.getMethod();
+
+        cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, internalName, null, "java/lang/Object",
+                 new String[] { Type.getInternalName(Binder.class) });
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESC, null,
+                                          new String[] { "java/lang/Exception" });
+        mv.visitCode();
+
+        if (!Modifier.isStatic(method.getModifiers())) {
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getDeclaringClass()));
+        }
+
+        Type[] argumentTypes = Type.getArgumentTypes(method);
+        List<Parameter> parameters = invocable.getParameters();
+        for (int i = 0; i < argumentTypes.length; ++i) {
+            readArgument(mv, parameters.get(i), argumentTypes[i]);
+        }
+
+        AsmUtils.invoke(mv, method);
+        AsmUtils.box(mv, Type.getReturnType(method));
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        generateConstructor();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Push the value of a parameter as an argument of the type. The {@code int}, {@code long}, {@code double} and
+     * {@code boolean} literal parameters are read by their primitive getter, the other parameters are unboxed.
+     */
+    private void readArgument(MethodVisitor mv, Parameter parameter, Type type) {
+        String getter = getPrimitiveGetter(parameter, type);
+        if (getter == null) {
+            readParameter(mv, parameter);
+            AsmUtils.unbox(mv, type);
+            return;
+        }
+
+        Type parameterType = getField(mv, parameter, LiteralParameter.class);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitMethodInsn(INVOKEVIRTUAL, parameterType.getInternalName(), getter,
+                           "(" + CONTEXT_DESC + ")" + type.getDescriptor());
+    }
+
+    /**
+     * @return the primitive getter reading the parameter, {@code null} if the parameter is not a literal parameter of
+     * this library with a primitive converter of the type.
+     */
+    private static String getPrimitiveGetter(Parameter parameter, Type type) {
+        if (!(parameter instanceof LiteralParameter)
+            || parameter.getClass().getPackage() != LiteralParameter.class.getPackage()) {
+            return null;
+        }
+
+        TypeConverter typeConverter = ((LiteralParameter) parameter).getTypeConverter();
+        switch (type.getSort()) {
+            case Type.INT:
+                return typeConverter instanceof IntTypeConverter ? "getIntValue" : null;
+            case Type.LONG:
+                return typeConverter instanceof LongTypeConverter ? "getLongValue" : null;
+            case Type.DOUBLE:
+                return typeConverter instanceof DoubleTypeConverter ? "getDoubleValue" : null;
+            case Type.BOOLEAN:
+                return typeConverter instanceof BooleanTypeConverter ? "getBooleanValue" : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Push the value of a parameter.
+     */
+    private void readParameter(MethodVisitor mv, Parameter parameter) {
+        Class<?> parameterClass = parameter.getClass();
+
+        int index = -1;
+        if (parameter instanceof PathVariableParameter) {
+            index = ((PathVariableParameter) parameter).getPathVariableIndex();
+        }
+
+        if (parameterClass == PathParameter.class && index != PathVariableParameter.UNBOUND) {
+            if (index == -1) {
+                mv.visitInsn(ACONST_NULL);
+            } else {
+                readPathVariable(mv, index);
+            }
+            convert(mv, (LiteralParameter) parameter);
+        } else if (parameterClass == QueryParameter.class && !((LiteralParameter) parameter).isMultiValued()) {
+            readContext(mv, "getParameter", ((LiteralParameter) parameter).getName());
+            convert(mv, (LiteralParameter) parameter);
+        } else if (parameterClass == HeaderParameter.class) {
+            readContext(mv, "getHeader", ((LiteralParameter) parameter).getName());
+            convert(mv, (LiteralParameter) parameter);
+        } else if (parameterClass == DefaultParameter.class && index != PathVariableParameter.UNBOUND
+                   && !((LiteralParameter) parameter).isMultiValued()) {
+            // the path variable, or the query parameter when the path has no such variable
+            String name = ((LiteralParameter) parameter).getName();
+            if (index == -1) {
+                readContext(mv, "getParameter", name);
+            } else {
+                Label end = new Label();
+                readPathVariable(mv, index);
+                mv.visitInsn(DUP);
+                mv.visitJumpInsn(IFNONNULL, end);
+                mv.visitInsn(POP);
+                readContext(mv, "getParameter", name);
+                mv.visitLabel(end);
+            }
+            convert(mv, (LiteralParameter) parameter);
+        } else {
+            Type type = getField(mv, parameter, Parameter.class);
+            mv.visitVarInsn(ALOAD, 2);
+            if (type.getSort() == Type.OBJECT && Parameter.class.getName().equals(type.getClassName())) {
+                mv.visitMethodInsn(INVOKEINTERFACE, type.getInternalName(), "getParameterValue", PARAMETER_DESC);
+            } else {
+                mv.visitMethodInsn(INVOKEVIRTUAL, type.getInternalName(), "getParameterValue", PARAMETER_DESC);
+            }
+        }
+    }
+
+    private void readPathVariable(MethodVisitor mv, int index) {
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitLdcInsn(Integer.valueOf(index));
+        mv.visitMethodInsn(INVOKEINTERFACE, CONTEXT_NAME, "getPathVariable", "(I)Ljava/lang/String;");
+    }
+
+    private void readContext(MethodVisitor mv, String getter, String name) {
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitLdcInsn(name);
+        mv.visitMethodInsn(INVOKEINTERFACE, CONTEXT_NAME, getter, "(Ljava/lang/String;)Ljava/lang/String;");
+    }
+
+    /**
+     * Replace the literal value on top of the stack by the value of {@link LiteralParameter#convert}, which uses the
+     * default value when the literal value is missing or empty.
+     */
+    private void convert(MethodVisitor mv, LiteralParameter parameter) {
+        Type parameterType = getField(mv, parameter, LiteralParameter.class);
+        mv.visitInsn(SWAP);
+        mv.visitMethodInsn(INVOKEVIRTUAL, parameterType.getInternalName(), "convert", CONVERT_DESC);
+    }
+
+    /**
+     * Add a field holding a value and push the value of the field. The field has the class of the value when the
+     * generated class can refer to it, the declared type otherwise.
+     *
+     * @return the type of the field.
+     */
+    private Type getField(MethodVisitor mv, Object value, Class<?> declaredType) {
+        Class<?> fieldClass = declaredType;
+        if (value != null && declaredType != Object.class && classLoader.isAccessible(value.getClass())) {
+            fieldClass = value.getClass();
+        }
+
+        Type type = Type.getType(fieldClass);
+        String name = "f" + fieldValues.size();
+        cw.visitField(ACC_PRIVATE | ACC_FINAL, name, type.getDescriptor(), null, null).visitEnd();
+        fieldValues.add(value);
+        fieldTypes.add(type);
+
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, internalName, name, type.getDescriptor());
+        return type;
+    }
+
+    private void generateConstructor() {
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+
+        for (int i = 0; i < fieldTypes.size(); ++i) {
+            Type type = fieldTypes.get(i);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitLdcInsn(Integer.valueOf(i));
+            mv.visitInsn(AALOAD);
+            AsmUtils.unbox(mv, type);
+            mv.visitFieldInsn(PUTFIELD, internalName, "f" + i, type.getDescriptor());
+        }
+
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+}
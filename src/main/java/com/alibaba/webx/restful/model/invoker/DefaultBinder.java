@@ -0,0 +1,21 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import com.alibaba.webx.restful.model.Invocable;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Binder reading the arguments through the {@link com.alibaba.webx.restful.model.Parameter parameters} of the method
+ * and calling the method through the invoker of the method.
+ */
+public final class DefaultBinder implements Binder {
+
+    private final Invocable invocable;
+
+    public DefaultBinder(Invocable invocable){
+        this.invocable = invocable;
+    }
+
+    public Object invoke(Object instance, RestfulRequestContext requestContext) throws Exception {
+        return invocable.invoke(instance, invocable.getArguments(requestContext));
+    }
+}
@@ -0,0 +1,28 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import java.util.List;
+
+import com.alibaba.webx.restful.model.InstanceSetter;
+import com.alibaba.webx.restful.model.Parameter;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Injector reading the values through the {@link Parameter parameters} of the setters and calling the setters by
+ * reflection.
+ */
+public final class DefaultInjector implements Injector {
+
+    private final List<InstanceSetter> setters;
+
+    public DefaultInjector(List<InstanceSetter> setters){
+        this.setters = setters;
+    }
+
+    public void inject(Object instance, RestfulRequestContext requestContext) throws Exception {
+        for (InstanceSetter setter : setters) {
+            Parameter parameter = setter.getParameter();
+            Object propertyValue = parameter.getParameterValue(requestContext);
+            setter.getMethod().invoke(instance, propertyValue);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.webx.restful.util.AsmUtils;
+
+/**
+ * Class loader defining generated classes next to the classes they call. The classes of this library are loaded
+ * from the class loader of this library, so that the generated classes implement the same interfaces whatever the
+ * class loader of the resource classes.
+ */
+public final class GeneratedClassLoader extends ClassLoader {
+
+    private static final String        LIBRARY_PACKAGE = "com.alibaba.webx.restful.";
+
+    private static final AtomicInteger classCount      = new AtomicInteger();
+
+    public GeneratedClassLoader(ClassLoader parent){
+        super(parent);
+    }
+
+    /**
+     * Get a unique name for a class generated for a class, in the package of that class.
+     *
+     * @param kind what the generated class does, such as {@code Invoker}.
+     */
+    public static String newClassName(Class<?> clazz, String kind) {
+        return clazz.getName() + "$$" + kind + "$$" + classCount.incrementAndGet();
+    }
+
+    /**
+     * Check that a generated class can refer to a class, public and loaded the same way by this class loader.
+     */
+    public boolean isAccessible(Class<?> clazz) {
+        if (!AsmUtils.isPublic(clazz)) {
+            return false;
+        }
+
+        try {
+            return loadClass(clazz.getName()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public Class<?> defineClass(String name, byte[] bytes) {
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (name.startsWith(LIBRARY_PACKAGE)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded != null) {
+                return loaded;
+            }
+
+            try {
+                return GeneratedClassLoader.class.getClassLoader().loadClass(name);
+            } catch (ClassNotFoundException e) {
+                // a resource class of the same package
+            }
+        }
+
+        return super.loadClass(name, resolve);
+    }
+}
@@ -0,0 +1,11 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Sets the properties of a resource instance from a request, through the setters of the resource class.
+ */
+public interface Injector {
+
+    void inject(Object instance, RestfulRequestContext requestContext) throws Exception;
+}
@@ -0,0 +1,14 @@
+package com.alibaba.webx.restful.model.invoker;
+
+/**
+ * Calls a resource method, the strategy is chosen by the {@link InvokerFactory} of the application.
+ */
+public interface Invoker {
+
+    /**
+     * @param instance the resource instance, ignored for static methods.
+     * @param args the arguments, primitive values boxed.
+     * @return the return value, boxed for primitive return types, {@code null} for void methods.
+     */
+    Object invoke(Object instance, Object[] args) throws Exception;
+}
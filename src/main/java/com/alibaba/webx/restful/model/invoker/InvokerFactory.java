@@ -0,0 +1,22 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import com.alibaba.webx.restful.model.InstanceSetter;
+import com.alibaba.webx.restful.model.Invocable;
+
+public interface InvokerFactory {
+
+    Invoker createInvoker(Method method);
+
+    /**
+     * Create the binder of a resource method whose path variables are bound, the invoker of the method is set.
+     */
+    Binder createBinder(Invocable invocable);
+
+    /**
+     * Create the injector calling the setters of a resource class.
+     */
+    Injector createInjector(Class<?> clazz, List<InstanceSetter> setters);
+}
@@ -0,0 +1,45 @@
+package com.alibaba.webx.restful.model.invoker;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import com.alibaba.webx.restful.model.InstanceSetter;
+import com.alibaba.webx.restful.model.Invocable;
+
+/**
+ * Invoker calling {@link Method#invoke(Object, Object...)}, the exceptions thrown by the method are wrapped into
+ * {@link java.lang.reflect.InvocationTargetException}.
+ */
+public final class ReflectionInvoker implements Invoker {
+
+    public static final InvokerFactory FACTORY = new ReflectionInvokerFactory();
+
+    private final Method               method;
+
+    public ReflectionInvoker(Method method){
+        this.method = method;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Object invoke(Object instance, Object[] args) throws Exception {
+        return method.invoke(instance, args);
+    }
+
+    private static final class ReflectionInvokerFactory implements InvokerFactory {
+
+        public Invoker createInvoker(Method method) {
+            return new ReflectionInvoker(method);
+        }
+
+        public Binder createBinder(Invocable invocable) {
+            return new DefaultBinder(invocable);
+        }
+
+        public Injector createInjector(Class<?> clazz, List<InstanceSetter> setters) {
+            return new DefaultInjector(setters);
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package com.alibaba.webx.restful.model.param;
 
-import javax.servlet.http.HttpServletRequest;
-
 import com.alibaba.webx.restful.model.Parameter;
 import com.alibaba.webx.restful.model.converter.TypeConverter;
 import com.alibaba.webx.restful.process.RestfulRequestContext;
 
-public class DefaultParameter extends LiteralParameter implements Parameter {
+public class DefaultParameter extends PathVariableParameter implements Parameter {
 
     public DefaultParameter(String name, TypeConverter typeConverter, Object defaultValue){
         super(name, typeConverter, defaultValue);
@@ -14,17 +12,26 @@ public class DefaultParameter extends LiteralParameter implements Parameter {
 
     @Override
     public String getLiteralValue(RestfulRequestContext requestContext) {
-        String name = getName();
-        String value = requestContext.getPathVariables().get(name);
+        String value = getPathVariable(requestContext);
 
         if (value == null) {
-            HttpServletRequest httpRequest = requestContext.getHttpRequest();
-            value = httpRequest.getParameter(name);
+            value = requestContext.getParameter(getName());
         }
 
         return value;
     }
 
+    @Override
+    public String[] getLiteralValues(RestfulRequestContext requestContext) {
+        String value = getPathVariable(requestContext);
+
+        if (value == null) {
+            return requestContext.getParameterValues(getName());
+        }
+
+        return new String[] { value };
+    }
+
     @Override
     public Source getSource() {
         return Source.UNKNOWN;
@@ -1,7 +1,5 @@
 package com.alibaba.webx.restful.model.param;
 
-import javax.servlet.http.HttpServletRequest;
-
 import com.alibaba.webx.restful.model.Parameter;
 import com.alibaba.webx.restful.model.converter.TypeConverter;
 import com.alibaba.webx.restful.process.RestfulRequestContext;
@@ -14,8 +12,7 @@ public class HeaderParameter extends LiteralParameter implements Parameter {
 
     @Override
     public String getLiteralValue(RestfulRequestContext requestContext) {
-        HttpServletRequest httpRequest = requestContext.getHttpRequest();
-        return httpRequest.getHeader(getName());
+        return requestContext.getHeader(getName());
     }
 
     @Override
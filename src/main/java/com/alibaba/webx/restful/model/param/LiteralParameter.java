@@ -1,6 +1,12 @@
 package com.alibaba.webx.restful.model.param;
 
 import com.alibaba.webx.restful.model.Parameter;
+import com.alibaba.webx.restful.model.converter.BooleanTypeConverter;
+import com.alibaba.webx.restful.model.converter.DoubleTypeConverter;
+import com.alibaba.webx.restful.model.converter.DynamicValue;
+import com.alibaba.webx.restful.model.converter.IntTypeConverter;
+import com.alibaba.webx.restful.model.converter.LongTypeConverter;
+import com.alibaba.webx.restful.model.converter.MultiValueConverter;
 import com.alibaba.webx.restful.model.converter.TypeConvertException;
 import com.alibaba.webx.restful.model.converter.TypeConverter;
 import com.alibaba.webx.restful.process.RestfulRequestContext;
@@ -10,27 +16,108 @@ public abstract class LiteralParameter implements Parameter {
     private final String        name;
     private final TypeConverter typeConverter;
     private final Object        defaultValue;
+    private final boolean       multiValued;
 
     public LiteralParameter(String name, TypeConverter typeConverter, Object defaultValue){
         super();
         this.name = name;
         this.typeConverter = typeConverter;
         this.defaultValue = defaultValue;
+        this.multiValued = typeConverter instanceof MultiValueConverter;
     }
 
     @Override
     public Object getParameterValue(RestfulRequestContext requestContext) throws TypeConvertException {
-        String literalValue = getLiteralValue(requestContext);
+        if (multiValued) {
+            String[] literalValues = getLiteralValues(requestContext);
+
+            if (literalValues == null || literalValues.length == 0
+                || (literalValues.length == 1 && literalValues[0].length() == 0)) {
+                return getDefaultValue();
+            }
+
+            return ((MultiValueConverter) typeConverter).convert(literalValues);
+        }
+
+        return convert(getLiteralValue(requestContext));
+    }
 
+    /**
+     * Convert a single literal value of the parameter, the default value is used when the literal value is missing or
+     * empty. The generated binders read the literal value themselves and call this method with it.
+     */
+    public Object convert(String literalValue) throws TypeConvertException {
         if (literalValue == null || literalValue.length() == 0) {
-            return defaultValue;
+            return getDefaultValue();
         }
 
         return typeConverter.convert(literalValue);
     }
 
+    /**
+     * Read the value of an {@code int} parameter without boxing, the converter is an {@link IntTypeConverter}. A
+     * missing value without default is 0.
+     */
+    public int getIntValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        String literalValue = getLiteralValue(requestContext);
+
+        if (literalValue == null || literalValue.length() == 0) {
+            return defaultValue == null ? 0 : ((Number) defaultValue).intValue();
+        }
+
+        return ((IntTypeConverter) typeConverter).toInt(literalValue, 0, literalValue.length());
+    }
+
+    public long getLongValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        String literalValue = getLiteralValue(requestContext);
+
+        if (literalValue == null || literalValue.length() == 0) {
+            return defaultValue == null ? 0L : ((Number) defaultValue).longValue();
+        }
+
+        return ((LongTypeConverter) typeConverter).toLong(literalValue, 0, literalValue.length());
+    }
+
+    public double getDoubleValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        String literalValue = getLiteralValue(requestContext);
+
+        if (literalValue == null || literalValue.length() == 0) {
+            return defaultValue == null ? 0D : ((Number) defaultValue).doubleValue();
+        }
+
+        return ((DoubleTypeConverter) typeConverter).toDouble(literalValue, 0, literalValue.length());
+    }
+
+    public boolean getBooleanValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        String literalValue = getLiteralValue(requestContext);
+
+        if (literalValue == null || literalValue.length() == 0) {
+            return defaultValue == null ? false : ((Boolean) defaultValue).booleanValue();
+        }
+
+        return ((BooleanTypeConverter) typeConverter).toBoolean(literalValue, 0, literalValue.length());
+    }
+
     public abstract String getLiteralValue(RestfulRequestContext requestContext);
 
+    /**
+     * Get all the literal values of the parameter, read by the parameters bound to an array or a collection. The
+     * parameters with a single value return it as the only element.
+     *
+     * @return the values, {@code null} if missing.
+     */
+    public String[] getLiteralValues(RestfulRequestContext requestContext) {
+        String literalValue = getLiteralValue(requestContext);
+        return literalValue == null ? null : new String[] { literalValue };
+    }
+
+    /**
+     * Whether the parameter is bound to an array or a collection by a {@link MultiValueConverter}.
+     */
+    public boolean isMultiValued() {
+        return multiValued;
+    }
+
     public String getName() {
         return name;
     }
@@ -39,7 +126,24 @@ public abstract class LiteralParameter implements Parameter {
         return typeConverter;
     }
 
+    /**
+     * The default value, a {@link DynamicValue} is computed again on each call.
+     */
     public Object getDefaultValue() {
+        if (defaultValue instanceof DynamicValue) {
+            return ((DynamicValue) defaultValue).getValue();
+        }
+        return defaultValue;
+    }
+
+    public boolean isDynamicDefaultValue() {
+        return defaultValue instanceof DynamicValue;
+    }
+
+    /**
+     * The default value as declared, the {@link DynamicValue} itself for a dynamic default value.
+     */
+    public Object getDeclaredDefaultValue() {
         return defaultValue;
     }
 
@@ -10,6 +10,7 @@ import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.CookieParam;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.FormParam;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.MatrixParam;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
@@ -23,6 +24,9 @@ import org.springframework.context.ApplicationContext;
 
 import com.alibaba.webx.restful.model.Parameter;
 import com.alibaba.webx.restful.model.ResourceConfigException;
+import com.alibaba.webx.restful.model.converter.ConvertedValue;
+import com.alibaba.webx.restful.model.converter.DateConverter;
+import com.alibaba.webx.restful.model.converter.MultiValueConverter;
 import com.alibaba.webx.restful.model.converter.TypeConverter;
 import com.alibaba.webx.restful.model.converter.TypeConverterProvider;
 import com.alibaba.webx.restful.model.converter.TypeConverterProviderImpl;
@@ -30,14 +34,63 @@ import com.alibaba.webx.restful.spi.ParameterProvider;
 
 public class ParameterProviderImpl implements ParameterProvider {
 
-    private final static Log         LOG                   = LogFactory.getLog(ParameterProviderImpl.class);
-    private TypeConverterProvider    typeConverterProvider = new TypeConverterProviderImpl();
+    private final static Log         LOG = LogFactory.getLog(ParameterProviderImpl.class);
+    private TypeConverterProvider    typeConverterProvider;
 
     private final ApplicationContext applicationContext;
 
     public ParameterProviderImpl(ApplicationContext applicationContext){
+        this(applicationContext, TypeConverterProviderImpl.DEFAULT_MAX_VALUES);
+    }
+
+    /**
+     * @param maxValueCount the maximum number of values of a parameter bound to an array or a collection.
+     */
+    public ParameterProviderImpl(ApplicationContext applicationContext, int maxValueCount){
         super();
         this.applicationContext = applicationContext;
+        this.typeConverterProvider = createTypeConverterProvider(applicationContext, maxValueCount);
+    }
+
+    /**
+     * Create the converter registry, with the {@link TypeConverter} beans of the application context registered for
+     * the return type of their {@code convert} method, for example a converter declaring
+     * {@code public Money convert(String literalValue)} converts the {@code Money} parameters.
+     */
+    private static TypeConverterProvider createTypeConverterProvider(ApplicationContext applicationContext,
+                                                                     int maxValueCount) {
+        Map<?, ?> beanMap = null;
+        if (applicationContext != null) {
+            beanMap = applicationContext.getBeansOfType(TypeConverter.class);
+        }
+
+        if ((beanMap == null || beanMap.isEmpty()) && maxValueCount == TypeConverterProviderImpl.DEFAULT_MAX_VALUES) {
+            return TypeConverterProviderImpl.getInstance();
+        }
+
+        TypeConverterProviderImpl typeConverterProvider = new TypeConverterProviderImpl(maxValueCount);
+        if (beanMap == null) {
+            return typeConverterProvider;
+        }
+
+        for (Map.Entry<?, ?> entry : beanMap.entrySet()) {
+            TypeConverter typeConverter = (TypeConverter) entry.getValue();
+
+            Class<?> targetClass;
+            try {
+                targetClass = typeConverter.getClass().getMethod("convert", String.class).getReturnType();
+            } catch (NoSuchMethodException e) {
+                throw new ResourceConfigException("illegal typeConverter : " + entry.getKey(), e);
+            }
+
+            if (targetClass == Object.class) {
+                LOG.warn("typeConverter ignored, convert method returns Object : " + entry.getKey());
+                continue;
+            }
+
+            typeConverterProvider.register(typeConverter, targetClass);
+        }
+        return typeConverterProvider;
     }
 
     public ApplicationContext getApplicationContext() {
@@ -54,6 +107,7 @@ public class ParameterProviderImpl implements ParameterProvider {
 
         CookieParam cookieParam = null;
         FormParam formParam = null;
+        HeaderParam headerParam = null;
         QueryParam queryParam = null;
         PathParam pathParam = null;
         MatrixParam matrixParam = null;
@@ -72,6 +126,8 @@ public class ParameterProviderImpl implements ParameterProvider {
                 cookieParam = (CookieParam) annotation;
             } else if (annotationType == FormParam.class) {
                 formParam = (FormParam) annotation;
+            } else if (annotationType == HeaderParam.class) {
+                headerParam = (HeaderParam) annotation;
             } else if (annotationType == QueryParam.class) {
                 queryParam = (QueryParam) annotation;
             } else if (annotationType == PathParam.class) {
@@ -101,7 +157,7 @@ public class ParameterProviderImpl implements ParameterProvider {
         }
 
         TypeConverter typeConverter = typeConverterProvider.create(paramClass, paramType, annotations);
-        Object defaultValue = getDefaultValue(method, defaultValueAnnotation, typeConverter);
+        Object defaultValue = getDefaultValue(method, defaultValueAnnotation, typeConverter, paramClass);
 
         if (cookieParam != null) {
             String cookieName = cookieParam.value();
@@ -113,6 +169,11 @@ public class ParameterProviderImpl implements ParameterProvider {
             return new FormParameter(paramName, typeConverter, defaultValue);
         }
 
+        if (headerParam != null) {
+            String headerName = headerParam.value();
+            return new HeaderParameter(headerName, typeConverter, defaultValue);
+        }
+
         if (queryParam != null) {
             String paramName = queryParam.value();
             return new QueryParameter(paramName, typeConverter, defaultValue);
@@ -151,16 +212,59 @@ public class ParameterProviderImpl implements ParameterProvider {
         return new DefaultParameter(name, typeConverter, defaultValue);
     }
 
-    private Object getDefaultValue(Member method, DefaultValue defaultValueAnnotation, TypeConverter typeConverter) {
+    /**
+     * Get the default value of a parameter, the zero value of a primitive type when the parameter has none, whatever
+     * the binder reading it.
+     */
+    private Object getDefaultValue(Member method, DefaultValue defaultValueAnnotation, TypeConverter typeConverter,
+                                   Class<?> paramClass) {
         Object defaultValue = null;
         if (defaultValueAnnotation != null) {
             String defaultLiteralValue = defaultValueAnnotation.value();
             try {
-                defaultValue = typeConverter.convert(defaultLiteralValue);
+                if (typeConverter instanceof DateConverter && DateConverter.NOW_LITERAL.equals(defaultLiteralValue)) {
+                    defaultValue = DateConverter.NOW;
+                } else if (typeConverter instanceof MultiValueConverter) {
+                    defaultValue = new ConvertedValue(typeConverter, defaultLiteralValue);
+                } else {
+                    defaultValue = typeConverter.convert(defaultLiteralValue);
+                }
             } catch (Exception e) {
                 LOG.error("parse defaultValue error : " + method);
             }
         }
+
+        if (defaultValue == null && paramClass.isPrimitive()) {
+            defaultValue = getZeroValue(paramClass);
+        }
         return defaultValue;
     }
+
+    private static Object getZeroValue(Class<?> primitiveClass) {
+        if (primitiveClass == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (primitiveClass == char.class) {
+            return Character.valueOf((char) 0);
+        }
+        if (primitiveClass == byte.class) {
+            return Byte.valueOf((byte) 0);
+        }
+        if (primitiveClass == short.class) {
+            return Short.valueOf((short) 0);
+        }
+        if (primitiveClass == int.class) {
+            return Integer.valueOf(0);
+        }
+        if (primitiveClass == long.class) {
+            return Long.valueOf(0L);
+        }
+        if (primitiveClass == float.class) {
+            return Float.valueOf(0F);
+        }
+        if (primitiveClass == double.class) {
+            return Double.valueOf(0D);
+        }
+        return null;
+    }
 }
@@ -4,7 +4,7 @@ import com.alibaba.webx.restful.model.Parameter;
 import com.alibaba.webx.restful.model.converter.TypeConverter;
 import com.alibaba.webx.restful.process.RestfulRequestContext;
 
-public class PathParameter extends LiteralParameter implements Parameter {
+public class PathParameter extends PathVariableParameter implements Parameter {
 
     public PathParameter(String name, TypeConverter typeConverter, Object defaultValue){
         super(name, typeConverter, defaultValue);
@@ -12,9 +12,7 @@ public class PathParameter extends LiteralParameter implements Parameter {
 
     @Override
     public String getLiteralValue(RestfulRequestContext requestContext) {
-        String varName = this.getName();
-        String value = requestContext.getPathVariables().get(varName);
-        return value;
+        return getPathVariable(requestContext);
     }
 
     @Override
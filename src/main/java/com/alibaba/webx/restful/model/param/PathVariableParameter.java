@@ -0,0 +1,117 @@
+package com.alibaba.webx.restful.model.param;
+
+import com.alibaba.webx.restful.model.converter.BooleanTypeConverter;
+import com.alibaba.webx.restful.model.converter.DoubleTypeConverter;
+import com.alibaba.webx.restful.model.converter.IntTypeConverter;
+import com.alibaba.webx.restful.model.converter.LongTypeConverter;
+import com.alibaba.webx.restful.model.converter.TypeConvertException;
+import com.alibaba.webx.restful.model.converter.TypeConverter;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * A parameter reading a path variable. The parameters of a resource method are bound to the index of their variable
+ * when the resource is built, so reading the value does not look the name up. The primitive values of a bound
+ * variable are parsed from the matched path, without creating the string of the variable.
+ */
+public abstract class PathVariableParameter extends LiteralParameter {
+
+    public static final int UNBOUND           = -2;
+
+    private int             pathVariableIndex = UNBOUND;
+
+    public PathVariableParameter(String name, TypeConverter typeConverter, Object defaultValue){
+        super(name, typeConverter, defaultValue);
+    }
+
+    /**
+     * Get the index of the path variable in {@link com.alibaba.webx.restful.model.ResourceMethod#getPathVariableNames()}.
+     *
+     * @return the index, -1 if the path has no such variable, {@link #UNBOUND} if the parameter is not bound to a
+     * resource method.
+     */
+    public int getPathVariableIndex() {
+        return pathVariableIndex;
+    }
+
+    public void setPathVariableIndex(int pathVariableIndex) {
+        this.pathVariableIndex = pathVariableIndex;
+    }
+
+    protected String getPathVariable(RestfulRequestContext requestContext) {
+        int index = pathVariableIndex;
+        if (index == UNBOUND) {
+            return requestContext.getPathVariable(getName());
+        }
+
+        if (index == -1) {
+            return null;
+        }
+
+        return requestContext.getPathVariable(index);
+    }
+
+    @Override
+    public int getIntValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        int start = getPathVariableStart(requestContext);
+        if (start == -1) {
+            return super.getIntValue(requestContext);
+        }
+
+        IntTypeConverter typeConverter = (IntTypeConverter) getTypeConverter();
+        return typeConverter.toInt(requestContext.getMatchingPath(), start, getPathVariableEnd(requestContext));
+    }
+
+    @Override
+    public long getLongValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        int start = getPathVariableStart(requestContext);
+        if (start == -1) {
+            return super.getLongValue(requestContext);
+        }
+
+        LongTypeConverter typeConverter = (LongTypeConverter) getTypeConverter();
+        return typeConverter.toLong(requestContext.getMatchingPath(), start, getPathVariableEnd(requestContext));
+    }
+
+    @Override
+    public double getDoubleValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        int start = getPathVariableStart(requestContext);
+        if (start == -1) {
+            return super.getDoubleValue(requestContext);
+        }
+
+        DoubleTypeConverter typeConverter = (DoubleTypeConverter) getTypeConverter();
+        return typeConverter.toDouble(requestContext.getMatchingPath(), start, getPathVariableEnd(requestContext));
+    }
+
+    @Override
+    public boolean getBooleanValue(RestfulRequestContext requestContext) throws TypeConvertException {
+        int start = getPathVariableStart(requestContext);
+        if (start == -1) {
+            return super.getBooleanValue(requestContext);
+        }
+
+        BooleanTypeConverter typeConverter = (BooleanTypeConverter) getTypeConverter();
+        return typeConverter.toBoolean(requestContext.getMatchingPath(), start, getPathVariableEnd(requestContext));
+    }
+
+    /**
+     * @return the start of the bound variable in the matching path, -1 if the variable is missing or empty and the
+     * value is read as a literal.
+     */
+    private int getPathVariableStart(RestfulRequestContext requestContext) {
+        int index = pathVariableIndex;
+        if (index < 0) {
+            return -1;
+        }
+
+        int[] offsets = requestContext.getPathVariableOffsets();
+        if (offsets == null || offsets[2 * index] == offsets[2 * index + 1]) {
+            return -1;
+        }
+        return offsets[2 * index];
+    }
+
+    private int getPathVariableEnd(RestfulRequestContext requestContext) {
+        return requestContext.getPathVariableOffsets()[2 * pathVariableIndex + 1];
+    }
+}
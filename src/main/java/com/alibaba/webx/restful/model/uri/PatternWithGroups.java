@@ -26,6 +26,14 @@ public class PatternWithGroups {
      * The array of group indexes to capturing groups.
      */
     private final int[]                   groupIndexes;
+    /**
+     * The number of capturing groups, with the numbering of {@link #groupIndexes}.
+     */
+    private final int                     groupCount;
+    /**
+     * Whether a repeated group of {@link #regex} contains a repeated expression.
+     */
+    private final boolean                 backtrackingRisk;
 
     /**
      * Construct an empty pattern.
@@ -34,6 +42,8 @@ public class PatternWithGroups {
         this.regex = "";
         this.regexPattern = null;
         this.groupIndexes = EMPTY_INT_ARRAY;
+        this.groupCount = 0;
+        this.backtrackingRisk = false;
     }
 
     /**
@@ -88,6 +98,8 @@ public class PatternWithGroups {
         this.regex = regexPattern.toString();
         this.regexPattern = regexPattern;
         this.groupIndexes = groupIndexes;
+        this.groupCount = (groupIndexes.length > 0) ? groupIndexes.length - 1 : regexPattern.matcher("").groupCount();
+        this.backtrackingRisk = RegexAnalyzer.hasNestedQuantifier(regex);
     }
 
     /**
@@ -108,6 +120,26 @@ public class PatternWithGroups {
         return groupIndexes;
     }
 
+    /**
+     * Get the number of capturing groups.
+     * 
+     * @return the number of capturing groups.
+     */
+    public final int getGroupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Check whether the regular expression nests quantifiers, such as {@code (a+)+}. Matching such an expression
+     * against a string that almost matches may take time exponential in the length of the string, it is matched with
+     * a step limit by the routers.
+     * 
+     * @return true if the regular expression nests quantifiers.
+     */
+    public final boolean isBacktrackingRisk() {
+        return backtrackingRisk;
+    }
+
     private static final class EmptyStringMatchResult implements MatchResult {
 
         @Override
@@ -234,6 +266,42 @@ public class PatternWithGroups {
         return (groupIndexes.length > 0) ? new GroupIndexMatchResult(m) : m;
     }
 
+    /**
+     * Match a region of a char sequence against the pattern without creating a match result.
+     * <p>
+     * If matched then the start and end offsets of the capturing groups are written as pairs into the array passed in
+     * as parameter, in the same order as the pattern's capturing groups. The offsets are relative to the beginning of
+     * the char sequence, a group that did not participate in the match has the offsets -1.
+     * 
+     * @param cs the char sequence to match against the pattern.
+     * @param start the start of the region, inclusive.
+     * @param end the end of the region, exclusive.
+     * @param offsets the array receiving the offsets, its length must be at least {@code index + 2 * getGroupCount()}.
+     * @param index the index of the first array element to write.
+     * @return the number of capturing groups written, -1 if the region does not match the pattern.
+     */
+    public final int match(final CharSequence cs, final int start, final int end, final int[] offsets,
+                           final int index) {
+        // Check for match against the empty pattern
+        if (regexPattern == null) {
+            return (start == end) ? 0 : -1;
+        }
+
+        Matcher m = regexPattern.matcher(cs);
+        m.region(start, end);
+        if (!m.matches()) {
+            return -1;
+        }
+
+        for (int i = 0; i < groupCount; i++) {
+            int group = (groupIndexes.length > 0) ? groupIndexes[i] : i + 1;
+            offsets[index + 2 * i] = m.start(group);
+            offsets[index + 2 * i + 1] = m.end(group);
+        }
+
+        return groupCount;
+    }
+
     /**
      * Match against the pattern.
      * <p>
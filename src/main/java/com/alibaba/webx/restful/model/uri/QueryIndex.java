@@ -0,0 +1,233 @@
+package com.alibaba.webx.restful.model.uri;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Index of the parameters of a raw query string, built in one pass over the query string. Only the offsets of the
+ * names and values are kept, a value is cut and decoded when read and kept for the next read. The names and values
+ * are decoded as {@link UriComponent.Type#QUERY_PARAM} in UTF-8, a malformed value is read as is.
+ * <p>
+ * An index belongs to one request and is not thread safe.
+ */
+public final class QueryIndex {
+
+    public final static QueryIndex EMPTY = new QueryIndex(null);
+
+    private final String           query;
+
+    /**
+     * The start and end of the name, the start and end of the value of each parameter, the value start is -1 for a
+     * parameter without {@code =}.
+     */
+    private int[]                  offsets;
+    private int                    size;
+
+    /**
+     * The decoded names, only set for the names with escaped characters.
+     */
+    private String[]               decodedNames;
+    private String[]               values;
+
+    public QueryIndex(String query){
+        this.query = query;
+        this.offsets = new int[16];
+
+        if (query == null) {
+            return;
+        }
+
+        int length = query.length();
+        int start = 0;
+        int equals = -1;
+        boolean escaped = false;
+        for (int i = 0; i <= length; ++i) {
+            char ch = i == length ? '&' : query.charAt(i);
+            if (ch == '&') {
+                add(start, equals, i, escaped);
+                start = i + 1;
+                equals = -1;
+                escaped = false;
+            } else if (ch == '=') {
+                if (equals == -1) {
+                    equals = i;
+                }
+            } else if ((ch == '%' || ch == '+') && equals == -1) {
+                escaped = true;
+            }
+        }
+    }
+
+    private void add(int start, int equals, int end, boolean escaped) {
+        int nameEnd = equals == -1 ? end : equals;
+        if (nameEnd == start) {
+            // no name, ignored
+            return;
+        }
+
+        if (offsets.length < (size + 1) * 4) {
+            int[] newOffsets = new int[offsets.length * 2];
+            System.arraycopy(offsets, 0, newOffsets, 0, size * 4);
+            offsets = newOffsets;
+        }
+
+        int index = size * 4;
+        offsets[index] = start;
+        offsets[index + 1] = nameEnd;
+        offsets[index + 2] = equals == -1 ? -1 : equals + 1;
+        offsets[index + 3] = end;
+
+        if (escaped) {
+            if (decodedNames == null) {
+                decodedNames = new String[offsets.length / 4];
+            } else if (decodedNames.length <= size) {
+                String[] newNames = new String[offsets.length / 4];
+                System.arraycopy(decodedNames, 0, newNames, 0, decodedNames.length);
+                decodedNames = newNames;
+            }
+            decodedNames[size] = decode(query.substring(start, nameEnd));
+        }
+
+        size++;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int index) {
+        if (decodedNames != null && index < decodedNames.length && decodedNames[index] != null) {
+            return decodedNames[index];
+        }
+        return query.substring(offsets[index * 4], offsets[index * 4 + 1]);
+    }
+
+    /**
+     * @return the decoded value, an empty string for a parameter without {@code =}.
+     */
+    public String getValue(int index) {
+        if (values == null) {
+            values = new String[size];
+        }
+
+        String value = values[index];
+        if (value == null) {
+            value = decode(getRawValue(index));
+            values[index] = value;
+        }
+        return value;
+    }
+
+    public String getRawValue(int index) {
+        int start = offsets[index * 4 + 2];
+        if (start == -1) {
+            return "";
+        }
+        return query.substring(start, offsets[index * 4 + 3]);
+    }
+
+    public int indexOf(String name) {
+        return indexOf(name, 0);
+    }
+
+    /**
+     * @return the index of the first parameter of the name from the index, -1 if none.
+     */
+    public int indexOf(String name, int fromIndex) {
+        for (int i = fromIndex; i < size; ++i) {
+            if (nameEquals(i, name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int index, String name) {
+        if (decodedNames != null && index < decodedNames.length && decodedNames[index] != null) {
+            return decodedNames[index].equals(name);
+        }
+
+        int start = offsets[index * 4];
+        int length = offsets[index * 4 + 1] - start;
+        return length == name.length() && query.regionMatches(start, name, 0, length);
+    }
+
+    /**
+     * Get the first value of a parameter, as {@code ServletRequest.getParameter} does.
+     *
+     * @return the decoded value, {@code null} if the query has no such parameter.
+     */
+    public String getFirst(String name) {
+        int index = indexOf(name, 0);
+        return index == -1 ? null : getValue(index);
+    }
+
+    /**
+     * @return the decoded values, {@code null} if the query has no such parameter.
+     */
+    public List<String> get(String name) {
+        List<String> list = null;
+        for (int index = indexOf(name, 0); index != -1; index = indexOf(name, index + 1)) {
+            if (list == null) {
+                list = new ArrayList<String>(2);
+            }
+            list.add(getValue(index));
+        }
+        return list;
+    }
+
+    /**
+     * @return the decoded values, {@code null} if the query has no such parameter.
+     */
+    public String[] getValues(String name) {
+        int first = indexOf(name, 0);
+        if (first == -1) {
+            return null;
+        }
+
+        int count = 1;
+        for (int index = indexOf(name, first + 1); index != -1; index = indexOf(name, index + 1)) {
+            count++;
+        }
+
+        String[] result = new String[count];
+        for (int i = 0, index = first; i < count; ++i, index = indexOf(name, index + 1)) {
+            result[i] = getValue(index);
+        }
+        return result;
+    }
+
+    /**
+     * Create a map of the parameters, the names are always decoded.
+     *
+     * @param decode true if the values should be decoded.
+     */
+    public MultivaluedMap<String, String> toMultivaluedMap(boolean decode) {
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<String, String>();
+        for (int i = 0; i < size; ++i) {
+            parameters.add(getName(i), decode ? getValue(i) : getRawValue(i));
+        }
+        return parameters;
+    }
+
+    private static String decode(String text) {
+        try {
+            return UriComponent.decode(text, UriComponent.Type.QUERY_PARAM);
+        } catch (IllegalArgumentException e) {
+            // malformed escape, as lenient as the containers
+            return text;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return query == null ? "" : query;
+    }
+}
@@ -0,0 +1,163 @@
+package com.alibaba.webx.restful.model.uri;
+
+/**
+ * Static analysis of the regular expressions of path templates. A repeated group whose content is itself repeated,
+ * such as {@code (a+)+} or {@code (\w*\d)*}, can be matched in exponentially many ways and makes the backtracking
+ * matcher of {@link java.util.regex.Pattern} explode on a path that almost matches.
+ */
+final class RegexAnalyzer {
+
+    private RegexAnalyzer(){
+    }
+
+    /**
+     * Check whether a repeating quantifier applies to a group containing a repeating quantifier. The {@code ?}
+     * quantifier does not repeat, possessive quantifiers never backtrack and are ignored.
+     */
+    static boolean hasNestedQuantifier(String regex) {
+        int length = regex.length();
+
+        // for each open group, whether its content contains a repeating quantifier
+        boolean[] repeats = new boolean[length + 1];
+        int depth = 0;
+
+        // whether the atom before the current character is a group containing a repeating quantifier
+        boolean atomRepeats = false;
+
+        for (int i = 0; i < length; ++i) {
+            char ch = regex.charAt(i);
+            switch (ch) {
+                case '\\':
+                    if (i + 1 < length && regex.charAt(i + 1) == 'Q') {
+                        int quoteEnd = regex.indexOf("\\E", i + 2);
+                        i = quoteEnd == -1 ? length : quoteEnd + 1;
+                    } else {
+                        i++;
+                    }
+                    atomRepeats = false;
+                    break;
+                case '[':
+                    i = skipClass(regex, i);
+                    atomRepeats = false;
+                    break;
+                case '(':
+                    repeats[++depth] = false;
+                    if (i + 1 < length && regex.charAt(i + 1) == '?') {
+                        // (?: (?= (?! (?<= (?<! (?> are not quantified
+                        i++;
+                    }
+                    atomRepeats = false;
+                    break;
+                case ')':
+                    if (depth > 0) {
+                        atomRepeats = repeats[depth--];
+                        if (depth > 0) {
+                            repeats[depth] |= atomRepeats;
+                        }
+                    } else {
+                        atomRepeats = false;
+                    }
+                    break;
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    int end = ch == '{' ? skipBounds(regex, i) : i;
+                    if (end == -1) {
+                        // not a quantifier, a literal brace
+                        atomRepeats = false;
+                        break;
+                    }
+
+                    boolean repeating = ch != '?' && (ch != '{' || isRepeatingBounds(regex, i, end));
+                    boolean possessive = false;
+                    if (end + 1 < length) {
+                        char suffix = regex.charAt(end + 1);
+                        if (suffix == '?' || suffix == '+') {
+                            possessive = suffix == '+';
+                            end++;
+                        }
+                    }
+                    i = end;
+
+                    if (repeating && !possessive) {
+                        if (atomRepeats) {
+                            return true;
+                        }
+                        if (depth > 0) {
+                            repeats[depth] = true;
+                        }
+                    }
+                    atomRepeats = false;
+                    break;
+                default:
+                    atomRepeats = false;
+                    break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the index of the closing bracket of the character class starting at the index.
+     */
+    private static int skipClass(String regex, int start) {
+        int nesting = 0;
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            // a leading ']' is a literal
+            i++;
+        }
+
+        for (int length = regex.length(); i < length; ++i) {
+            char ch = regex.charAt(i);
+            if (ch == '\\') {
+                i++;
+            } else if (ch == '[') {
+                nesting++;
+            } else if (ch == ']') {
+                if (nesting == 0) {
+                    return i;
+                }
+                nesting--;
+            }
+        }
+        return regex.length();
+    }
+
+    /**
+     * @return the index of the closing brace of a {@code {n}}, {@code {n,}} or {@code {n,m}} quantifier starting at
+     * the index, -1 if the brace does not start a quantifier.
+     */
+    private static int skipBounds(String regex, int start) {
+        boolean digit = false;
+        for (int i = start + 1, length = regex.length(); i < length; ++i) {
+            char ch = regex.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digit = true;
+            } else if (ch == ',') {
+                continue;
+            } else if (ch == '}') {
+                return digit ? i : -1;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isRepeatingBounds(String regex, int start, int end) {
+        String bounds = regex.substring(start + 1, end);
+        int comma = bounds.indexOf(',');
+        if (comma == -1) {
+            return Integer.parseInt(bounds) > 1;
+        }
+
+        String max = bounds.substring(comma + 1);
+        return max.length() == 0 || Integer.parseInt(max) > 1;
+    }
+}
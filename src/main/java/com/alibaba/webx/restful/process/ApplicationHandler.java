@@ -9,7 +9,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.MatchResult;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -17,6 +18,7 @@ import javax.ws.rs.MessageProcessingException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
@@ -31,31 +33,86 @@ import javax.ws.rs.ext.WriterInterceptorContext;
 
 import org.springframework.context.ApplicationContext;
 
+import com.alibaba.webx.restful.Constants;
 import com.alibaba.webx.restful.model.ApplicationImpl;
+import com.alibaba.webx.restful.model.InstanceConstructor;
+import com.alibaba.webx.restful.model.InstancePool;
+import com.alibaba.webx.restful.model.InstancePool.PooledInstance;
 import com.alibaba.webx.restful.model.Invocable;
+import com.alibaba.webx.restful.model.MultiInstanceConstructor;
 import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceListener;
 import com.alibaba.webx.restful.model.ResourceMethod;
-import com.alibaba.webx.restful.model.uri.PathPattern;
+import com.alibaba.webx.restful.model.converter.TypeConverterProviderImpl;
+import com.alibaba.webx.restful.model.finder.ClassInfo;
+import com.alibaba.webx.restful.model.invoker.AsmInvokerFactory;
+import com.alibaba.webx.restful.model.invoker.DefaultInjector;
+import com.alibaba.webx.restful.model.invoker.InvokerFactory;
+import com.alibaba.webx.restful.model.invoker.ReflectionInvoker;
+import com.alibaba.webx.restful.model.param.ParameterProviderImpl;
 import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.impl.MediaTypeExtensions;
 import com.alibaba.webx.restful.process.impl.ResponseImpl;
+import com.alibaba.webx.restful.process.impl.UriInfoImpl;
 import com.alibaba.webx.restful.process.impl.WriterInterceptorContextImpl;
+import com.alibaba.webx.restful.process.route.AbstractRouter;
+import com.alibaba.webx.restful.process.route.CachingRouter;
+import com.alibaba.webx.restful.process.route.HttpMethodType;
+import com.alibaba.webx.restful.process.route.PatternRouter;
+import com.alibaba.webx.restful.process.route.PrefixFilter;
+import com.alibaba.webx.restful.process.route.Route;
+import com.alibaba.webx.restful.process.route.Router;
+import com.alibaba.webx.restful.process.route.TrieRouter;
+import com.alibaba.webx.restful.spi.ParameterProvider;
 import com.alibaba.webx.restful.util.ApplicationContextUtils;
 import com.alibaba.webx.restful.util.ClassUtils;
+import com.alibaba.webx.restful.util.IdentityHashSet;
+import com.alibaba.webx.restful.util.ResourceUtils;
 
 public class ApplicationHandler {
 
-    private final ApplicationImpl      config;
+    private final ApplicationImpl                 config;
 
-    private final ApplicationContext   applicationContext;
+    private final ApplicationContext              applicationContext;
 
-    private List<MessageBodyWriter<?>> messageBodyWriters = new ArrayList<MessageBodyWriter<?>>();
-    private Set<WriterInterceptor>     writeInterceptors  = new LinkedHashSet<WriterInterceptor>();
+    private volatile Router                       router;
+
+    private volatile PrefixFilter                 prefixFilter;
+
+    private final InvokerFactory                  invokerFactory;
+
+    private final int                             instancePoolSize;
+
+    private final boolean                         queryIndexEnabled;
+
+    private final MediaTypeExtensions             mediaTypeExtensions;
+
+    /**
+     * The provider of the sub-resources, created once with its converter registry.
+     */
+    private final ParameterProvider               parameterProvider;
+
+    private final ConcurrentMap<Class<?>, Router> subResourceRouters = new ConcurrentHashMap<Class<?>, Router>();
+
+    private List<MessageBodyWriter<?>>            messageBodyWriters = new ArrayList<MessageBodyWriter<?>>();
+    private Set<WriterInterceptor>                writeInterceptors  = new LinkedHashSet<WriterInterceptor>();
 
     public ApplicationHandler(Application application, ApplicationContext applicationContext){
         ApplicationContextUtils.setApplicationContext(applicationContext);
 
         this.config = (ApplicationImpl) application;
         this.applicationContext = applicationContext;
+        this.invokerFactory = createInvokerFactory(config);
+        this.instancePoolSize = getIntProperty(config, Constants.INSTANCE_POOL_SIZE);
+        this.queryIndexEnabled = getBooleanProperty(config, Constants.QUERY_INDEX);
+        this.parameterProvider = createParameterProvider(config, applicationContext);
+
+        Resource[] resources = config.getResourceArray();
+        setInvokers(resources);
+        this.router = createRouter(config, resources);
+        this.prefixFilter = new PrefixFilter(resources);
+        config.addResourceListener(new RouterUpdater());
+        this.mediaTypeExtensions = createMediaTypeExtensions(config);
 
         initialize();
     }
@@ -64,9 +121,159 @@ public class ApplicationHandler {
         return applicationContext;
     }
 
+    /**
+     * Get the router of the current resources. The router is immutable and replaced as a whole when the resources
+     * change, a request keeps using the route it matched.
+     */
+    public Router getRouter() {
+        return router;
+    }
+
+    private static Router createRouter(ApplicationImpl config, Resource[] resources) {
+        int matchStepLimit = AbstractRouter.DEFAULT_MATCH_STEP_LIMIT;
+        if (config.getProperty(Constants.MATCH_STEP_LIMIT) != null) {
+            matchStepLimit = getIntProperty(config, Constants.MATCH_STEP_LIMIT);
+        }
+
+        Router router;
+        if (Constants.ROUTER_PATTERN.equals(config.getProperty(Constants.ROUTER))) {
+            router = new PatternRouter(resources, matchStepLimit);
+        } else {
+            router = new TrieRouter(resources, matchStepLimit);
+        }
+
+        int cacheSize = getIntProperty(config, Constants.ROUTE_CACHE_SIZE);
+        if (cacheSize > 0) {
+            router = new CachingRouter(router, cacheSize);
+        }
+
+        return router;
+    }
+
+    private static InvokerFactory createInvokerFactory(ApplicationImpl config) {
+        Object invoker = config.getProperty(Constants.INVOKER);
+        if (invoker == null || Constants.INVOKER_ASM.equals(invoker)) {
+            return new AsmInvokerFactory();
+        }
+        if (Constants.INVOKER_REFLECTION.equals(invoker)) {
+            return ReflectionInvoker.FACTORY;
+        }
+        throw new IllegalArgumentException("illegal " + Constants.INVOKER + " : " + invoker);
+    }
+
+    /**
+     * Set the invokers and the binders of the resource methods, the injectors and the pools of the resource instances,
+     * before the resources are routed.
+     */
+    private void setInvokers(Resource[] resources) {
+        // the resource methods of a class share its constructor
+        Set<InstanceConstructor> constructors = new IdentityHashSet<InstanceConstructor>();
+        for (Resource resource : resources) {
+            setInvokers(resource.getResourceMethods(), constructors);
+            setInvokers(resource.getSubResourceMethods(), constructors);
+            setInvokers(resource.getSubResourceLocators(), constructors);
+        }
+
+        for (InstanceConstructor constructor : constructors) {
+            if (constructor instanceof MultiInstanceConstructor) {
+                setInjectors((MultiInstanceConstructor) constructor);
+                setInstancePool((MultiInstanceConstructor) constructor);
+            }
+        }
+    }
+
+    private void setInvokers(List<ResourceMethod> resourceMethods, Set<InstanceConstructor> constructors) {
+        for (ResourceMethod resourceMethod : resourceMethods) {
+            Invocable invocable = resourceMethod.getInvocable();
+            invocable.setInvoker(invokerFactory.createInvoker(invocable.getMethod()));
+            invocable.setBinder(invokerFactory.createBinder(invocable));
+            constructors.add(invocable.getConstructor());
+        }
+    }
+
+    private void setInjectors(MultiInstanceConstructor constructor) {
+        // the injectors are kept when the resource is added again
+        if (!(constructor.getInjector() instanceof DefaultInjector)) {
+            return;
+        }
+
+        Class<?> clazz = constructor.getHandlerClass();
+        constructor.setInjectors(invokerFactory.createInjector(clazz, constructor.getSetters()),
+                                 invokerFactory.createInjector(clazz, constructor.getRequestSetters()));
+    }
+
+    private void setInstancePool(MultiInstanceConstructor constructor) {
+        // the pool is kept when the resource is added again
+        if (instancePoolSize > 0 && constructor.getInstancePool() == null && constructor.isPoolable()) {
+            constructor.setInstancePool(new InstancePool(constructor, instancePoolSize));
+        }
+    }
+
+    private static InstancePool getInstancePool(ResourceMethod resourceMethod) {
+        InstanceConstructor constructor = resourceMethod.getInvocable().getConstructor();
+        if (constructor instanceof MultiInstanceConstructor) {
+            return ((MultiInstanceConstructor) constructor).getInstancePool();
+        }
+        return null;
+    }
+
+    private static MediaTypeExtensions createMediaTypeExtensions(ApplicationImpl config) {
+        Object mapping = config.getProperty(Constants.MEDIA_TYPE_EXTENSIONS);
+        if (mapping == null) {
+            return MediaTypeExtensions.DEFAULT;
+        }
+        return new MediaTypeExtensions(mapping.toString());
+    }
+
+    /**
+     * Get the path extensions mapped to media types, to be removed from the request path when it is extracted.
+     */
+    public MediaTypeExtensions getMediaTypeExtensions() {
+        return mediaTypeExtensions;
+    }
+
+    /**
+     * Create the parameter provider of the resources, with the {@link Constants#MAX_PARAMETER_VALUES} of the
+     * application.
+     */
+    public static ParameterProvider createParameterProvider(ApplicationImpl config,
+                                                            ApplicationContext applicationContext) {
+        int maxValueCount = TypeConverterProviderImpl.DEFAULT_MAX_VALUES;
+        if (config.getProperty(Constants.MAX_PARAMETER_VALUES) != null) {
+            maxValueCount = getIntProperty(config, Constants.MAX_PARAMETER_VALUES);
+        }
+        return new ParameterProviderImpl(applicationContext, maxValueCount);
+    }
+
+    private static boolean getBooleanProperty(ApplicationImpl config, String name) {
+        Object value = config.getProperty(name);
+        if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue();
+        }
+        return value != null && "true".equalsIgnoreCase(value.toString().trim());
+    }
+
+    private static int getIntProperty(ApplicationImpl config, String name) {
+        Object value = config.getProperty(name);
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("illegal " + name + " : " + value, e);
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     private void initialize() {
         messageBodyWriters.add(new JSONMessageBodyWriter());
+        messageBodyWriters.add(new PlainTextMessageBodyWriter());
 
         Map map = applicationContext.getBeansOfType(MessageBodyWriter.class);
 
@@ -76,6 +283,29 @@ public class ApplicationHandler {
         }
     }
 
+    /**
+     * Check the first segment of the request path against the root resources, without creating any object.
+     *
+     * @return false if no resource matches the request, which is passed on.
+     */
+    public boolean isRoutable(HttpServletRequest request) {
+        String requestURI = request.getRequestURI();
+        return isRoutable(requestURI, UriInfoImpl.getPathStart(request), requestURI.length());
+    }
+
+    /**
+     * Check the first segment of a path region against the root resources, a mapped extension of the path is ignored.
+     *
+     * @return false if no resource matches the path.
+     */
+    public boolean isRoutable(String path, int start, int end) {
+        int index = mediaTypeExtensions.indexOf(path, start, end);
+        if (index != -1) {
+            end -= mediaTypeExtensions.getSuffixLength(index);
+        }
+        return prefixFilter.mayMatch(path, start, end);
+    }
+
     public void service(HttpServletRequest request, HttpServletResponse response, UriInfo uri) throws IOException {
         ContainerRequestContextImpl requestContext = createRequestContext(request, response, uri);
 
@@ -89,20 +319,58 @@ public class ApplicationHandler {
         return requestContext;
     }
 
-    @SuppressWarnings({ "rawtypes" })
     public void service(RestfulRequestContext requestContext) throws IOException {
-
-        if (requestContext.getResourceMethod() == null) {
-            throw new ProcessException("no resource matched");
-        }
+        requestContext.setQueryIndexEnabled(queryIndexEnabled);
 
         ResourceMethod resourceMethod = requestContext.getResourceMethod();
 
         if (resourceMethod == null) {
-            throw new ProcessException("resourceMethod not match : " + requestContext.getUriInfo().getPath());
+            if (requestContext.getRoute() == null) {
+                throw new ProcessException("resourceMethod not match : " + requestContext.getUriInfo().getPath());
+            }
+
+            writeNotMatched(requestContext);
+            return;
+        }
+
+        InstancePool instancePool = getInstancePool(resourceMethod);
+        if (instancePool == null) {
+            service(requestContext, resourceMethod, null);
+            return;
         }
 
-        Object returnObject = invoke(requestContext, resourceMethod);
+        PooledInstance pooledInstance;
+        try {
+            pooledInstance = instancePool.borrow(requestContext);
+        } catch (Exception e) {
+            throw new ProcessException("createResourceInstance error", e);
+        }
+
+        // released once the response is written, the entity or a sub-resource may refer to the instance
+        try {
+            service(requestContext, resourceMethod, pooledInstance.getInstance());
+        } finally {
+            instancePool.release(pooledInstance);
+        }
+    }
+
+    /**
+     * @param resourceInstance the pooled resource instance, {@code null} to create the resource instance.
+     */
+    @SuppressWarnings({ "rawtypes" })
+    private void service(RestfulRequestContext requestContext, ResourceMethod resourceMethod, Object resourceInstance)
+                                                                                                                       throws IOException {
+        // each sub-resource locator returns the resource matching the remaining path
+        while (resourceMethod.getType() == ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
+            resourceInstance = invoke(requestContext, resourceMethod, resourceInstance);
+            if (resourceInstance == null || !locate(requestContext, resourceInstance)) {
+                writeNotMatched(requestContext);
+                return;
+            }
+            resourceMethod = requestContext.getResourceMethod();
+        }
+
+        Object returnObject = invoke(requestContext, resourceMethod, resourceInstance);
 
         ResponseBuilder responseBuilder = Response.ok();
 
@@ -110,32 +378,122 @@ public class ApplicationHandler {
         GenericType responseType = resourceMethod.getResponseType();
         responseBuilder.entity(returnObject, responseType.getType(), annotations);
 
+        MediaType mediaType = requestContext.getResponseMediaType();
+        if (mediaType == null) {
+            mediaType = requestContext.getExtensionMediaType();
+        }
+        if (mediaType != null) {
+            responseBuilder.type(mediaType);
+            requestContext.getHttpResponse().setContentType(mediaType.getType() + '/' + mediaType.getSubtype());
+        }
+
         ResponseImpl response = (ResponseImpl) responseBuilder.build();
         response.setHttpResponse(requestContext.getHttpResponse());
 
         writeResponse(requestContext, response);
     }
 
-    private Object invoke(RestfulRequestContext requestContext, ResourceMethod resourceMethod) throws ProcessException {
-        Invocable invocable = resourceMethod.getInvocable();
+    /**
+     * Match the path remaining after a sub-resource locator against the resource returned by the locator.
+     */
+    private boolean locate(RestfulRequestContext requestContext, Object subResource) throws ProcessException {
+        Route route = requestContext.getRoute();
+        String path = route.getRightHandPath(requestContext.getMatchingPath(), requestContext.getPathVariableOffsets());
+
+        // the offsets may be shared with the route cache, the sub-resource router writes a new array
+        requestContext.setMatchingPath(path);
+        requestContext.setPathVariableOffsets(null);
+        requestContext.setRoute(null);
+        requestContext.setResource(null);
+        requestContext.setResourceMethod(null);
+        requestContext.setMatchStatus(0);
+        requestContext.setAllow(null);
+
+        return getSubResourceRouter(subResource.getClass()).match(requestContext);
+    }
 
-        Object resourceInstance = null;
-        try {
-            resourceInstance = invocable.createInstance(requestContext);
-        } catch (Exception e) {
-            throw new ProcessException("createResourceInstance error", e);
+    /**
+     * Get the router of a sub-resource class, the class is modeled once and its router kept until the resources
+     * change.
+     */
+    private Router getSubResourceRouter(Class<?> clazz) throws ProcessException {
+        Class<?> userClass = org.springframework.util.ClassUtils.getUserClass(clazz);
+
+        Router subResourceRouter = subResourceRouters.get(userClass);
+        if (subResourceRouter == null) {
+            Resource resource;
+            try {
+                ClassInfo classInfo = ResourceUtils.readClassInfo(userClass);
+                resource = ResourceUtils.buildSubResource(parameterProvider, userClass, classInfo);
+                setInvokers(new Resource[] { resource });
+            } catch (IOException e) {
+                throw new ProcessException("build sub-resource error, class " + userClass.getName(), e);
+            }
+
+            subResourceRouter = createRouter(config, new Resource[] { resource });
+            Router existing = subResourceRouters.putIfAbsent(userClass, subResourceRouter);
+            if (existing != null) {
+                subResourceRouter = existing;
+            }
         }
+        return subResourceRouter;
+    }
 
-        Object[] args = null;
-        try {
-            args = invocable.getArguments(requestContext);
-        } catch (Exception e) {
-            throw new ProcessException("get resourceMethod's arguemnts error", e);
+    /**
+     * Answer a request whose path matched no resource method, with 404 or with the status of the matched route.
+     */
+    private void writeNotMatched(RestfulRequestContext requestContext) {
+        Route route = requestContext.getRoute();
+        if (route == null) {
+            requestContext.getHttpResponse().setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
 
+        // 400 when matching the path exceeded the step limit
+        int status = requestContext.getMatchStatus();
+        if (status == HttpServletResponse.SC_NOT_ACCEPTABLE || status == HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE
+            || status == HttpServletResponse.SC_BAD_REQUEST) {
+            requestContext.getHttpResponse().setStatus(status);
+        } else {
+            writeMethodNotAllowed(requestContext);
+        }
+    }
+
+    /**
+     * The path matched routes which do not handle the HTTP method: answer OPTIONS with the methods allowed by all of
+     * them, and every other method with 405.
+     */
+    private void writeMethodNotAllowed(RestfulRequestContext requestContext) {
+        HttpServletResponse httpResponse = requestContext.getHttpResponse();
+
+        httpResponse.setHeader(HttpHeaders.ALLOW, requestContext.getAllow());
+        if (HttpMethodType.OPTIONS == HttpMethodType.fromString(requestContext.getMethod())) {
+            httpResponse.setStatus(HttpServletResponse.SC_OK);
+        } else {
+            httpResponse.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+        }
+    }
+
+    /**
+     * @param resourceInstance the pooled instance or the sub-resource returned by a locator, {@code null} to create the
+     *            resource instance.
+     */
+    private Object invoke(RestfulRequestContext requestContext, ResourceMethod resourceMethod, Object resourceInstance)
+                                                                                                                    throws ProcessException {
+        Invocable invocable = resourceMethod.getInvocable();
+
+        if (resourceInstance == null) {
+            try {
+                resourceInstance = invocable.createInstance(requestContext);
+            } catch (Exception e) {
+                throw new ProcessException("createResourceInstance error", e);
+            }
+        }
+
+        // the binder reads the arguments and calls the method
         Object returnObject = null;
         try {
-            returnObject = invocable.invoke(resourceInstance, args);
+            returnObject = invocable.invoke(resourceInstance, requestContext);
         } catch (Exception e) {
             throw new ProcessException("invoke resourceMethod error", e);
         }
@@ -172,54 +530,7 @@ public class ApplicationHandler {
     }
 
     private void match(RestfulRequestContext requestContext) {
-        String path = requestContext.getUriInfo().getPath();
-
-        List<Resource> matchedResources = new ArrayList<Resource>();
-        List<MatchResult> matchedResults = new ArrayList<MatchResult>();
-
-        for (Resource resource : config.getResources()) {
-            PathPattern pathPattern = resource.getPathPattern();
-            MatchResult matchResult = pathPattern.match(path);
-            if (matchResult != null) {
-                matchedResources.add(resource);
-                matchedResults.add(matchResult);
-            }
-        }
-
-        for (int i = 0, size = matchedResources.size(); i < size; ++i) {
-            ResourceMethod matchedResourceMethod = null;
-            MatchResult resourceMethodResult = null;
-
-            Resource resource = matchedResources.get(i);
-            MatchResult matchResult = matchedResults.get(i);
-
-            String methodPath = matchResult.group(matchResult.groupCount());
-
-            for (ResourceMethod resourceMethod : resource.getSubResourceMethods()) {
-                PathPattern pathPattern = resourceMethod.getPathPattern();
-
-                resourceMethodResult = pathPattern.match(methodPath);
-                if (resourceMethodResult != null) {
-                    matchedResourceMethod = resourceMethod;
-                    break;
-                }
-            }
-
-            if (matchedResourceMethod == null) {
-                for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
-                    matchedResourceMethod = resourceMethod;
-                    break;
-                }
-            }
-
-            if (matchedResourceMethod != null) {
-                requestContext.setResource(resource);
-                requestContext.setResourceMatchResult(matchResult);
-                requestContext.setResourceMethod(matchedResourceMethod);
-                requestContext.setResourceMethodMatchResult(resourceMethodResult);
-                break;
-            }
-        }
+        router.match(requestContext);
     }
 
     public Set<WriterInterceptor> getWriterInterceptors() {
@@ -280,6 +591,20 @@ public class ApplicationHandler {
         return null;
     }
 
+    /**
+     * Builds the router and the prefix filter of the new resources on the modifying thread and swaps them in, a request
+     * checked against the previous prefixes while swapping is routed by either router.
+     */
+    private final class RouterUpdater implements ResourceListener {
+
+        public void resourcesChanged(ApplicationImpl application, Resource[] resources) {
+            setInvokers(resources);
+            router = createRouter(application, resources);
+            prefixFilter = new PrefixFilter(resources);
+            subResourceRouters.clear();
+        }
+    }
+
     public class TerminalWriterInterceptor implements WriterInterceptor {
 
         public TerminalWriterInterceptor(){
@@ -0,0 +1,289 @@
+package com.alibaba.webx.restful.process;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.Cookie;
+
+/**
+ * Index of the cookies of a request, built in one pass over the {@code Cookie} header. Only the offsets of the names
+ * and values are kept, a value is cut when read and a {@link Cookie} created when asked for. The {@code $Version}
+ * attribute applies to the cookies after it, {@code $Path} and {@code $Domain} to the cookie before them, a quoted
+ * value is read without the quotes.
+ * <p>
+ * An index belongs to one request and is not thread safe.
+ */
+public final class CookieIndex {
+
+    public final static CookieIndex          EMPTY = new CookieIndex((String) null);
+
+    private final String                     header;
+
+    /**
+     * The cookies of the servlet request, when the request has no {@code Cookie} header to parse.
+     */
+    private final javax.servlet.http.Cookie[] servletCookies;
+
+    /**
+     * The start and end of the name, the start and end of the value of each cookie.
+     */
+    private int[]                            offsets;
+    private int                              size;
+
+    /**
+     * The versions, paths and domains, only set when the header has such attributes.
+     */
+    private int[]                            versions;
+    private String[]                         paths;
+    private String[]                         domains;
+
+    private String[]                         values;
+    private Cookie[]                         cookies;
+
+    public CookieIndex(String header){
+        this.header = header;
+        this.servletCookies = null;
+        this.offsets = new int[16];
+
+        if (header == null) {
+            return;
+        }
+
+        int length = header.length();
+        int version = 0;
+        int start = 0;
+        while (start < length) {
+            int end = indexOfSeparator(header, start, length);
+
+            int nameStart = skipSpaces(header, start, end);
+            int equals = header.indexOf('=', nameStart);
+            if (equals != -1 && equals < end) {
+                int nameEnd = trimSpaces(header, nameStart, equals);
+                int valueStart = skipSpaces(header, equals + 1, end);
+                int valueEnd = trimSpaces(header, valueStart, end);
+                if (valueEnd - valueStart >= 2 && header.charAt(valueStart) == '"'
+                    && header.charAt(valueEnd - 1) == '"') {
+                    valueStart++;
+                    valueEnd--;
+                }
+
+                if (nameEnd == nameStart) {
+                    // no name, ignored
+                } else if (header.charAt(nameStart) != '$') {
+                    add(nameStart, nameEnd, valueStart, valueEnd, version);
+                } else if (isAttribute(header, nameStart, nameEnd, "$Version")) {
+                    version = parseVersion(header.substring(valueStart, valueEnd));
+                } else if (size > 0) {
+                    if (isAttribute(header, nameStart, nameEnd, "$Path")) {
+                        if (paths == null) {
+                            paths = new String[offsets.length / 4];
+                        }
+                        paths[size - 1] = header.substring(valueStart, valueEnd);
+                    } else if (isAttribute(header, nameStart, nameEnd, "$Domain")) {
+                        if (domains == null) {
+                            domains = new String[offsets.length / 4];
+                        }
+                        domains[size - 1] = header.substring(valueStart, valueEnd);
+                    }
+                }
+            }
+
+            start = end + 1;
+        }
+    }
+
+    public CookieIndex(javax.servlet.http.Cookie[] servletCookies){
+        this.header = null;
+        this.servletCookies = servletCookies;
+        this.size = servletCookies == null ? 0 : servletCookies.length;
+    }
+
+    private void add(int nameStart, int nameEnd, int valueStart, int valueEnd, int version) {
+        if (offsets.length < (size + 1) * 4) {
+            int[] newOffsets = new int[offsets.length * 2];
+            System.arraycopy(offsets, 0, newOffsets, 0, size * 4);
+            offsets = newOffsets;
+
+            paths = grow(paths);
+            domains = grow(domains);
+            if (versions != null) {
+                int[] newVersions = new int[offsets.length / 4];
+                System.arraycopy(versions, 0, newVersions, 0, size);
+                versions = newVersions;
+            }
+        }
+
+        int index = size * 4;
+        offsets[index] = nameStart;
+        offsets[index + 1] = nameEnd;
+        offsets[index + 2] = valueStart;
+        offsets[index + 3] = valueEnd;
+
+        if (version != 0) {
+            if (versions == null) {
+                versions = new int[offsets.length / 4];
+            }
+            versions[size] = version;
+        }
+
+        size++;
+    }
+
+    private String[] grow(String[] array) {
+        if (array == null) {
+            return null;
+        }
+        String[] newArray = new String[offsets.length / 4];
+        System.arraycopy(array, 0, newArray, 0, size);
+        return newArray;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int index) {
+        if (servletCookies != null) {
+            return servletCookies[index].getName();
+        }
+        return header.substring(offsets[index * 4], offsets[index * 4 + 1]);
+    }
+
+    public String getValue(int index) {
+        if (servletCookies != null) {
+            return servletCookies[index].getValue();
+        }
+
+        if (values == null) {
+            values = new String[size];
+        }
+
+        String value = values[index];
+        if (value == null) {
+            value = header.substring(offsets[index * 4 + 2], offsets[index * 4 + 3]);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return the index of the first cookie of the name, -1 if none.
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < size; ++i) {
+            if (nameEquals(i, name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int index, String name) {
+        if (servletCookies != null) {
+            return name.equals(servletCookies[index].getName());
+        }
+
+        int start = offsets[index * 4];
+        int length = offsets[index * 4 + 1] - start;
+        return length == name.length() && header.regionMatches(start, name, 0, length);
+    }
+
+    /**
+     * Get the value of the first cookie of a name, the browsers send the cookie of the most specific path first.
+     *
+     * @return the value, {@code null} if the request has no such cookie.
+     */
+    public String getFirst(String name) {
+        int index = indexOf(name);
+        return index == -1 ? null : getValue(index);
+    }
+
+    /**
+     * @return the cookie, created on first access.
+     */
+    public Cookie getCookie(int index) {
+        if (cookies == null) {
+            cookies = new Cookie[size];
+        }
+
+        Cookie cookie = cookies[index];
+        if (cookie == null) {
+            if (servletCookies != null) {
+                javax.servlet.http.Cookie item = servletCookies[index];
+                cookie = new Cookie(item.getName(), item.getValue(), item.getPath(), item.getDomain(),
+                                    item.getVersion());
+            } else {
+                cookie = new Cookie(getName(index), getValue(index), paths == null ? null : paths[index],
+                                    domains == null ? null : domains[index], versions == null ? 0 : versions[index]);
+            }
+            cookies[index] = cookie;
+        }
+        return cookie;
+    }
+
+    /**
+     * Create a map of the cookies by name, keeping the first cookie of a name.
+     */
+    public Map<String, Cookie> toCookieMap() {
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Cookie> map = new HashMap<String, Cookie>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; ++i) {
+            String name = getName(i);
+            if (!map.containsKey(name)) {
+                map.put(name, getCookie(i));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * @return the end of the cookie starting at the offset, the quoted values may contain separators.
+     */
+    private static int indexOfSeparator(String header, int start, int length) {
+        boolean quoted = false;
+        for (int i = start; i < length; ++i) {
+            char ch = header.charAt(i);
+            if (ch == '"') {
+                quoted = !quoted;
+            } else if (ch == ';' && !quoted) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int skipSpaces(String header, int start, int end) {
+        while (start < end && header.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimSpaces(String header, int start, int end) {
+        while (end > start && header.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isAttribute(String header, int start, int end, String attribute) {
+        return end - start == attribute.length() && header.regionMatches(true, start, attribute, 0, end - start);
+    }
+
+    private static int parseVersion(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return header == null ? "" : header;
+    }
+}
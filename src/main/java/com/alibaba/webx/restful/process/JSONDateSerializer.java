@@ -0,0 +1,39 @@
+package com.alibaba.webx.restful.process;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Date;
+
+import com.alibaba.fastjson.serializer.DateSerializer;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.webx.restful.util.FastDateFormat;
+
+/**
+ * Writes the dates with {@link SerializerFeature#WriteDateUseDateFormat} through the shared {@link FastDateFormat} of
+ * the date format pattern of the serializer, straight into the writer, instead of a new date format and string per
+ * date. The other dates are written by the {@link DateSerializer}.
+ */
+public class JSONDateSerializer implements ObjectSerializer {
+
+    public final static JSONDateSerializer instance = new JSONDateSerializer();
+
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType) throws IOException {
+        SerializeWriter out = serializer.getWriter();
+
+        if (object == null || !out.isEnabled(SerializerFeature.WriteDateUseDateFormat)
+            || out.isEnabled(SerializerFeature.WriteClassName)) {
+            DateSerializer.instance.write(serializer, object, fieldName, fieldType);
+            return;
+        }
+
+        FastDateFormat dateFormat = FastDateFormat.getInstance(serializer.getDateFormatPattern());
+        char quote = out.isEnabled(SerializerFeature.UseSingleQuotes) ? '\'' : '"';
+
+        out.append(quote);
+        dateFormat.format(((Date) object).getTime(), out);
+        out.append(quote);
+    }
+}
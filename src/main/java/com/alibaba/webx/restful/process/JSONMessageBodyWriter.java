@@ -3,6 +3,7 @@ package com.alibaba.webx.restful.process;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Date;
 
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -11,12 +12,25 @@ import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
 
 import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeConfig;
 import com.alibaba.fastjson.serializer.SerializeWriter;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 
 @Provider
 public class JSONMessageBodyWriter<T> implements MessageBodyWriter<T> {
 
+    /**
+     * The global serializers, with the dates written by {@link JSONDateSerializer}.
+     */
+    private final static SerializeConfig config = new SerializeConfig();
+
+    static {
+        config.put(Date.class, JSONDateSerializer.instance);
+        config.put(java.sql.Date.class, JSONDateSerializer.instance);
+        config.put(java.sql.Time.class, JSONDateSerializer.instance);
+        config.put(java.sql.Timestamp.class, JSONDateSerializer.instance);
+    }
+
     public JSONMessageBodyWriter(){
 
     }
@@ -67,7 +81,7 @@ public class JSONMessageBodyWriter<T> implements MessageBodyWriter<T> {
         SerializeWriter out = new SerializeWriter();
 
         try {
-            JSONSerializer serializer = new JSONSerializer(out);
+            JSONSerializer serializer = new JSONSerializer(out, config);
             for (com.alibaba.fastjson.serializer.SerializerFeature feature : features) {
                 serializer.config(feature, true);
             }
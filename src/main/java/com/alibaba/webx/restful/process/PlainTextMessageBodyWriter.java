@@ -0,0 +1,50 @@
+package com.alibaba.webx.restful.process;
+
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Writes the string value of the entity for resource methods producing {@code text/plain}.
+ */
+@Provider
+public class PlainTextMessageBodyWriter<T> implements MessageBodyWriter<T> {
+
+    public PlainTextMessageBodyWriter(){
+
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+
+        return "text".equalsIgnoreCase(mediaType.getType()) && "plain".equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    @Override
+    public long getSize(T object, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return 0;
+    }
+
+    @Override
+    public void writeTo(T object, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+                                                                                              throws java.io.IOException,
+                                                                                              javax.ws.rs.WebApplicationException {
+        String encoding = (String) httpHeaders.getFirst(HttpHeaders.CONTENT_ENCODING);
+
+        if (encoding == null) {
+            encoding = "UTF-8";
+        }
+
+        entityStream.write(String.valueOf(object).getBytes(encoding));
+    }
+}
@@ -6,9 +6,12 @@ import java.util.regex.MatchResult;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MediaType;
 
 import com.alibaba.webx.restful.model.Resource;
 import com.alibaba.webx.restful.model.ResourceMethod;
+import com.alibaba.webx.restful.model.uri.QueryIndex;
+import com.alibaba.webx.restful.process.route.Route;
 
 public interface RestfulRequestContext extends ContainerRequestContext {
 
@@ -18,6 +21,85 @@ public interface RestfulRequestContext extends ContainerRequestContext {
 
     Map<String, String> getPathVariables();
 
+    /**
+     * Get the value of a path variable of the matched route, the value is cut from the request path on demand.
+     *
+     * @param name the path variable name.
+     * @return the value, {@code null} if the route has no such variable.
+     */
+    String getPathVariable(String name);
+
+    /**
+     * Get the value of a path variable by its index in {@link Route#getPathVariableNames()}, the value is cut from
+     * the request path on demand.
+     *
+     * @param index the path variable index.
+     * @return the value, {@code null} if the variable did not take part in the match.
+     */
+    String getPathVariable(int index);
+
+    /**
+     * Get the path matched by the router, the path variable offsets refer to it. It is the request path, or the path
+     * remaining after the path matched by a sub-resource locator.
+     */
+    String getMatchingPath();
+
+    void setMatchingPath(String matchingPath);
+
+    /**
+     * Get the start and end offsets in the matching path of the path variable values, in the order of
+     * {@link Route#getPathVariableNames()}. The array is written by the router while matching.
+     *
+     * @return path variable offsets, {@code null} if not matched.
+     */
+    int[] getPathVariableOffsets();
+
+    void setPathVariableOffsets(int[] pathVariableOffsets);
+
+    /**
+     * Get the first value of a request parameter. For a GET or HEAD request with the query index enabled the value is
+     * read from the {@link #getQueryIndex() query index}, without the servlet parameter map, otherwise from
+     * {@link HttpServletRequest#getParameter(String)}.
+     *
+     * @param name the parameter name.
+     * @return the value, {@code null} if the request has no such parameter.
+     */
+    String getParameter(String name);
+
+    /**
+     * Get all the values of a request parameter, read as {@link #getParameter(String)} does.
+     *
+     * @param name the parameter name.
+     * @return the values, {@code null} if the request has no such parameter.
+     */
+    String[] getParameterValues(String name);
+
+    /**
+     * Get the index of the query string of the request, built on first access.
+     */
+    QueryIndex getQueryIndex();
+
+    boolean isQueryIndexEnabled();
+
+    void setQueryIndexEnabled(boolean queryIndexEnabled);
+
+    /**
+     * Get the first value of a request header, the name is not case sensitive.
+     *
+     * @param name the header name.
+     * @return the value, {@code null} if the request has no such header.
+     */
+    String getHeader(String name);
+
+    /**
+     * Get the index of the cookies of the request, built on first access and shared with {@link #getCookies()}.
+     */
+    CookieIndex getCookieIndex();
+
+    Route getRoute();
+
+    void setRoute(Route route);
+
     Resource getResource();
 
     void setResource(Resource resource);
@@ -26,10 +108,54 @@ public interface RestfulRequestContext extends ContainerRequestContext {
 
     void setResourceMethod(ResourceMethod resourceMethod);
 
+    /**
+     * Get the HTTP status of the route match, 405, 406 or 415 when a route matched the path but none of its resource
+     * methods can handle the request.
+     */
+    int getMatchStatus();
+
+    void setMatchStatus(int matchStatus);
+
+    /**
+     * Get the value of the {@code Allow} header, the union of the HTTP methods of every route which matched the path
+     * but none of its resource methods can handle the request.
+     *
+     * @return allowed HTTP methods, {@code null} if no such route matched.
+     */
+    String getAllow();
+
+    void setAllow(String allow);
+
+    /**
+     * Get the media type of the response negotiated from the {@code Accept} header and the produced media types of the
+     * resource method.
+     *
+     * @return the negotiated media type, {@code null} if the resource method does not declare produced media types.
+     */
+    MediaType getResponseMediaType();
+
+    void setResponseMediaType(MediaType responseMediaType);
+
+    /**
+     * Get the media type implied by the extension of the request path, it takes precedence over the {@code Accept}
+     * header.
+     *
+     * @return the media type, {@code null} if the request path has no mapped extension.
+     */
+    MediaType getExtensionMediaType();
+
+    void setExtensionMediaType(MediaType extensionMediaType);
+
+    /**
+     * Get the match result of the resource path pattern, created on demand when the router matched by offsets.
+     */
     MatchResult getResourceMatchResult();
 
     void setResourceMatchResult(MatchResult resourceMatchResult);
 
+    /**
+     * Get the match result of the method path pattern, created on demand when the router matched by offsets.
+     */
     MatchResult getResourceMethodMatchResult();
 
     void setResourceMethodMatchResult(MatchResult resourceMethodMatchResult);
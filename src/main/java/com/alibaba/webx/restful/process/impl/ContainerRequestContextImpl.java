@@ -23,17 +23,23 @@ import javax.ws.rs.core.UriInfo;
 
 import com.alibaba.webx.restful.model.Resource;
 import com.alibaba.webx.restful.model.ResourceMethod;
-import com.alibaba.webx.restful.model.uri.PathPattern;
-import com.alibaba.webx.restful.model.uri.UriTemplate;
+import com.alibaba.webx.restful.model.uri.QueryIndex;
+import com.alibaba.webx.restful.process.CookieIndex;
 import com.alibaba.webx.restful.process.RestfulRequestContext;
+import com.alibaba.webx.restful.process.route.Route;
 
 public class ContainerRequestContextImpl implements RestfulRequestContext {
 
     private final HttpServletRequest  httpRequest;
     private final HttpServletResponse httpResponse;
 
+    private Route                     route;
     private Resource                  resource;
     private ResourceMethod            resourceMethod;
+    private int                       matchStatus;
+    private String                    allow;
+    private MediaType                 responseMediaType;
+    private MediaType                 extensionMediaType;
 
     private MatchResult               resourceMatchResult;
     private MatchResult               resourceMethodMatchResult;
@@ -55,12 +61,21 @@ public class ContainerRequestContextImpl implements RestfulRequestContext {
     private Map<String, Object>       properties      = null;
 
     private Map<String, String>       pathVariables;
+    private int[]                     pathVariableOffsets;
+    private String                    matchingPath;
+
+    private QueryIndex                queryIndex;
+    private boolean                   queryIndexEnabled;
 
     public ContainerRequestContextImpl(HttpServletRequest request, HttpServletResponse response, UriInfo uriInfo){
         this.httpRequest = request;
         this.httpResponse = response;
         this.date = new Date();
         this.uriInfo = uriInfo;
+
+        if (uriInfo instanceof UriInfoImpl) {
+            this.extensionMediaType = ((UriInfoImpl) uriInfo).getExtensionMediaType();
+        }
     }
 
     public HttpHeaders getHttpHeaders() {
@@ -86,6 +101,14 @@ public class ContainerRequestContextImpl implements RestfulRequestContext {
         this.exception = exception;
     }
 
+    public Route getRoute() {
+        return route;
+    }
+
+    public void setRoute(Route route) {
+        this.route = route;
+    }
+
     public Resource getResource() {
         return resource;
     }
@@ -102,6 +125,38 @@ public class ContainerRequestContextImpl implements RestfulRequestContext {
         this.resourceMethod = resourceMethod;
     }
 
+    public int getMatchStatus() {
+        return matchStatus;
+    }
+
+    public void setMatchStatus(int matchStatus) {
+        this.matchStatus = matchStatus;
+    }
+
+    public String getAllow() {
+        return allow;
+    }
+
+    public void setAllow(String allow) {
+        this.allow = allow;
+    }
+
+    public MediaType getResponseMediaType() {
+        return responseMediaType;
+    }
+
+    public void setResponseMediaType(MediaType responseMediaType) {
+        this.responseMediaType = responseMediaType;
+    }
+
+    public MediaType getExtensionMediaType() {
+        return extensionMediaType;
+    }
+
+    public void setExtensionMediaType(MediaType extensionMediaType) {
+        this.extensionMediaType = extensionMediaType;
+    }
+
     public HttpServletRequest getHttpRequest() {
         return httpRequest;
     }
@@ -111,6 +166,9 @@ public class ContainerRequestContextImpl implements RestfulRequestContext {
     }
 
     public MatchResult getResourceMatchResult() {
+        if (resourceMatchResult == null && resource != null) {
+            resourceMatchResult = resource.getPathPattern().match(getMatchingPath());
+        }
         return resourceMatchResult;
     }
 
@@ -119,9 +177,37 @@ public class ContainerRequestContextImpl implements RestfulRequestContext {
     }
 
     public MatchResult getResourceMethodMatchResult() {
+        if (resourceMethodMatchResult == null && route != null) {
+            MatchResult resourceMatchResult = getResourceMatchResult();
+            if (resourceMatchResult != null) {
+                String methodPath = resourceMatchResult.group(resourceMatchResult.groupCount());
+                resourceMethodMatchResult = route.getMethodPathPattern().match(methodPath == null ? "" : methodPath);
+            }
+        }
         return resourceMethodMatchResult;
     }
 
+    public String getMatchingPath() {
+        return matchingPath == null ? uriInfo.getPath() : matchingPath;
+    }
+
+    public void setMatchingPath(String matchingPath) {
+        this.matchingPath = matchingPath;
+
+        // derived from the previous matching path
+        this.pathVariables = null;
+        this.resourceMatchResult = null;
+        this.resourceMethodMatchResult = null;
+    }
+
+    public int[] getPathVariableOffsets() {
+        return pathVariableOffsets;
+    }
+
+    public void setPathVariableOffsets(int[] pathVariableOffsets) {
+        this.pathVariableOffsets = pathVariableOffsets;
+    }
+
     public void setResourceMethodMatchResult(MatchResult resourceMethodMatchResult) {
         this.resourceMethodMatchResult = resourceMethodMatchResult;
     }
@@ -244,40 +330,99 @@ public class ContainerRequestContextImpl implements RestfulRequestContext {
         return request;
     }
 
-    public Map<String, String> getPathVariables() {
-        if (pathVariables == null) {
-            pathVariables = new HashMap<String, String>();
+    public String getParameter(String name) {
+        if (queryIndexEnabled) {
+            String method = getMethod();
+            if ("GET".equals(method) || "HEAD".equals(method)) {
+                return getQueryIndex().getFirst(name);
+            }
+        }
 
-            {
-                PathPattern pathPattern = this.resource.getPathPattern();
+        return httpRequest.getParameter(name);
+    }
+
+    public String[] getParameterValues(String name) {
+        if (queryIndexEnabled) {
+            String method = getMethod();
+            if ("GET".equals(method) || "HEAD".equals(method)) {
+                return getQueryIndex().getValues(name);
+            }
+        }
 
-                UriTemplate template = pathPattern.getTemplate();
+        return httpRequest.getParameterValues(name);
+    }
 
-                List<String> templateVariables = template.getTemplateVariables();
-                for (int i = 0; i < templateVariables.size(); ++i) {
-                    String name = templateVariables.get(0);
-                    String value = this.resourceMatchResult.group(i + 1);
-                    pathVariables.put(name, value);
-                }
+    public QueryIndex getQueryIndex() {
+        if (queryIndex == null) {
+            if (uriInfo instanceof UriInfoImpl) {
+                queryIndex = ((UriInfoImpl) uriInfo).getQueryIndex();
+            } else {
+                String query = httpRequest.getQueryString();
+                queryIndex = query == null || query.length() == 0 ? QueryIndex.EMPTY : new QueryIndex(query);
             }
+        }
+        return queryIndex;
+    }
 
-            {
-                PathPattern pathPattern = this.resourceMethod.getPathPattern();
+    public String getHeader(String name) {
+        return ((HttpHeadersImpl) getHttpHeaders()).getHeader(name);
+    }
+
+    public CookieIndex getCookieIndex() {
+        return ((HttpHeadersImpl) getHttpHeaders()).getCookieIndex();
+    }
+
+    public boolean isQueryIndexEnabled() {
+        return queryIndexEnabled;
+    }
 
-                UriTemplate template = pathPattern.getTemplate();
+    public void setQueryIndexEnabled(boolean queryIndexEnabled) {
+        this.queryIndexEnabled = queryIndexEnabled;
+    }
+
+    public Map<String, String> getPathVariables() {
+        if (pathVariables == null) {
+            pathVariables = new HashMap<String, String>();
 
-                List<String> templateVariables = template.getTemplateVariables();
-                for (int i = 0; i < templateVariables.size(); ++i) {
-                    String name = templateVariables.get(0);
-                    String value = this.resourceMethodMatchResult.group(i + 1);
-                    pathVariables.put(name, value);
+            if (route != null) {
+                String[] names = route.getPathVariableNames();
+                for (int i = 0; i < names.length; ++i) {
+                    pathVariables.put(names[i], getPathVariable(i));
                 }
             }
-
         }
         return pathVariables;
     }
 
+    public String getPathVariable(String name) {
+        if (route == null) {
+            return null;
+        }
+
+        // the method path variables follow the resource path variables and take precedence
+        String[] names = route.getPathVariableNames();
+        for (int i = names.length - 1; i >= 0; --i) {
+            if (names[i].equals(name)) {
+                return getPathVariable(i);
+            }
+        }
+
+        return null;
+    }
+
+    public String getPathVariable(int index) {
+        if (pathVariableOffsets == null) {
+            return null;
+        }
+
+        int start = pathVariableOffsets[2 * index];
+        if (start == -1) {
+            return null;
+        }
+
+        return getMatchingPath().substring(start, pathVariableOffsets[2 * index + 1]);
+    }
+
     @Override
     public Object getProperty(String name) {
         if (properties == null) {
@@ -1,9 +1,9 @@
 package com.alibaba.webx.restful.process.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -12,8 +12,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.Cookie;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.MultivaluedHashMap;
-import javax.ws.rs.core.MultivaluedMap;
+
+import com.alibaba.webx.restful.process.CookieIndex;
 
 public class HttpHeadersImpl implements HttpHeaders {
 
@@ -24,6 +24,8 @@ public class HttpHeadersImpl implements HttpHeaders {
     private MediaType                mediaType            = null;
     private Locale                   language             = null;
     private Map<String, Cookie>      cookies              = null;
+    private CookieIndex              cookieIndex          = null;
+    private RequestHeaders           requestHeaders       = null;
     private Date                     date;
 
     public HttpHeadersImpl(HttpServletRequest httpRequest){
@@ -36,35 +38,33 @@ public class HttpHeadersImpl implements HttpHeaders {
 
     @Override
     public List<String> getRequestHeader(String name) {
-        List<String> headers = new ArrayList<String>(1);
-
-        Enumeration<?> e = httpRequest.getHeaders(name);
-
-        while (e.hasMoreElements()) {
-            String value = (String) e.nextElement();
-            headers.add(value);
+        List<String> values = getRequestHeaders().get(name);
+        if (values == null) {
+            return Collections.emptyList();
         }
-
-        return headers;
+        return values;
     }
 
+    /**
+     * Get the headers of the request, copied from the servlet request on first access and looked up ignoring case.
+     */
     @Override
-    public MultivaluedMap<String, String> getRequestHeaders() {
-        MultivaluedHashMap<String, String> map = new MultivaluedHashMap<String, String>();
-
-        Enumeration<?> nameEnum = httpRequest.getHeaderNames();
-        while (nameEnum.hasMoreElements()) {
-            String name = (String) nameEnum.nextElement();
-
-            Enumeration<?> e = httpRequest.getHeaders(name);
-
-            while (e.hasMoreElements()) {
-                String value = (String) e.nextElement();
-                map.add(name, value);
-            }
+    public RequestHeaders getRequestHeaders() {
+        if (requestHeaders == null) {
+            requestHeaders = new RequestHeaders(httpRequest);
         }
+        return requestHeaders;
+    }
 
-        return map;
+    /**
+     * Get the first value of a header, from the request headers when already copied, otherwise from the servlet
+     * request, so reading a single header does not copy all of them.
+     */
+    public String getHeader(String name) {
+        if (requestHeaders != null) {
+            return requestHeaders.getFirst(name);
+        }
+        return httpRequest.getHeader(name);
     }
 
     @Override
@@ -90,17 +90,43 @@ public class HttpHeadersImpl implements HttpHeaders {
     @Override
     public Map<String, Cookie> getCookies() {
         if (cookies == null) {
-            Map<String, Cookie> map = new HashMap<String, Cookie>();
-            for (javax.servlet.http.Cookie item : httpRequest.getCookies()) {
-                Cookie cookie = new Cookie(item.getName(), item.getValue(), item.getPath(), item.getDomain(),
-                                           item.getVersion());
-                map.put(item.getName(), cookie);
-            }
-            cookies = map;
+            cookies = getCookieIndex().toCookieMap();
         }
         return cookies;
     }
 
+    /**
+     * Get the index of the cookies of the request, parsed from the {@code Cookie} headers on first access. A request
+     * without the header, as a mock request, is indexed from {@link HttpServletRequest#getCookies()}.
+     */
+    public CookieIndex getCookieIndex() {
+        if (cookieIndex == null) {
+            cookieIndex = createCookieIndex();
+        }
+        return cookieIndex;
+    }
+
+    private CookieIndex createCookieIndex() {
+        Enumeration<?> e = httpRequest.getHeaders("Cookie");
+        if (e != null && e.hasMoreElements()) {
+            String header = (String) e.nextElement();
+            if (e.hasMoreElements()) {
+                StringBuilder buf = new StringBuilder(header);
+                do {
+                    buf.append("; ").append((String) e.nextElement());
+                } while (e.hasMoreElements());
+                header = buf.toString();
+            }
+            return new CookieIndex(header);
+        }
+
+        javax.servlet.http.Cookie[] servletCookies = httpRequest.getCookies();
+        if (servletCookies == null || servletCookies.length == 0) {
+            return CookieIndex.EMPTY;
+        }
+        return new CookieIndex(servletCookies);
+    }
+
     @Override
     public Date getDate() {
         return date;
@@ -113,8 +139,7 @@ public class HttpHeadersImpl implements HttpHeaders {
 
     @Override
     public String getHeaderString(String name) {
-        // TODO Auto-generated method stub
-        return null;
+        return getRequestHeaders().getHeaderString(name);
     }
 
 }
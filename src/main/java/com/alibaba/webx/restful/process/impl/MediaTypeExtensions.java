@@ -0,0 +1,103 @@
+package com.alibaba.webx.restful.process.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import com.alibaba.webx.restful.util.ResourceUtils;
+
+/**
+ * Maps request path extensions such as {@code .json} or {@code .txt} to the media type of the response. The extension
+ * is found by scanning the request path backwards and compared in place, so no string is created while extracting the
+ * path.
+ */
+public final class MediaTypeExtensions {
+
+    /**
+     * The default mapping, {@code json=application/json}.
+     */
+    public static final MediaTypeExtensions DEFAULT = new MediaTypeExtensions("json=" + MediaType.APPLICATION_JSON);
+
+    private final String[]                  extensions;
+    private final MediaType[]               mediaTypes;
+
+    /**
+     * @param mapping {@code extension=media/type} pairs separated by {@link com.alibaba.webx.restful.Constants#COMMON_DELIMITERS}.
+     */
+    public MediaTypeExtensions(String mapping){
+        List<String> extensions = new ArrayList<String>();
+        List<MediaType> mediaTypes = new ArrayList<MediaType>();
+
+        String[] items = ResourceUtils.parsePropertyValue(mapping);
+        if (items != null) {
+            for (String item : items) {
+                item = item.trim();
+                if (item.length() == 0) {
+                    continue;
+                }
+
+                int eq = item.indexOf('=');
+                if (eq <= 0 || eq == item.length() - 1) {
+                    throw new IllegalArgumentException("illegal media type extension : " + item);
+                }
+
+                String extension = item.substring(0, eq).trim();
+                if (extension.charAt(0) == '.') {
+                    extension = extension.substring(1);
+                }
+                extensions.add(extension);
+                mediaTypes.add(MediaType.valueOf(item.substring(eq + 1).trim()));
+            }
+        }
+
+        this.extensions = extensions.toArray(new String[extensions.size()]);
+        this.mediaTypes = mediaTypes.toArray(new MediaType[mediaTypes.size()]);
+    }
+
+    /**
+     * Find the extension of the last segment of a path region.
+     *
+     * @return the index of the extension, -1 if the last segment has no mapped extension.
+     */
+    public int indexOf(String path, int start, int end) {
+        if (extensions.length == 0) {
+            return -1;
+        }
+
+        int dot = end - 1;
+        while (dot >= start) {
+            char ch = path.charAt(dot);
+            if (ch == '.') {
+                break;
+            }
+            if (ch == '/') {
+                return -1;
+            }
+            dot--;
+        }
+        if (dot < start) {
+            return -1;
+        }
+
+        int length = end - dot - 1;
+        for (int i = 0; i < extensions.length; ++i) {
+            String extension = extensions[i];
+            if (extension.length() == length && path.regionMatches(true, dot + 1, extension, 0, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the length of a mapped extension including the leading dot.
+     */
+    public int getSuffixLength(int index) {
+        return extensions[index].length() + 1;
+    }
+
+    public MediaType getMediaType(int index) {
+        return mediaTypes[index];
+    }
+}
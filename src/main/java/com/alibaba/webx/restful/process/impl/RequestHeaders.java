@@ -0,0 +1,226 @@
+package com.alibaba.webx.restful.process.impl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Read only view of the headers of a request, copied once from the servlet request. The names are looked up ignoring
+ * case in an open addressing table, the entries are iterated in the order of the servlet request. The value lists are
+ * not modifiable either.
+ * <p>
+ * A view belongs to one request and is not thread safe.
+ */
+public final class RequestHeaders extends AbstractMap<String, List<String>> implements MultivaluedMap<String, String> {
+
+    private final String[]                       names;
+    private final List<String>[]                 values;
+    private int                                  size;
+
+    /**
+     * The index plus one of the header of each slot, 0 for an empty slot. The length is a power of two, at least
+     * twice the header count.
+     */
+    private final int[]                          slots;
+
+    private Set<Map.Entry<String, List<String>>> entrySet;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public RequestHeaders(HttpServletRequest httpRequest){
+        List<String> headerNames = new ArrayList<String>();
+        Enumeration<?> nameEnum = httpRequest.getHeaderNames();
+        while (nameEnum != null && nameEnum.hasMoreElements()) {
+            headerNames.add((String) nameEnum.nextElement());
+        }
+
+        int capacity = 8;
+        while (capacity < headerNames.size() * 2) {
+            capacity <<= 1;
+        }
+
+        this.names = new String[headerNames.size()];
+        this.values = new List[headerNames.size()];
+        this.slots = new int[capacity];
+
+        for (String name : headerNames) {
+            List<String> list = getList(name);
+            if (list == null) {
+                list = new ArrayList<String>(1);
+                insert(name, list);
+            }
+
+            Enumeration<?> e = httpRequest.getHeaders(name);
+            while (e != null && e.hasMoreElements()) {
+                list.add((String) e.nextElement());
+            }
+        }
+
+        for (int i = 0; i < size; ++i) {
+            values[i] = Collections.unmodifiableList(values[i]);
+        }
+    }
+
+    private void insert(String name, List<String> list) {
+        int mask = slots.length - 1;
+        int slot = hash(name) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        names[size] = name;
+        values[size] = list;
+        slots[slot] = ++size;
+    }
+
+    /**
+     * @return the index of the header, -1 if none.
+     */
+    private int indexOf(String name) {
+        int mask = slots.length - 1;
+        for (int slot = hash(name) & mask;; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            if (index == -1) {
+                return -1;
+            }
+            if (names[index].equalsIgnoreCase(name)) {
+                return index;
+            }
+        }
+    }
+
+    private List<String> getList(String name) {
+        int index = indexOf(name);
+        return index == -1 ? null : values[index];
+    }
+
+    /**
+     * The hash of the name in lower case, the header names are ASCII tokens.
+     */
+    private static int hash(String name) {
+        int h = 0;
+        for (int i = 0, length = name.length(); i < length; ++i) {
+            char ch = name.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                ch += 'a' - 'A';
+            }
+            h = 31 * h + ch;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && indexOf((String) key) != -1;
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        return key instanceof String ? getList((String) key) : null;
+    }
+
+    public String getFirst(String key) {
+        List<String> list = getList(key);
+        return list == null || list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * Get the values of a header joined by commas, as {@link javax.ws.rs.core.HttpHeaders#getHeaderString(String)}.
+     *
+     * @return the value, {@code null} if the request has no such header.
+     */
+    public String getHeaderString(String name) {
+        List<String> list = getList(name);
+        if (list == null) {
+            return null;
+        }
+        if (list.size() == 1) {
+            return list.get(0);
+        }
+
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < list.size(); ++i) {
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append(list.get(i));
+        }
+        return buf.toString();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    public void putSingle(String key, String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void add(String key, String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void addAll(String key, String... newValues) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void addAll(String key, List<String> valueList) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void addFirst(String key, String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, List<String>>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, List<String>>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, List<String>>> {
+
+        private int index;
+
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        public Map.Entry<String, List<String>> next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            int i = index++;
+            return new SimpleImmutableEntry<String, List<String>>(names[i], values[i]);
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
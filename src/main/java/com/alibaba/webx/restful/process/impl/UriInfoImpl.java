@@ -5,39 +5,79 @@ import java.net.URISyntaxException;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
+import com.alibaba.webx.restful.model.uri.QueryIndex;
+
 public class UriInfoImpl implements UriInfo {
 
     private final String             path;
+    private final MediaType          extensionMediaType;
     private final HttpServletRequest httpRequest;
     private transient URI            requestURI = null;
+    private QueryIndex               queryIndex;
 
     public UriInfoImpl(HttpServletRequest httpRequest){
-        this(httpRequest, getPath(httpRequest));
+        this(httpRequest, MediaTypeExtensions.DEFAULT);
     }
 
-    public UriInfoImpl(HttpServletRequest httpRequest, String path){
-        if (path.endsWith(".json")) {
-            this.path = path.substring(0, path.length() - 5);
+    /**
+     * Extract the path from the request URI, without the context and servlet paths and without a mapped extension.
+     */
+    public UriInfoImpl(HttpServletRequest httpRequest, MediaTypeExtensions extensions){
+        String requestURI = httpRequest.getRequestURI();
+
+        int start = getPathStart(httpRequest);
+        int end = requestURI.length();
+
+        int index = extensions.indexOf(requestURI, start, end);
+        if (index != -1) {
+            end -= extensions.getSuffixLength(index);
+            this.extensionMediaType = extensions.getMediaType(index);
         } else {
-            this.path = path;
+            this.extensionMediaType = null;
         }
+
+        this.path = requestURI.substring(start, end);
         this.httpRequest = httpRequest;
     }
 
-    static String getPath(HttpServletRequest httpRequest) {
+    /**
+     * Get the start of the path in the request URI, after the context and servlet paths.
+     */
+    public static int getPathStart(HttpServletRequest httpRequest) {
         String servletPath = httpRequest.getServletPath();
-        if (servletPath.length() == 0) {
-            servletPath = "/";
+        int servletPathLength = servletPath.length() == 0 ? 1 : servletPath.length();
+        return servletPathLength + httpRequest.getContextPath().length();
+    }
+
+    public UriInfoImpl(HttpServletRequest httpRequest, String path){
+        this(httpRequest, path, MediaTypeExtensions.DEFAULT);
+    }
+
+    public UriInfoImpl(HttpServletRequest httpRequest, String path, MediaTypeExtensions extensions){
+        int index = extensions.indexOf(path, 0, path.length());
+        if (index != -1) {
+            this.path = path.substring(0, path.length() - extensions.getSuffixLength(index));
+            this.extensionMediaType = extensions.getMediaType(index);
+        } else {
+            this.path = path;
+            this.extensionMediaType = null;
         }
-        String contextPath = httpRequest.getContextPath();
-        String requestURI = httpRequest.getRequestURI();
+        this.httpRequest = httpRequest;
+    }
 
-        return requestURI.substring(servletPath.length() + contextPath.length());
+    /**
+     * Get the media type implied by the extension of the request path.
+     *
+     * @return the media type, {@code null} if the path has no mapped extension.
+     */
+    public MediaType getExtensionMediaType() {
+        return extensionMediaType;
     }
 
     @Override
@@ -113,16 +153,25 @@ public class UriInfoImpl implements UriInfo {
         return null;
     }
 
+    /**
+     * Get the index of the query string of the request, built on first access.
+     */
+    public QueryIndex getQueryIndex() {
+        if (queryIndex == null) {
+            String query = httpRequest.getQueryString();
+            queryIndex = query == null || query.length() == 0 ? QueryIndex.EMPTY : new QueryIndex(query);
+        }
+        return queryIndex;
+    }
+
     @Override
     public MultivaluedMap<String, String> getQueryParameters() {
-        // TODO Auto-generated method stub
-        return null;
+        return getQueryParameters(true);
     }
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters(boolean decode) {
-        // TODO Auto-generated method stub
-        return null;
+        return getQueryIndex().toMultivaluedMap(decode);
     }
 
     @Override
@@ -0,0 +1,206 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceComparator;
+import com.alibaba.webx.restful.model.ResourceMethod;
+import com.alibaba.webx.restful.model.uri.PathPattern;
+import com.alibaba.webx.restful.model.uri.PathPatternComparator;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+public abstract class AbstractRouter implements Router {
+
+    private final static Log              LOG                      = LogFactory.getLog(AbstractRouter.class);
+
+    public static final Comparator<Route> ROUTE_COMPARATOR         = new RouteComparator();
+
+    /**
+     * The default number of characters read while matching a path pattern prone to catastrophic backtracking.
+     */
+    public static final int               DEFAULT_MATCH_STEP_LIMIT = 100000;
+
+    private final List<Route>             routes                   = new ArrayList<Route>();
+
+    private int                           maxOffsetCount;
+
+    private final int                     matchStepLimit;
+
+    protected AbstractRouter(){
+        this(DEFAULT_MATCH_STEP_LIMIT);
+    }
+
+    /**
+     * @param matchStepLimit the number of characters read while matching a path pattern prone to catastrophic
+     * backtracking, before the request is rejected with {@code 400}. Not positive to match such patterns without
+     * limit.
+     */
+    protected AbstractRouter(int matchStepLimit){
+        this.matchStepLimit = matchStepLimit;
+    }
+
+    public List<Route> getRoutes() {
+        return Collections.unmodifiableList(routes);
+    }
+
+    protected void addRoute(Route route) {
+        routes.add(route);
+        maxOffsetCount = Math.max(maxOffsetCount, route.getOffsetCount());
+
+        if (route.isBacktrackingRisk()) {
+            if (matchStepLimit > 0) {
+                LOG.warn("path pattern with nested quantifiers, matched with a step limit of " + matchStepLimit
+                         + " : " + route);
+            } else {
+                LOG.warn("path pattern with nested quantifiers, matched without step limit : " + route);
+            }
+        }
+    }
+
+    public int getMatchStepLimit() {
+        return matchStepLimit;
+    }
+
+    /**
+     * Group the resource methods of a resource by their method level path pattern.
+     */
+    public static List<Route> createRoutes(Resource resource) {
+        List<Route> routes = new ArrayList<Route>();
+
+        if (!resource.getResourceMethods().isEmpty()) {
+            routes.add(new Route(resource, PathPattern.END_OF_PATH_PATTERN, resource.getResourceMethods()));
+        }
+
+        Map<PathPattern, List<ResourceMethod>> subResourceMethods = new LinkedHashMap<PathPattern, List<ResourceMethod>>();
+        for (ResourceMethod resourceMethod : resource.getSubResourceMethods()) {
+            List<ResourceMethod> methods = subResourceMethods.get(resourceMethod.getPathPattern());
+            if (methods == null) {
+                methods = new ArrayList<ResourceMethod>(2);
+                subResourceMethods.put(resourceMethod.getPathPattern(), methods);
+            }
+            methods.add(resourceMethod);
+        }
+
+        for (Map.Entry<PathPattern, List<ResourceMethod>> entry : subResourceMethods.entrySet()) {
+            routes.add(new Route(resource, entry.getKey(), entry.getValue()));
+        }
+
+        for (ResourceMethod locator : resource.getSubResourceLocators()) {
+            routes.add(new Route(resource, locator.getPathPattern(), Collections.singletonList(locator)));
+        }
+
+        return routes;
+    }
+
+    /**
+     * Get the largest number of offsets written while matching one of the routes.
+     */
+    protected int getMaxOffsetCount() {
+        return maxOffsetCount;
+    }
+
+    /**
+     * Get the offsets array of the request context, created when missing or too small.
+     *
+     * @param extra the number of array elements needed after the route offsets.
+     */
+    protected int[] getOffsets(RestfulRequestContext requestContext, int extra) {
+        int[] offsets = requestContext.getPathVariableOffsets();
+        if (offsets == null || offsets.length < maxOffsetCount + extra) {
+            offsets = new int[maxOffsetCount + extra];
+            requestContext.setPathVariableOffsets(offsets);
+        }
+        return offsets;
+    }
+
+    protected boolean accept(Route route, String path, int[] offsets, RestfulRequestContext requestContext) {
+        int groupCount = match(route, route.getResource().getPathPattern(), path, 0, path.length(), offsets, 0,
+                               requestContext);
+        if (groupCount == -1) {
+            return false;
+        }
+
+        int rightHandIndex = 2 * (groupCount - 1);
+        return accept(route, path, offsets[rightHandIndex], offsets[rightHandIndex + 1], offsets, requestContext);
+    }
+
+    /**
+     * Match the method level path and the HTTP method of a route whose resource path pattern already matched, the
+     * offsets of the resource path variables are already stored.
+     *
+     * @param rightHandStart the start of the right hand path captured by the resource path pattern, -1 if empty.
+     * @param rightHandEnd the end of the right hand path.
+     */
+    protected boolean accept(Route route, String path, int rightHandStart, int rightHandEnd, int[] offsets,
+                             RestfulRequestContext requestContext) {
+        if (rightHandStart == -1) {
+            rightHandStart = rightHandEnd = path.length();
+        }
+
+        int index = 2 * route.getResourceVariableCount();
+        if (match(route, route.getMethodPathPattern(), path, rightHandStart, rightHandEnd, offsets, index,
+                  requestContext) == -1) {
+            return false;
+        }
+
+        return accept(route, requestContext);
+    }
+
+    /**
+     * Match a region of the path against a pattern of a route, patterns prone to catastrophic backtracking are matched
+     * with the step limit. When the limit is exceeded the route records the abort into the request context and the
+     * {@link StepLimitExceededException} is thrown to stop the router.
+     *
+     * @return the number of capturing groups written, -1 if the region does not match the pattern.
+     * @see PathPattern#match(CharSequence, int, int, int[], int)
+     */
+    protected int match(Route route, PathPattern pattern, String path, int start, int end, int[] offsets, int index,
+                        RestfulRequestContext requestContext) {
+        if (matchStepLimit <= 0 || !pattern.isBacktrackingRisk()) {
+            return pattern.match(path, start, end, offsets, index);
+        }
+
+        try {
+            return pattern.match(new StepLimitedCharSequence(path, matchStepLimit), start, end, offsets, index);
+        } catch (StepLimitExceededException e) {
+            route.abort(requestContext);
+            throw e;
+        }
+    }
+
+    /**
+     * Match the HTTP method and the media types of a route whose path matched, the offsets of all path variables are
+     * already stored.
+     */
+    protected boolean accept(Route route, RestfulRequestContext requestContext) {
+        return route.select(requestContext);
+    }
+
+    private static final class RouteComparator implements Comparator<Route> {
+
+        @Override
+        public int compare(Route a, Route b) {
+            PathPatternComparator comparator = PathPatternComparator.getInstance();
+
+            int i = comparator.compare(a.getResource().getPathPattern(), b.getResource().getPathPattern());
+            if (i != 0) {
+                return i;
+            }
+
+            i = comparator.compare(a.getMethodPathPattern(), b.getMethodPathPattern());
+            if (i != 0) {
+                return i;
+            }
+
+            return ResourceComparator.getInstance().compare(a.getResource(), b.getResource());
+        }
+    }
+}
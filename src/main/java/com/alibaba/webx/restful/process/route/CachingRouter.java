@@ -0,0 +1,238 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceMethod;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+import com.alibaba.webx.restful.process.route.MediaTypeIndex.Range;
+import com.alibaba.webx.restful.util.ConcurrentLruCache;
+
+/**
+ * Router remembering the outcome of the wrapped router for each HTTP method, request path, path extension,
+ * {@code Content-Type} and {@code Accept} header, the media types being part of the key because they select the
+ * resource method. The headers are keyed by the {@link MediaTypeIndex} masks they resolve to, so the headers differing
+ * only by spaces, parameters or qualities not changing the order share an entry.
+ * Unmatched paths are kept in a separate cache of the same size, so that a flood of random paths does not evict the
+ * matched ones. Matches aborted by the step limit are cached with their route, so a crafted path is rejected
+ * again without being matched, each rejection being counted by {@link Route#getAbortCount()}. The router is built for a fixed resource set, a new one is built when the resources
+ * change.
+ */
+public class CachingRouter implements Router {
+
+    private static final Entry                        NOT_FOUND     = new Entry(null, null, null, null, 0, null, null);
+
+    private static final int[]                        EMPTY_OFFSETS = new int[0];
+
+    private final Router                              router;
+
+    private final ConcurrentLruCache<RouteKey, Entry> cache;
+    private final ConcurrentLruCache<RouteKey, Entry> notFoundCache;
+
+    private final AtomicLong                          missCount     = new AtomicLong();
+
+    public CachingRouter(Router router, int maxSize){
+        this.router = router;
+        this.cache = new ConcurrentLruCache<RouteKey, Entry>(maxSize);
+        this.notFoundCache = new ConcurrentLruCache<RouteKey, Entry>(maxSize);
+    }
+
+    public boolean match(RestfulRequestContext requestContext) {
+        HttpServletRequest httpRequest = requestContext.getHttpRequest();
+
+        String contentType = httpRequest.getContentType();
+        long[] contentMask = contentType == null ? null : MediaTypeIndex.getContentTypeMask(contentType);
+
+        // the media type implied by the path extension replaces the Accept header
+        MediaType extensionMediaType = requestContext.getExtensionMediaType();
+        Range[] acceptRanges = null;
+        if (extensionMediaType == null) {
+            String accept = httpRequest.getHeader(HttpHeaders.ACCEPT);
+            acceptRanges = accept == null ? null : MediaTypeIndex.getAcceptRanges(accept);
+        }
+
+        RouteKey key = new RouteKey(requestContext.getMethod(), requestContext.getMatchingPath(), extensionMediaType,
+                                    contentMask, acceptRanges);
+
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            entry = notFoundCache.get(key);
+        }
+
+        if (entry == null) {
+            missCount.incrementAndGet();
+            boolean matched = router.match(requestContext);
+
+            Route route = requestContext.getRoute();
+            if (route == null) {
+                notFoundCache.put(key, NOT_FOUND);
+            } else {
+                cache.put(key, new Entry(route, requestContext.getResource(), requestContext.getResourceMethod(),
+                                         copyOffsets(route, requestContext.getPathVariableOffsets()),
+                                         requestContext.getMatchStatus(), requestContext.getAllow(),
+                                         requestContext.getResponseMediaType()));
+            }
+
+            return matched;
+        }
+
+        if (entry.route == null) {
+            return false;
+        }
+
+        if (entry.resourceMethod == null && entry.matchStatus == HttpServletResponse.SC_BAD_REQUEST) {
+            entry.route.abort(requestContext);
+            return false;
+        }
+
+        requestContext.setRoute(entry.route);
+        requestContext.setResource(entry.resource);
+        requestContext.setPathVariableOffsets(entry.offsets);
+        requestContext.setMatchStatus(entry.matchStatus);
+        requestContext.setAllow(entry.allow);
+        if (entry.resourceMethod == null) {
+            return false;
+        }
+
+        requestContext.setResourceMethod(entry.resourceMethod);
+        requestContext.setResponseMediaType(entry.responseMediaType);
+        return true;
+    }
+
+    public List<Route> getRoutes() {
+        return router.getRoutes();
+    }
+
+    public Router getRouter() {
+        return router;
+    }
+
+    public void clear() {
+        cache.clear();
+        notFoundCache.clear();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount() + notFoundCache.getHitCount();
+    }
+
+    /**
+     * Lookups missing both caches, each one of them is a full match by the wrapped router.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount() + notFoundCache.getEvictionCount();
+    }
+
+    public long getNotFoundHitCount() {
+        return notFoundCache.getHitCount();
+    }
+
+    public int size() {
+        return cache.size() + notFoundCache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "route cache " + cache + ", not found cache " + notFoundCache;
+    }
+
+    /**
+     * Copy the path variable offsets, the cached copy is shared by the requests and never written.
+     */
+    private static int[] copyOffsets(Route route, int[] offsets) {
+        // the offsets of all the groups, the remaining path of a locator route is the last one
+        int length = route.getOffsetCount();
+        if (length == 0) {
+            return EMPTY_OFFSETS;
+        }
+
+        int[] copy = new int[length];
+        System.arraycopy(offsets, 0, copy, 0, length);
+        return copy;
+    }
+
+    private static final class RouteKey {
+
+        private final String    method;
+        private final String    path;
+        private final MediaType extensionMediaType;
+        private final long[]    contentMask;
+        private final Range[]   acceptRanges;
+        private final int       hash;
+
+        RouteKey(String method, String path, MediaType extensionMediaType, long[] contentMask, Range[] acceptRanges){
+            this.method = method;
+            this.path = path;
+            this.extensionMediaType = extensionMediaType;
+            this.contentMask = contentMask;
+            this.acceptRanges = acceptRanges;
+
+            int hash = (method == null ? 0 : method.hashCode()) * 31 + path.hashCode();
+            hash = hash * 31 + (extensionMediaType == null ? 0 : extensionMediaType.hashCode());
+            hash = hash * 31 + Arrays.hashCode(contentMask);
+            hash = hash * 31 + Arrays.hashCode(acceptRanges);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof RouteKey)) {
+                return false;
+            }
+
+            RouteKey other = (RouteKey) obj;
+            if (hash != other.hash || !path.equals(other.path)) {
+                return false;
+            }
+
+            return equals(method, other.method) && equals(extensionMediaType, other.extensionMediaType)
+                   && Arrays.equals(contentMask, other.contentMask) && Arrays.equals(acceptRanges, other.acceptRanges);
+        }
+
+        private static boolean equals(Object a, Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+
+    private static final class Entry {
+
+        final Route          route;
+        final Resource       resource;
+        final ResourceMethod resourceMethod;
+        final int[]          offsets;
+        final int            matchStatus;
+        final String         allow;
+        final MediaType      responseMediaType;
+
+        Entry(Route route, Resource resource, ResourceMethod resourceMethod, int[] offsets, int matchStatus,
+              String allow, MediaType responseMediaType){
+            this.route = route;
+            this.resource = resource;
+            this.resourceMethod = resourceMethod;
+            this.offsets = offsets;
+            this.matchStatus = matchStatus;
+            this.allow = allow;
+            this.responseMediaType = responseMediaType;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.alibaba.webx.restful.process.route;
+
+/**
+ * The HTTP methods known to the router, the ordinal is used as index into the per route dispatch tables.
+ */
+public enum HttpMethodType {
+    GET, POST, PUT, DELETE, HEAD, OPTIONS, PATCH, TRACE;
+
+    /**
+     * Resolve an upper case HTTP method name without looping over the constants.
+     *
+     * @param method the HTTP method name.
+     * @return the method type, {@code null} for extension methods.
+     */
+    public static HttpMethodType fromString(String method) {
+        if (method == null) {
+            return null;
+        }
+
+        switch (method.length()) {
+            case 3:
+                if ("GET".equals(method)) {
+                    return GET;
+                }
+                if ("PUT".equals(method)) {
+                    return PUT;
+                }
+                break;
+            case 4:
+                if ("POST".equals(method)) {
+                    return POST;
+                }
+                if ("HEAD".equals(method)) {
+                    return HEAD;
+                }
+                break;
+            case 5:
+                if ("PATCH".equals(method)) {
+                    return PATCH;
+                }
+                if ("TRACE".equals(method)) {
+                    return TRACE;
+                }
+                break;
+            case 6:
+                if ("DELETE".equals(method)) {
+                    return DELETE;
+                }
+                break;
+            case 7:
+                if ("OPTIONS".equals(method)) {
+                    return OPTIONS;
+                }
+                break;
+            default:
+                break;
+        }
+
+        return null;
+    }
+}
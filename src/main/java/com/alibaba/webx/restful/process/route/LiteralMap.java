@@ -0,0 +1,62 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.Map;
+
+/**
+ * Open addressing hash table looking up literal path segments by their position in the request path, the hash is the
+ * one of {@link String#hashCode()} computed over the region so no substring is created.
+ */
+final class LiteralMap<V> {
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int      mask;
+
+    LiteralMap(Map<String, V> map){
+        int capacity = 1;
+        while (capacity < map.size() * 2) {
+            capacity <<= 1;
+        }
+
+        keys = new String[map.isEmpty() ? 0 : capacity];
+        values = new Object[keys.length];
+        mask = capacity - 1;
+
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            int i = spread(entry.getKey().hashCode()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(String path, int start, int end) {
+        if (keys.length == 0) {
+            return null;
+        }
+
+        int h = 0;
+        for (int i = start; i < end; ++i) {
+            h = 31 * h + path.charAt(i);
+        }
+
+        int length = end - start;
+        for (int i = spread(h) & mask;; i = (i + 1) & mask) {
+            String key = keys[i];
+            if (key == null) {
+                return null;
+            }
+            if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                return (V) values[i];
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        h ^= (h >>> 20) ^ (h >>> 12);
+        return h ^ (h >>> 7) ^ (h >>> 4);
+    }
+}
@@ -0,0 +1,331 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ws.rs.core.MediaType;
+
+import com.alibaba.webx.restful.util.ConcurrentLruCache;
+
+/**
+ * Interns the media types declared by {@code @Consumes} and {@code @Produces} to small integer ids, so that the
+ * media types of a resource method are stored as bitsets and matched against the {@code Content-Type} and
+ * {@code Accept} headers with a few bit operations. Only declared media types are interned, the media types of
+ * requests are looked up and never added.
+ * <p>
+ * Interning a concrete media type also interns its type wildcard and {@code *}{@code /*}, the wildcard always has the
+ * id {@link #WILDCARD_ID}.
+ */
+public final class MediaTypeIndex {
+
+    public static final int                                  WILDCARD_ID       = 0;
+
+    private static final int                                 HEADER_CACHE_SIZE = 256;
+
+    private static final Map<String, Integer>                ids               = new ConcurrentHashMap<String, Integer>();
+
+    /**
+     * The ids of all interned media types of a type, including the type wildcard, keyed by lower case type.
+     */
+    private static final Map<String, long[]>                 typeMasks         = new ConcurrentHashMap<String, long[]>();
+
+    private static volatile MediaType[]                      mediaTypes        = new MediaType[0];
+
+    private static final ConcurrentLruCache<String, Range[]> acceptCache       = new ConcurrentLruCache<String, Range[]>(HEADER_CACHE_SIZE);
+
+    private static final ConcurrentLruCache<String, long[]>  contentTypeCache  = new ConcurrentLruCache<String, long[]>(HEADER_CACHE_SIZE);
+
+    private static final Map<MediaType, Range[]>             mediaTypeRanges   = new ConcurrentHashMap<MediaType, Range[]>();
+
+    private static final Comparator<Range>                   RANGE_COMPARATOR  = new RangeComparator();
+
+    static {
+        intern(MediaType.WILDCARD_TYPE);
+    }
+
+    private MediaTypeIndex(){
+    }
+
+    /**
+     * Intern a declared media type, the parameters are ignored.
+     *
+     * @return the id of the media type.
+     */
+    public static synchronized int intern(MediaType mediaType) {
+        String type = mediaType.getType().toLowerCase();
+        String subtype = mediaType.getSubtype().toLowerCase();
+
+        Integer id = ids.get(type + '/' + subtype);
+        if (id != null) {
+            return id;
+        }
+
+        if (!MediaType.MEDIA_TYPE_WILDCARD.equals(subtype)) {
+            intern(new MediaType(type, MediaType.MEDIA_TYPE_WILDCARD));
+        }
+
+        int newId = mediaTypes.length;
+        MediaType[] newMediaTypes = Arrays.copyOf(mediaTypes, newId + 1);
+        newMediaTypes[newId] = mediaType;
+
+        long[] typeMask = typeMasks.get(type);
+        typeMasks.put(type, set(typeMask, newId));
+        ids.put(type + '/' + subtype, newId);
+        mediaTypes = newMediaTypes;
+
+        // the parsed headers refer to the masks, the ones being parsed are not cached as the media types changed
+        acceptCache.clear();
+        contentTypeCache.clear();
+        mediaTypeRanges.clear();
+
+        return newId;
+    }
+
+    public static MediaType getMediaType(int id) {
+        return mediaTypes[id];
+    }
+
+    /**
+     * Get the ids of the declared media types a request entity of a concrete media type can be consumed by: the media
+     * type itself, its type wildcard and the wildcard.
+     *
+     * @param contentType the value of the {@code Content-Type} header.
+     * @return the compatible ids, the array must not be modified.
+     */
+    public static long[] getContentTypeMask(String contentType) {
+        long[] mask = contentTypeCache.get(contentType);
+        if (mask != null) {
+            return mask;
+        }
+
+        MediaType[] snapshot = mediaTypes;
+
+        int slash = contentType.indexOf('/');
+        if (slash == -1) {
+            mask = set(null, WILDCARD_ID);
+        } else {
+            int end = contentType.indexOf(';', slash);
+            if (end == -1) {
+                end = contentType.length();
+            }
+
+            String type = contentType.substring(0, slash).trim().toLowerCase();
+            String subtype = contentType.substring(slash + 1, end).trim().toLowerCase();
+            mask = getCompatibleMask(type, subtype);
+        }
+
+        if (snapshot == mediaTypes) {
+            contentTypeCache.put(contentType, mask);
+        }
+        return mask;
+    }
+
+    private static long[] getCompatibleMask(String type, String subtype) {
+        long[] mask = set(null, WILDCARD_ID);
+
+        Integer id = ids.get(type + '/' + subtype);
+        if (id != null) {
+            mask = set(mask, id);
+        }
+
+        Integer typeWildcardId = ids.get(type + "/*");
+        if (typeWildcardId != null) {
+            mask = set(mask, typeWildcardId);
+        }
+
+        return mask;
+    }
+
+    /**
+     * Parse an {@code Accept} header into media ranges sorted by decreasing quality and specificity. Parsed headers
+     * are cached, browsers send a handful of distinct values.
+     *
+     * @param accept the value of the {@code Accept} header.
+     * @return the acceptable media ranges, ranges with a quality of 0 are left out.
+     */
+    public static Range[] getAcceptRanges(String accept) {
+        Range[] ranges = acceptCache.get(accept);
+        if (ranges != null) {
+            return ranges;
+        }
+
+        MediaType[] snapshot = mediaTypes;
+
+        List<Range> list = new ArrayList<Range>(4);
+        int start = 0;
+        int length = accept.length();
+        while (start < length) {
+            int end = accept.indexOf(',', start);
+            if (end == -1) {
+                end = length;
+            }
+
+            Range range = parseRange(accept.substring(start, end));
+            if (range != null) {
+                list.add(range);
+            }
+
+            start = end + 1;
+        }
+        Collections.sort(list, RANGE_COMPARATOR);
+
+        ranges = list.toArray(new Range[list.size()]);
+        if (snapshot == mediaTypes) {
+            acceptCache.put(accept, ranges);
+        }
+        return ranges;
+    }
+
+    /**
+     * Get the media ranges accepting a single media type, such as the one implied by a path extension. The ranges are
+     * kept for each media type instance, the media types being taken from a fixed configuration.
+     */
+    public static Range[] getRanges(MediaType mediaType) {
+        Range[] ranges = mediaTypeRanges.get(mediaType);
+        if (ranges != null) {
+            return ranges;
+        }
+
+        MediaType[] snapshot = mediaTypes;
+        String type = mediaType.getType().toLowerCase();
+        String subtype = mediaType.getSubtype().toLowerCase();
+        ranges = new Range[] { createRange(type, subtype, 1.0f) };
+
+        if (snapshot == mediaTypes) {
+            mediaTypeRanges.put(mediaType, ranges);
+        }
+        return ranges;
+    }
+
+    private static Range parseRange(String value) {
+        int semicolon = value.indexOf(';');
+        String mediaRange = (semicolon == -1 ? value : value.substring(0, semicolon)).trim().toLowerCase();
+
+        float quality = 1.0f;
+        while (semicolon != -1) {
+            int next = value.indexOf(';', semicolon + 1);
+            String parameter = value.substring(semicolon + 1, next == -1 ? value.length() : next).trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    quality = Float.parseFloat(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    quality = 0;
+                }
+            }
+            semicolon = next;
+        }
+
+        int slash = mediaRange.indexOf('/');
+        if (quality <= 0 || slash == -1) {
+            return null;
+        }
+
+        return createRange(mediaRange.substring(0, slash), mediaRange.substring(slash + 1), quality);
+    }
+
+    private static Range createRange(String type, String subtype, float quality) {
+        if (MediaType.MEDIA_TYPE_WILDCARD.equals(type)) {
+            return new Range(null, null, quality, 0);
+        }
+
+        if (MediaType.MEDIA_TYPE_WILDCARD.equals(subtype)) {
+            long[] typeMask = typeMasks.get(type);
+            return new Range(set(typeMask == null ? null : typeMask.clone(), WILDCARD_ID), null, quality, 1);
+        }
+
+        return new Range(getCompatibleMask(type, subtype), new MediaType(type, subtype), quality, 2);
+    }
+
+    static long[] set(long[] bits, int id) {
+        int word = id >>> 6;
+        if (bits == null) {
+            bits = new long[word + 1];
+        } else if (bits.length <= word) {
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+
+        bits[word] |= 1L << id;
+        return bits;
+    }
+
+    static boolean intersects(long[] a, long[] b) {
+        for (int i = 0, length = Math.min(a.length, b.length); i < length; ++i) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean contains(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * An acceptable media range of an {@code Accept} header.
+     */
+    public static final class Range {
+
+        /**
+         * The ids of the declared media types compatible with the range, {@code null} for the wildcard.
+         */
+        final long[]    mask;
+
+        /**
+         * The media type of a concrete range, {@code null} for wildcards.
+         */
+        final MediaType mediaType;
+
+        final float     quality;
+        final int       specificity;
+
+        Range(long[] mask, MediaType mediaType, float quality, int specificity){
+            this.mask = mask;
+            this.mediaType = mediaType;
+            this.quality = quality;
+            this.specificity = specificity;
+        }
+
+        /**
+         * The ranges of the same position in sorted headers select the same method when they have the same mask and
+         * media type, the quality only decides the order.
+         */
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(mask) * 31 + (mediaType == null ? 0 : mediaType.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Range)) {
+                return false;
+            }
+
+            Range other = (Range) obj;
+            return Arrays.equals(mask, other.mask)
+                   && (mediaType == null ? other.mediaType == null : mediaType.equals(other.mediaType));
+        }
+    }
+
+    private static final class RangeComparator implements Comparator<Range> {
+
+        @Override
+        public int compare(Range a, Range b) {
+            int i = Float.compare(b.quality, a.quality);
+            if (i != 0) {
+                return i;
+            }
+            return b.specificity - a.specificity;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import com.alibaba.webx.restful.model.ResourceMethod;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+import com.alibaba.webx.restful.process.route.MediaTypeIndex.Range;
+
+/**
+ * Chooses among the resource methods of a route handling the same HTTP method by the {@code Content-Type} and
+ * {@code Accept} headers of the request, the media type implied by the path extension replacing the {@code Accept}
+ * header. The consumed and produced media types of each method are stored as bitsets of
+ * {@link MediaTypeIndex} ids, the headers are not looked at when none of the methods declares media types.
+ */
+final class MethodSelector {
+
+    private final ResourceMethod[] methods;
+
+    /**
+     * The consumed media types of each method, {@code null} when the method consumes any media type.
+     */
+    private final long[][]         consumes;
+
+    /**
+     * The produced media types of each method, {@code null} when the method does not declare them.
+     */
+    private final long[][]         produces;
+    private final int[][]          producedIds;
+    private final MediaType[][]    producedTypes;
+
+    /**
+     * The first concrete produced media type of each method, used when any media type is acceptable.
+     */
+    private final MediaType[]      defaultTypes;
+
+    private final boolean          negotiated;
+
+    MethodSelector(ResourceMethod[] methods){
+        this.methods = methods;
+        this.consumes = new long[methods.length][];
+        this.produces = new long[methods.length][];
+        this.producedIds = new int[methods.length][];
+        this.producedTypes = new MediaType[methods.length][];
+        this.defaultTypes = new MediaType[methods.length];
+
+        boolean negotiated = false;
+        for (int i = 0; i < methods.length; ++i) {
+            for (MediaType mediaType : methods[i].getConsumedTypes()) {
+                consumes[i] = MediaTypeIndex.set(consumes[i], MediaTypeIndex.intern(mediaType));
+            }
+
+            List<MediaType> types = methods[i].getProducedTypes();
+            producedIds[i] = new int[types.size()];
+            producedTypes[i] = types.toArray(new MediaType[types.size()]);
+            for (int j = 0; j < producedIds[i].length; ++j) {
+                producedIds[i][j] = MediaTypeIndex.intern(producedTypes[i][j]);
+                produces[i] = MediaTypeIndex.set(produces[i], producedIds[i][j]);
+
+                if (defaultTypes[i] == null && !producedTypes[i][j].isWildcardType()
+                    && !producedTypes[i][j].isWildcardSubtype()) {
+                    defaultTypes[i] = producedTypes[i][j];
+                }
+            }
+
+            negotiated |= consumes[i] != null || produces[i] != null;
+        }
+        this.negotiated = negotiated;
+    }
+
+    ResourceMethod[] getMethods() {
+        return methods;
+    }
+
+    ResourceMethod getMethod(int index) {
+        return methods[index];
+    }
+
+    /**
+     * Select the resource method and store the media type of the response into the request context.
+     *
+     * @return the index of the selected method, or the negated HTTP status, 415 when no method consumes the request
+     * entity, 406 when no method produces an acceptable media type.
+     */
+    int select(RestfulRequestContext requestContext) {
+        if (!negotiated) {
+            requestContext.setResponseMediaType(null);
+            return 0;
+        }
+
+        HttpServletRequest httpRequest = requestContext.getHttpRequest();
+
+        String contentType = httpRequest.getContentType();
+        long[] contentMask = contentType == null ? null : MediaTypeIndex.getContentTypeMask(contentType);
+
+        int first = -1;
+        for (int i = 0; i < methods.length; ++i) {
+            if (isConsumable(i, contentMask)) {
+                first = i;
+                break;
+            }
+        }
+        if (first == -1) {
+            return -HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE;
+        }
+
+        Range[] ranges;
+        MediaType extensionMediaType = requestContext.getExtensionMediaType();
+        if (extensionMediaType != null) {
+            ranges = MediaTypeIndex.getRanges(extensionMediaType);
+        } else {
+            String accept = httpRequest.getHeader(HttpHeaders.ACCEPT);
+            ranges = accept == null ? null : MediaTypeIndex.getAcceptRanges(accept);
+        }
+        if (ranges == null || ranges.length == 0) {
+            requestContext.setResponseMediaType(defaultTypes[first]);
+            return first;
+        }
+
+        for (Range range : ranges) {
+            for (int i = first; i < methods.length; ++i) {
+                if (!isConsumable(i, contentMask)) {
+                    continue;
+                }
+
+                if (produces[i] == null) {
+                    requestContext.setResponseMediaType(null);
+                    return i;
+                }
+
+                if (range.mask == null) {
+                    requestContext.setResponseMediaType(defaultTypes[i]);
+                    return i;
+                }
+
+                if (MediaTypeIndex.intersects(produces[i], range.mask)) {
+                    requestContext.setResponseMediaType(getResponseType(i, range));
+                    return i;
+                }
+            }
+        }
+
+        return -HttpServletResponse.SC_NOT_ACCEPTABLE;
+    }
+
+    private boolean isConsumable(int index, long[] contentMask) {
+        return contentMask == null || consumes[index] == null || MediaTypeIndex.intersects(consumes[index], contentMask);
+    }
+
+    /**
+     * Get the first produced media type in declaration order compatible with the range, a produced wildcard is
+     * replaced by the media type of the range.
+     */
+    private MediaType getResponseType(int index, Range range) {
+        int[] ids = producedIds[index];
+        for (int j = 0; j < ids.length; ++j) {
+            if (MediaTypeIndex.contains(range.mask, ids[j])) {
+                MediaType mediaType = producedTypes[index][j];
+                if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                    return range.mediaType;
+                }
+                return mediaType;
+            }
+        }
+        return null;
+    }
+}
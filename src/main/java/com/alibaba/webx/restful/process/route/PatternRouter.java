@@ -0,0 +1,241 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceComparator;
+import com.alibaba.webx.restful.model.uri.PathPattern;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Router merging the path patterns of the root resources into alternation regular expressions, each alternative
+ * wrapped in a marker group. A single pass over the request path reports which resource matched and where its capture
+ * groups are. Patterns using lookarounds or backreferences cannot be merged and are matched one by one, as are
+ * patterns nesting quantifiers, so that they are matched with the step limit. Such a pattern splits the resources
+ * into runs merged separately, so that the resources are still tried in their {@link ResourceComparator} order.
+ */
+public class PatternRouter extends AbstractRouter {
+
+    /**
+     * The runs of merged resources and the resources matched one by one, in the order of the resources.
+     */
+    private final Run[] runs;
+
+    public PatternRouter(Resource[] resources){
+        this(resources, DEFAULT_MATCH_STEP_LIMIT);
+    }
+
+    public PatternRouter(Resource[] resources, int matchStepLimit){
+        super(matchStepLimit);
+
+        List<Resource> sortedResources = new ArrayList<Resource>();
+        Map<Resource, List<Route>> routeMap = new IdentityHashMap<Resource, List<Route>>();
+        for (Resource resource : resources) {
+            List<Route> routes = createRoutes(resource);
+            if (routes.isEmpty()) {
+                continue;
+            }
+
+            Collections.sort(routes, ROUTE_COMPARATOR);
+            for (Route route : routes) {
+                addRoute(route);
+            }
+
+            routeMap.put(resource, routes);
+            sortedResources.add(resource);
+        }
+        Collections.sort(sortedResources, ResourceComparator.getInstance());
+
+        List<Run> runList = new ArrayList<Run>();
+        List<Resource> combined = new ArrayList<Resource>();
+        for (Resource resource : sortedResources) {
+            if (isCombinable(resource.getPathPattern().getRegex()) && !resource.getPathPattern().isBacktrackingRisk()) {
+                combined.add(resource);
+                continue;
+            }
+
+            if (!combined.isEmpty()) {
+                runList.add(Run.combine(combined, routeMap));
+                combined.clear();
+            }
+
+            List<Route> routes = routeMap.get(resource);
+            runList.add(new Run(null, new Route[][] { routes.toArray(new Route[routes.size()]) }, null, null));
+        }
+        if (!combined.isEmpty()) {
+            runList.add(Run.combine(combined, routeMap));
+        }
+
+        this.runs = runList.toArray(new Run[runList.size()]);
+    }
+
+    public boolean match(RestfulRequestContext requestContext) {
+        String path = requestContext.getMatchingPath();
+        int[] offsets = getOffsets(requestContext, 0);
+        try {
+            return match(path, offsets, requestContext);
+        } catch (StepLimitExceededException e) {
+            // the aborted route is stored into the request context
+            return false;
+        }
+    }
+
+    private boolean match(String path, int[] offsets, RestfulRequestContext requestContext) {
+        for (Run run : runs) {
+            if (run.pattern == null) {
+                if (accept(run.routes[0], path, offsets, requestContext)) {
+                    return true;
+                }
+            } else if (match(run, path, offsets, requestContext)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean match(Run run, String path, int[] offsets, RestfulRequestContext requestContext) {
+        Matcher matcher = run.pattern.matcher(path);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        int index = 0;
+        while (matcher.start(run.markerGroups[index]) == -1) {
+            index++;
+        }
+
+        // copy the groups of the matched alternative with the numbering of its own path pattern
+        int[] groups = run.groups[index];
+        for (int i = 0; i < groups.length; ++i) {
+            offsets[2 * i] = matcher.start(groups[i]);
+            offsets[2 * i + 1] = matcher.end(groups[i]);
+        }
+
+        int rightHandGroup = groups[groups.length - 1];
+        int rightHandStart = matcher.start(rightHandGroup);
+        int rightHandEnd = matcher.end(rightHandGroup);
+        for (Route route : run.routes[index]) {
+            if (accept(route, path, rightHandStart, rightHandEnd, offsets, requestContext)) {
+                return true;
+            }
+        }
+
+        // none of the methods of the most specific resource matched, try the less specific ones of the run
+        for (int i = index + 1; i < run.routes.length; ++i) {
+            if (accept(run.routes[i], path, offsets, requestContext)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean accept(Route[] routes, String path, int[] offsets, RestfulRequestContext requestContext) {
+        PathPattern pathPattern = routes[0].getResource().getPathPattern();
+        int groupCount = match(routes[0], pathPattern, path, 0, path.length(), offsets, 0, requestContext);
+        if (groupCount == -1) {
+            return false;
+        }
+
+        int rightHandIndex = 2 * (groupCount - 1);
+        int rightHandStart = offsets[rightHandIndex];
+        int rightHandEnd = offsets[rightHandIndex + 1];
+        for (Route route : routes) {
+            if (accept(route, path, rightHandStart, rightHandEnd, offsets, requestContext)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Check that a regular expression can be embedded into the combined pattern, lookarounds and backreferences
+     * depend on the group layout and the position of the pattern and are matched separately.
+     */
+    static boolean isCombinable(String regex) {
+        for (int i = 0, length = regex.length(); i < length; ++i) {
+            char ch = regex.charAt(i);
+            if (ch == '\\' && i + 1 < length) {
+                char next = regex.charAt(++i);
+                if ((next >= '1' && next <= '9') || next == 'k') {
+                    return false;
+                }
+                if (next == 'Q') {
+                    int end = regex.indexOf("\\E", i);
+                    if (end == -1) {
+                        return true;
+                    }
+                    i = end + 1;
+                }
+            } else if (ch == '(' && i + 2 < length && regex.charAt(i + 1) == '?') {
+                char next = regex.charAt(i + 2);
+                // (?= (?! lookahead, (?<= (?<! lookbehind, (?<name> named group
+                if (next == '=' || next == '!' || next == '<') {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Consecutive resources merged into one pattern, or a single resource matched by its own pattern when the pattern
+     * is {@code null}.
+     */
+    private static final class Run {
+
+        private final Pattern   pattern;
+        private final Route[][] routes;
+        private final int[]     markerGroups;
+        private final int[][]   groups;
+
+        Run(Pattern pattern, Route[][] routes, int[] markerGroups, int[][] groups){
+            this.pattern = pattern;
+            this.routes = routes;
+            this.markerGroups = markerGroups;
+            this.groups = groups;
+        }
+
+        static Run combine(List<Resource> resources, Map<Resource, List<Route>> routeMap) {
+            Route[][] routes = new Route[resources.size()][];
+            int[] markerGroups = new int[resources.size()];
+            int[][] groups = new int[resources.size()][];
+
+            StringBuilder regex = new StringBuilder();
+            int group = 1;
+            for (int i = 0; i < routes.length; ++i) {
+                Resource resource = resources.get(i);
+                List<Route> resourceRoutes = routeMap.get(resource);
+                routes[i] = resourceRoutes.toArray(new Route[resourceRoutes.size()]);
+                markerGroups[i] = group;
+
+                String resourceRegex = resource.getPathPattern().getRegex();
+                if (regex.length() != 0) {
+                    regex.append('|');
+                }
+                regex.append('(').append(resourceRegex).append(')');
+
+                // the groups of the path pattern, numbered in the combined pattern
+                PathPattern pathPattern = resource.getPathPattern();
+                int[] groupIndexes = pathPattern.getGroupIndexes();
+                groups[i] = new int[pathPattern.getGroupCount()];
+                for (int j = 0; j < groups[i].length; ++j) {
+                    groups[i][j] = group + (groupIndexes.length > 0 ? groupIndexes[j] : j + 1);
+                }
+
+                group += Pattern.compile(resourceRegex).matcher("").groupCount() + 1;
+            }
+
+            return new Run(Pattern.compile(regex.toString()), routes, markerGroups, groups);
+        }
+    }
+}
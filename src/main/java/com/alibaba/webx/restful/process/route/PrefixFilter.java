@@ -0,0 +1,70 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.uri.UriComponent;
+
+/**
+ * The first path segments of the root resources, checked before a request context is created so that requests for
+ * other paths are passed on at the cost of a hash lookup over a region of the request URI. A root resource whose path
+ * is empty or starts with a template variable may match any path, every path is accepted then.
+ */
+public final class PrefixFilter {
+
+    private final LiteralMap<Resource> prefixes;
+    private final boolean              acceptAll;
+
+    public PrefixFilter(Resource[] resources){
+        Map<String, Resource> prefixMap = new HashMap<String, Resource>();
+        boolean acceptAll = false;
+
+        List<String> segments = new ArrayList<String>();
+        for (Resource resource : resources) {
+            if (!resource.isRootResource()) {
+                continue;
+            }
+
+            segments.clear();
+            TrieRouter.splitSegments(resource.getPath(), segments);
+            if (segments.isEmpty() || segments.get(0).indexOf('{') != -1) {
+                acceptAll = true;
+                break;
+            }
+
+            // encoded the way the trie router matches literal segments against the raw path
+            prefixMap.put(UriComponent.contextualEncode(segments.get(0), UriComponent.Type.PATH), resource);
+        }
+
+        this.prefixes = new LiteralMap<Resource>(prefixMap);
+        this.acceptAll = acceptAll;
+    }
+
+    /**
+     * Check whether the first segment of a path region is the first segment of a root resource.
+     *
+     * @param path the request URI or path.
+     * @param start the start of the path relative to the resources, inclusive.
+     * @param end the end of the path without extension, exclusive.
+     * @return false if no resource matches the path.
+     */
+    public boolean mayMatch(String path, int start, int end) {
+        if (acceptAll) {
+            return true;
+        }
+
+        if (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+
+        int slash = path.indexOf('/', start);
+        if (slash == -1 || slash > end) {
+            slash = end;
+        }
+
+        return prefixes.get(path, start, slash) != null;
+    }
+}
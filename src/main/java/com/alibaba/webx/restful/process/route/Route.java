@@ -0,0 +1,328 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceMethod;
+import com.alibaba.webx.restful.model.uri.PathPattern;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * A routable end point: a resource together with one method level path. All resource methods of the resource that
+ * share the same method level path pattern are grouped into one route, and dispatched by HTTP method through a table
+ * indexed by {@link HttpMethodType#ordinal()}, then by media types through a {@link MethodSelector}. Each sub-resource
+ * locator has its own route, matching any path below the locator path.
+ */
+public final class Route {
+
+    private static final int                    METHOD_TYPE_COUNT = HttpMethodType.values().length;
+
+    private final Resource                      resource;
+    private final PathPattern                   methodPathPattern;
+    private final List<ResourceMethod>          resourceMethods;
+
+    private final MethodSelector[]              methodTable;
+    private final Map<String, MethodSelector>   extensionMethods;
+    private final Set<String>                   allowSet;
+    private final String                        allow;
+
+    private final ResourceMethod                locator;
+
+    private final String[]                      pathVariableNames;
+    private final int                           resourceVariableCount;
+    private final int                           offsetCount;
+
+    private final boolean                       backtrackingRisk;
+    private final AtomicLong                    abortCount        = new AtomicLong();
+
+    public Route(Resource resource, PathPattern methodPathPattern, List<ResourceMethod> resourceMethods){
+        this.resource = resource;
+        this.methodPathPattern = methodPathPattern;
+        this.resourceMethods = resourceMethods;
+
+        Map<String, List<ResourceMethod>> methodMap = new HashMap<String, List<ResourceMethod>>();
+        Set<String> allowSet = new LinkedHashSet<String>();
+        ResourceMethod locator = null;
+        for (ResourceMethod resourceMethod : resourceMethods) {
+            if (resourceMethod.getType() == ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
+                if (locator == null) {
+                    locator = resourceMethod;
+                }
+                continue;
+            }
+
+            String httpMethod = resourceMethod.getHttpMethod();
+            List<ResourceMethod> methods = methodMap.get(httpMethod);
+            if (methods == null) {
+                methods = new ArrayList<ResourceMethod>(1);
+                methodMap.put(httpMethod, methods);
+            }
+            methods.add(resourceMethod);
+            allowSet.add(httpMethod);
+        }
+
+        this.methodTable = new MethodSelector[METHOD_TYPE_COUNT];
+        Map<String, MethodSelector> extensionMethods = null;
+        for (Map.Entry<String, List<ResourceMethod>> entry : methodMap.entrySet()) {
+            List<ResourceMethod> methods = entry.getValue();
+            MethodSelector selector = new MethodSelector(methods.toArray(new ResourceMethod[methods.size()]));
+
+            HttpMethodType methodType = HttpMethodType.fromString(entry.getKey());
+            if (methodType != null) {
+                methodTable[methodType.ordinal()] = selector;
+            } else {
+                if (extensionMethods == null) {
+                    extensionMethods = new HashMap<String, MethodSelector>(2);
+                }
+                extensionMethods.put(entry.getKey(), selector);
+            }
+        }
+        this.extensionMethods = extensionMethods;
+        this.locator = locator;
+
+        // HEAD is served by GET when not declared
+        if (methodTable[HttpMethodType.HEAD.ordinal()] == null && methodTable[HttpMethodType.GET.ordinal()] != null) {
+            methodTable[HttpMethodType.HEAD.ordinal()] = methodTable[HttpMethodType.GET.ordinal()];
+            allowSet.add(HttpMethodType.HEAD.name());
+        }
+        allowSet.add(HttpMethodType.OPTIONS.name());
+        this.allowSet = allowSet;
+        this.allow = join(allowSet);
+
+        PathPattern resourcePathPattern = resource.getPathPattern();
+        List<String> pathVariableNames = new ArrayList<String>();
+        pathVariableNames.addAll(resourcePathPattern.getTemplate().getTemplateVariables());
+        this.resourceVariableCount = pathVariableNames.size();
+        pathVariableNames.addAll(methodPathPattern.getTemplate().getTemplateVariables());
+        this.pathVariableNames = pathVariableNames.toArray(new String[pathVariableNames.size()]);
+
+        // the offsets of both patterns, the right hand path group of the resource pattern is overwritten by the
+        // groups of the method pattern
+        this.offsetCount = 2 * (resourcePathPattern.getGroupCount() + methodPathPattern.getGroupCount());
+
+        this.backtrackingRisk = resourcePathPattern.isBacktrackingRisk() || methodPathPattern.isBacktrackingRisk();
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    /**
+     * Get the method level path pattern, {@link PathPattern#END_OF_PATH_PATTERN} for resource methods.
+     *
+     * @return method level path pattern.
+     */
+    public PathPattern getMethodPathPattern() {
+        return methodPathPattern;
+    }
+
+    /**
+     * Get the method level path template, {@code null} for resource methods.
+     *
+     * @return method level path template.
+     */
+    public String getMethodPath() {
+        return resourceMethods.get(0).getPath();
+    }
+
+    public List<ResourceMethod> getResourceMethods() {
+        return resourceMethods;
+    }
+
+    /**
+     * Get the resource methods handling a HTTP method.
+     *
+     * @param httpMethod upper case HTTP method name.
+     * @return resource methods, {@code null} if the HTTP method is not allowed on this route.
+     */
+    public ResourceMethod[] getResourceMethods(String httpMethod) {
+        MethodSelector selector = getSelector(httpMethod);
+        return selector == null ? null : selector.getMethods();
+    }
+
+    private MethodSelector getSelector(String httpMethod) {
+        HttpMethodType methodType = HttpMethodType.fromString(httpMethod);
+        if (methodType != null) {
+            return methodTable[methodType.ordinal()];
+        }
+
+        if (extensionMethods == null) {
+            return null;
+        }
+
+        return extensionMethods.get(httpMethod);
+    }
+
+    /**
+     * Select the resource method handling the HTTP method and the media types of a request whose path matched this
+     * route, the path variable offsets are already stored. When no resource method fits, the route and the HTTP
+     * status explaining why are stored, unless a route was stored before, and the allowed methods of this route are
+     * merged into the ones of the routes which matched the path before.
+     *
+     * @return {@code true} if a resource method was selected.
+     */
+    public boolean select(RestfulRequestContext requestContext) {
+        if (locator != null) {
+            // the locator handles every HTTP method, the sub-resource selects the resource method
+            requestContext.setRoute(this);
+            requestContext.setResource(resource);
+            requestContext.setResourceMethod(locator);
+            requestContext.setMatchStatus(HttpServletResponse.SC_OK);
+            requestContext.setResponseMediaType(null);
+            requestContext.setResourceMatchResult(null);
+            requestContext.setResourceMethodMatchResult(null);
+            return true;
+        }
+
+        MethodSelector selector = getSelector(requestContext.getMethod());
+
+        int index = selector == null ? -HttpServletResponse.SC_METHOD_NOT_ALLOWED : selector.select(requestContext);
+        if (index < 0) {
+            if (requestContext.getRoute() == null) {
+                requestContext.setRoute(this);
+                requestContext.setResource(resource);
+                requestContext.setMatchStatus(-index);
+            }
+            requestContext.setAllow(mergeAllow(requestContext.getAllow()));
+            return false;
+        }
+
+        requestContext.setRoute(this);
+        requestContext.setResource(resource);
+        requestContext.setResourceMethod(selector.getMethod(index));
+        requestContext.setMatchStatus(HttpServletResponse.SC_OK);
+        requestContext.setResourceMatchResult(null);
+        requestContext.setResourceMethodMatchResult(null);
+
+        return true;
+    }
+
+    /**
+     * Get the names of the path variables of the resource path followed by the ones of the method path, in the order
+     * of the path variable offsets stored in the request context. The array must not be modified.
+     *
+     * @return path variable names.
+     */
+    public String[] getPathVariableNames() {
+        return pathVariableNames;
+    }
+
+    /**
+     * Get the sub-resource locator of this route.
+     *
+     * @return the locator, {@code null} if this route dispatches to resource methods.
+     */
+    public ResourceMethod getLocator() {
+        return locator;
+    }
+
+    /**
+     * Get the path remaining after the path matched by this route, for a sub-resource locator route.
+     *
+     * @param path the matching path.
+     * @param offsets the offsets written while matching this route.
+     * @return the remaining path, empty if nothing remains.
+     */
+    public String getRightHandPath(String path, int[] offsets) {
+        int index = 2 * (resourceVariableCount + methodPathPattern.getGroupCount() - 1);
+        int start = offsets[index];
+        if (start == -1) {
+            return "";
+        }
+        return path.substring(start, offsets[index + 1]);
+    }
+
+    public int getResourceVariableCount() {
+        return resourceVariableCount;
+    }
+
+    /**
+     * Get the number of offsets written while matching this route.
+     *
+     * @return the number of offsets.
+     */
+    public int getOffsetCount() {
+        return offsetCount;
+    }
+
+    /**
+     * Check whether the resource or the method path pattern nests quantifiers, the patterns of such a route are matched
+     * with a step limit.
+     *
+     * @see com.alibaba.webx.restful.model.uri.PatternWithGroups#isBacktrackingRisk()
+     */
+    public boolean isBacktrackingRisk() {
+        return backtrackingRisk;
+    }
+
+    /**
+     * Get the number of requests whose match against this route was aborted for exceeding the step limit.
+     *
+     * @return the number of aborted matches.
+     */
+    public long getAbortCount() {
+        return abortCount.get();
+    }
+
+    /**
+     * Record a match aborted for exceeding the step limit: the route and {@code 400} are stored into the request
+     * context, and the router stops matching.
+     */
+    void abort(RestfulRequestContext requestContext) {
+        abortCount.incrementAndGet();
+
+        requestContext.setRoute(this);
+        requestContext.setResource(resource);
+        requestContext.setResourceMethod(null);
+        requestContext.setMatchStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    /**
+     * Get the precomputed value of the {@code Allow} header of this route.
+     *
+     * @return allowed HTTP methods.
+     */
+    public String getAllow() {
+        return allow;
+    }
+
+    /**
+     * Merge the allowed methods of this route into the value of an {@code Allow} header, OPTIONS stays last.
+     */
+    private String mergeAllow(String other) {
+        if (other == null || other.equals(allow)) {
+            return allow;
+        }
+
+        Set<String> union = new LinkedHashSet<String>(Arrays.asList(other.split(", ")));
+        union.addAll(allowSet);
+        union.remove(HttpMethodType.OPTIONS.name());
+        union.add(HttpMethodType.OPTIONS.name());
+        return join(union);
+    }
+
+    private static String join(Set<String> allowSet) {
+        StringBuilder buf = new StringBuilder();
+        for (String item : allowSet) {
+            if (buf.length() != 0) {
+                buf.append(", ");
+            }
+            buf.append(item);
+        }
+        return buf.toString();
+    }
+
+    @Override
+    public String toString() {
+        return resource.getName() + " " + resource.getPathPattern() + " " + methodPathPattern;
+    }
+}
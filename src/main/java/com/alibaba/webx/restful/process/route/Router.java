@@ -0,0 +1,22 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.List;
+
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Matches a request against the routes built from the resource model.
+ */
+public interface Router {
+
+    /**
+     * Match the request path and method against the routes and store the route, resource, resource method and match
+     * results of the first matched route into the request context. When the path matches but no route allows the HTTP
+     * method, the route is stored without resource method.
+     *
+     * @return {@code true} if a route and resource method matched.
+     */
+    boolean match(RestfulRequestContext requestContext);
+
+    List<Route> getRoutes();
+}
@@ -0,0 +1,20 @@
+package com.alibaba.webx.restful.process.route;
+
+/**
+ * Thrown when matching a path exceeds the step limit, the exception is shared and has no stack trace.
+ */
+public final class StepLimitExceededException extends RuntimeException {
+
+    private static final long               serialVersionUID = 1L;
+
+    static final StepLimitExceededException INSTANCE         = new StepLimitExceededException();
+
+    private StepLimitExceededException(){
+        super("path match step limit exceeded");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,40 @@
+package com.alibaba.webx.restful.process.route;
+
+/**
+ * Char sequence counting the characters read by a matcher, the match is aborted with a
+ * {@link StepLimitExceededException} once the limit is reached. A matcher backtracking over the path reads its
+ * characters again, so the limit bounds the time spent on a pattern prone to catastrophic backtracking. How far a
+ * pattern backtracks depends on the regex engine: since Java 9 {@link java.util.regex.Pattern} remembers the failed
+ * positions of greedy group loops and {@code (a+)+b} fails in linear time, a pattern with a back reference still
+ * backtracks exponentially.
+ */
+public final class StepLimitedCharSequence implements CharSequence {
+
+    private final String value;
+    private int          remaining;
+
+    public StepLimitedCharSequence(String value, int limit){
+        this.value = value;
+        this.remaining = limit;
+    }
+
+    public int length() {
+        return value.length();
+    }
+
+    public char charAt(int index) {
+        if (--remaining < 0) {
+            throw StepLimitExceededException.INSTANCE;
+        }
+        return value.charAt(index);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        return value.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,279 @@
+package com.alibaba.webx.restful.process.route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.uri.PathTemplate;
+import com.alibaba.webx.restful.model.uri.UriComponent;
+import com.alibaba.webx.restful.process.RestfulRequestContext;
+
+/**
+ * Router built once from the resource model. Routes are stored in a trie keyed on path segments: literal segments are
+ * looked up in a hash map, segments made of template variables and literal characters are matched by small per
+ * segment patterns, and routes declaring explicit regular expressions are kept as tail routes at the deepest literal
+ * prefix. Sub-resource locator routes are tail routes at the node of their path. The lookup cost therefore depends on
+ * the depth of the request path rather than on the number of routes.
+ * <p>
+ * Routes made of literal segments and single template variables with the default regular expression are accepted
+ * directly, the offsets of the path variables being the ones of the segments matched by the parameter nodes. Other
+ * routes are verified by the resource and method path patterns, so the match results are the same as the ones
+ * produced by the regular expressions alone. Literal segments are looked up by their position in the request path, so
+ * matching a direct route does not create any string or match result.
+ */
+public class TrieRouter extends AbstractRouter {
+
+    private final Node root             = new Node(null);
+
+    private int        maxParamCount    = 0;
+    private final int  paramOffsetIndex;
+
+    public TrieRouter(Resource[] resources){
+        this(resources, DEFAULT_MATCH_STEP_LIMIT);
+    }
+
+    public TrieRouter(Resource[] resources, int matchStepLimit){
+        super(matchStepLimit);
+
+        for (Resource resource : resources) {
+            for (Route route : createRoutes(resource)) {
+                add(route);
+            }
+        }
+
+        root.freeze();
+        paramOffsetIndex = getMaxOffsetCount();
+    }
+
+    private void add(Route route) {
+        addRoute(route);
+
+        List<String> segments = new ArrayList<String>();
+        if (route.getResource().isRootResource()) {
+            splitSegments(route.getResource().getPath(), segments);
+        }
+        splitSegments(route.getMethodPath(), segments);
+
+        Node node = root;
+        boolean direct = true;
+        int paramCount = 0;
+        for (String segment : segments) {
+            if (segment.indexOf('{') == -1) {
+                String literal = UriComponent.contextualEncode(segment, UriComponent.Type.PATH);
+                node = node.literalChild(literal);
+                direct &= literal.equals(segment);
+            } else if (isExplicitRegex(segment)) {
+                // the explicit regex may span several segments, match the whole path from here on
+                node.tailRoutes.add(route);
+                return;
+            } else if (isSingleVariable(segment)) {
+                node = node.paramChild();
+                paramCount++;
+            } else {
+                node = node.patternChild(segment);
+                direct = false;
+            }
+        }
+
+        if (route.getLocator() != null) {
+            // the locator matches the path below its own path
+            node.tailRoutes.add(route);
+            return;
+        }
+
+        node.routes.add(route);
+        if (direct) {
+            node.directRoutes.add(route);
+        }
+        maxParamCount = Math.max(maxParamCount, paramCount);
+    }
+
+    public boolean match(RestfulRequestContext requestContext) {
+        String path = requestContext.getMatchingPath();
+        int[] offsets = getOffsets(requestContext, 2 * maxParamCount);
+        try {
+            return match(root, path, 0, offsets, 0, requestContext);
+        } catch (StepLimitExceededException e) {
+            // the aborted route is stored into the request context
+            return false;
+        }
+    }
+
+    /**
+     * Match the path from the offset on against the sub trie of the node.
+     *
+     * @param offsets the route offsets, followed by the offsets of the segments matched by parameter nodes.
+     * @param paramCount the number of segments matched by parameter nodes.
+     */
+    private boolean match(Node node, String path, int offset, int[] offsets, int paramCount,
+                          RestfulRequestContext requestContext) {
+        int length = path.length();
+
+        if (offset >= length || (offset == length - 1 && path.charAt(offset) == '/')) {
+            Route[] routes = node.routeArray;
+            for (int i = 0; i < routes.length; ++i) {
+                if (node.directArray[i]) {
+                    System.arraycopy(offsets, paramOffsetIndex, offsets, 0, 2 * paramCount);
+                    if (accept(routes[i], requestContext)) {
+                        return true;
+                    }
+                } else if (accept(routes[i], path, offsets, requestContext)) {
+                    return true;
+                }
+            }
+        } else if (path.charAt(offset) == '/') {
+            int start = offset + 1;
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+
+            if (end > start) {
+                Node literalChild = node.literalChildMap.get(path, start, end);
+                if (literalChild != null && match(literalChild, path, end, offsets, paramCount, requestContext)) {
+                    return true;
+                }
+
+                for (Node patternChild : node.patternChildArray) {
+                    // the segment pattern is generated with the leading '/'
+                    if (patternChild.segmentPattern.matcher(path).region(offset, end).matches()
+                        && match(patternChild, path, end, offsets, paramCount, requestContext)) {
+                        return true;
+                    }
+                }
+
+                if (node.paramChild != null) {
+                    int paramIndex = paramOffsetIndex + 2 * paramCount;
+                    offsets[paramIndex] = start;
+                    offsets[paramIndex + 1] = end;
+                    if (match(node.paramChild, path, end, offsets, paramCount + 1, requestContext)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        for (Route route : node.tailRouteArray) {
+            if (accept(route, path, offsets, requestContext)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Split a path template into its segments, '/' characters inside of template variable declarations do not
+     * delimit segments. Empty segments are skipped.
+     */
+    static void splitSegments(String template, List<String> segments) {
+        if (template == null) {
+            return;
+        }
+
+        int braceCount = 0;
+        int start = 0;
+        for (int i = 0, length = template.length(); i <= length; ++i) {
+            char ch = i < length ? template.charAt(i) : '/';
+            if (ch == '{') {
+                braceCount++;
+            } else if (ch == '}') {
+                braceCount--;
+            } else if (ch == '/' && braceCount == 0) {
+                if (i > start) {
+                    segments.add(template.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+    }
+
+    private static boolean isExplicitRegex(String segment) {
+        return segment.indexOf(':') != -1;
+    }
+
+    private static boolean isSingleVariable(String segment) {
+        return segment.charAt(0) == '{' && segment.indexOf('}') == segment.length() - 1
+               && segment.lastIndexOf('{') == 0;
+    }
+
+    private static final class Node {
+
+        final Pattern           segmentPattern;
+
+        final Map<String, Node> literalChildren  = new HashMap<String, Node>(4);
+        final Map<String, Node> patternChildren  = new LinkedHashMap<String, Node>(2);
+        Node                    paramChild;
+
+        final List<Route>       routes           = new ArrayList<Route>(1);
+        final Set<Route>        directRoutes     = new HashSet<Route>(1);
+        final List<Route>       tailRoutes       = new ArrayList<Route>(1);
+
+        LiteralMap<Node>        literalChildMap;
+        Node[]                  patternChildArray;
+        Route[]                 routeArray;
+        boolean[]               directArray;
+        Route[]                 tailRouteArray;
+
+        Node(Pattern segmentPattern){
+            this.segmentPattern = segmentPattern;
+        }
+
+        Node literalChild(String literal) {
+            Node child = literalChildren.get(literal);
+            if (child == null) {
+                child = new Node(null);
+                literalChildren.put(literal, child);
+            }
+            return child;
+        }
+
+        Node paramChild() {
+            if (paramChild == null) {
+                paramChild = new Node(null);
+            }
+            return paramChild;
+        }
+
+        Node patternChild(String segment) {
+            String regex = new PathTemplate(segment).getPattern().getRegex();
+            Node child = patternChildren.get(regex);
+            if (child == null) {
+                child = new Node(Pattern.compile(regex));
+                patternChildren.put(regex, child);
+            }
+            return child;
+        }
+
+        void freeze() {
+            Collections.sort(routes, ROUTE_COMPARATOR);
+            Collections.sort(tailRoutes, ROUTE_COMPARATOR);
+
+            routeArray = routes.toArray(new Route[routes.size()]);
+            directArray = new boolean[routeArray.length];
+            for (int i = 0; i < routeArray.length; ++i) {
+                directArray[i] = directRoutes.contains(routeArray[i]);
+            }
+            tailRouteArray = tailRoutes.toArray(new Route[tailRoutes.size()]);
+            literalChildMap = new LiteralMap<Node>(literalChildren);
+            patternChildArray = patternChildren.values().toArray(new Node[patternChildren.size()]);
+
+            for (Node child : literalChildren.values()) {
+                child.freeze();
+            }
+            for (Node child : patternChildArray) {
+                child.freeze();
+            }
+            if (paramChild != null) {
+                paramChild.freeze();
+            }
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.alibaba.webx.restful.support.webx3;
 import static com.alibaba.citrus.turbine.util.TurbineUtil.getTurbineRunData;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -11,21 +14,20 @@ import javax.ws.rs.Path;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.objectweb.asm.ClassReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.web.context.WebApplicationContext;
 
 import com.alibaba.citrus.service.pipeline.PipelineContext;
 import com.alibaba.citrus.service.pipeline.Valve;
 import com.alibaba.citrus.turbine.TurbineRunData;
 import com.alibaba.citrus.webx.WebxComponent;
-import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.webx.restful.model.ApplicationImpl;
 import com.alibaba.webx.restful.model.Resource;
 import com.alibaba.webx.restful.model.ResourceMethod;
-import com.alibaba.webx.restful.model.finder.AnnotatedClassVisitor;
 import com.alibaba.webx.restful.model.finder.ClassInfo;
-import com.alibaba.webx.restful.model.param.ParameterProviderImpl;
 import com.alibaba.webx.restful.process.ApplicationHandler;
 import com.alibaba.webx.restful.process.RestfulComponent;
 import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
@@ -33,7 +35,7 @@ import com.alibaba.webx.restful.process.impl.UriInfoImpl;
 import com.alibaba.webx.restful.spi.ParameterProvider;
 import com.alibaba.webx.restful.util.ResourceUtils;
 
-public class RestfulValve implements Valve {
+public class RestfulValve implements Valve, ApplicationListener {
 
     private final static Log          LOG              = LogFactory.getLog(RestfulValve.class);
 
@@ -46,6 +48,8 @@ public class RestfulValve implements Valve {
     @Autowired
     private WebxComponent             component;
 
+    private Map<String, Object>       properties       = new HashMap<String, Object>();
+
     private volatile RestfulComponent restfulComponent = null;
 
     public RestfulValve(){
@@ -76,6 +80,14 @@ public class RestfulValve implements Valve {
         this.component = component;
     }
 
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(Map<String, Object> properties) {
+        this.properties = properties;
+    }
+
     private synchronized void init() {
         if (restfulComponent != null) {
             return;
@@ -83,6 +95,40 @@ public class RestfulValve implements Valve {
 
         WebApplicationContext applicationContext = component.getApplicationContext();
         ApplicationImpl config = new ApplicationImpl();
+        if (properties != null) {
+            config.getProperties().putAll(properties);
+        }
+        config.addResources(buildResources(config));
+
+        restfulComponent = new RestfulComponent(config, applicationContext);
+    }
+
+    /**
+     * Build the resources of the component again and swap them in at once, the requests being processed finish with
+     * the resources they matched.
+     */
+    public synchronized void refresh() {
+        if (restfulComponent == null) {
+            return;
+        }
+
+        ApplicationImpl config = restfulComponent.getConfig();
+        config.setResources(buildResources(config));
+    }
+
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ContextRefreshedEvent && component != null
+            && ((ContextRefreshedEvent) event).getApplicationContext() == component.getApplicationContext()) {
+            refresh();
+        }
+    }
+
+    private List<Resource> buildResources(ApplicationImpl config) {
+        WebApplicationContext applicationContext = component.getApplicationContext();
+        List<Resource> resources = new ArrayList<Resource>();
+
+        // one provider, and with it one converter registry, for all the resources
+        ParameterProvider parameterProvider = ApplicationHandler.createParameterProvider(config, applicationContext);
 
         String[] beanNames = applicationContext.getBeanDefinitionNames();
         for (String beanName : beanNames) {
@@ -97,39 +143,24 @@ public class RestfulValve implements Valve {
                 continue;
             }
 
-            buildResource(config, beanClass, bean);
+            Resource resource = buildResource(parameterProvider, beanClass, bean);
+            if (resource != null) {
+                resources.add(resource);
+            }
         }
 
-        restfulComponent = new RestfulComponent(config, applicationContext);
+        return resources;
     }
 
-    @SuppressWarnings("unchecked")
-    private void buildResource(ApplicationImpl config, Class<?> beanClass, Object bean) {
-        String className = beanClass.getName();
-        String resourceName = className.replace('.', '/') + ".class";
-        InputStream in = null;
-
+    private Resource buildResource(ParameterProvider parameterProvider, Class<?> beanClass, Object bean) {
         try {
-            in = beanClass.getClassLoader().getResourceAsStream(resourceName);
-
-            AnnotatedClassVisitor classVisitor = new AnnotatedClassVisitor();
-
-            ClassReader classReader = new ClassReader(in);
-            classReader.accept(classVisitor, 0);
-
-            ClassInfo classInfo = classVisitor.getClassInfo();
+            ClassInfo classInfo = ResourceUtils.readClassInfo(beanClass);
 
             WebApplicationContext applicationContext = component.getApplicationContext();
-            ParameterProvider parameterProvider = new ParameterProviderImpl(applicationContext);
-            Resource resource = ResourceUtils.buildResource(applicationContext, parameterProvider, beanClass,
-                                                            classInfo, bean);
-            if (resource != null) {
-                config.addResource(resource);
-            }
+            return ResourceUtils.buildResource(applicationContext, parameterProvider, beanClass, classInfo, bean);
         } catch (IOException e) {
             LOG.error(e.getMessage(), e);
-        } finally {
-            IOUtils.close(in);
+            return null;
         }
     }
 
@@ -143,13 +174,21 @@ public class RestfulValve implements Valve {
 
         ApplicationHandler handler = restfulComponent.getHandler();
 
-        UriInfoImpl uriInfo = new UriInfoImpl(rundata.getRequest(), rundata.getTarget());
+        // targets of other paths go down the pipeline before anything is created
+        String target = rundata.getTarget();
+        if (target == null || !handler.isRoutable(target, 0, target.length())) {
+            pipelineContext.invokeNext();
+            return;
+        }
+
+        UriInfoImpl uriInfo = new UriInfoImpl(rundata.getRequest(), target, handler.getMediaTypeExtensions());
 
         ContainerRequestContextImpl requestContext = handler.createRequestContext(request, response, uriInfo);
 
         ResourceMethod resourceMethod = requestContext.getResourceMethod();
 
-        if (resourceMethod != null) {
+        // a matched route without resource method is answered with 405 by the handler
+        if (resourceMethod != null || requestContext.getRoute() != null) {
             handler.service(requestContext);
         } else {
             pipelineContext.invokeNext();
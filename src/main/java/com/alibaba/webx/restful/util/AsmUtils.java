@@ -0,0 +1,111 @@
+package com.alibaba.webx.restful.util;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Helpers emitting the bytecode shared by the generated classes.
+ */
+public class AsmUtils {
+
+    private AsmUtils(){
+    }
+
+    /**
+     * Get the internal name of the wrapper class of a primitive type.
+     */
+    public static String getWrapperName(Type type) {
+        switch (type.getSort()) {
+            case Type.BOOLEAN:
+                return "java/lang/Boolean";
+            case Type.CHAR:
+                return "java/lang/Character";
+            case Type.BYTE:
+                return "java/lang/Byte";
+            case Type.SHORT:
+                return "java/lang/Short";
+            case Type.INT:
+                return "java/lang/Integer";
+            case Type.FLOAT:
+                return "java/lang/Float";
+            case Type.LONG:
+                return "java/lang/Long";
+            case Type.DOUBLE:
+                return "java/lang/Double";
+            default:
+                throw new IllegalArgumentException("not a primitive type : " + type);
+        }
+    }
+
+    /**
+     * Replace the object on top of the stack by a value of the type, unboxing primitive values.
+     */
+    public static void unbox(MethodVisitor mv, Type type) {
+        if (type.getSort() == Type.ARRAY) {
+            // the internal name of an array type is its descriptor, asm 3.0 returns an empty name
+            mv.visitTypeInsn(Opcodes.CHECKCAST, type.getDescriptor());
+            return;
+        }
+        if (type.getSort() == Type.OBJECT) {
+            if (!"java/lang/Object".equals(type.getInternalName())) {
+                mv.visitTypeInsn(Opcodes.CHECKCAST, type.getInternalName());
+            }
+            return;
+        }
+
+        String wrapper = getWrapperName(type);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getClassName() + "Value", "()" + type.getDescriptor());
+    }
+
+    /**
+     * Replace the value of the type on top of the stack by an object, boxing primitive values. A void value is
+     * replaced by {@code null}.
+     */
+    public static void box(MethodVisitor mv, Type type) {
+        if (type.getSort() == Type.VOID) {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+            return;
+        }
+        if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) {
+            return;
+        }
+
+        String wrapper = getWrapperName(type);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper, "valueOf", "(" + type.getDescriptor() + ")L" + wrapper + ";");
+    }
+
+    /**
+     * Check that a class and its enclosing classes are public, so that a generated class of another class loader can
+     * refer to it.
+     */
+    public static boolean isPublic(Class<?> clazz) {
+        for (; clazz != null; clazz = clazz.getEnclosingClass()) {
+            if (!Modifier.isPublic(clazz.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Call a method, the instance and the arguments being on the stack, the instance is left out for static methods.
+     */
+    public static void invoke(MethodVisitor mv, Method method) {
+        Class<?> clazz = method.getDeclaringClass();
+
+        int opcode;
+        if (Modifier.isStatic(method.getModifiers())) {
+            opcode = Opcodes.INVOKESTATIC;
+        } else if (clazz.isInterface()) {
+            opcode = Opcodes.INVOKEINTERFACE;
+        } else {
+            opcode = Opcodes.INVOKEVIRTUAL;
+        }
+        mv.visitMethodInsn(opcode, Type.getInternalName(clazz), method.getName(), Type.getMethodDescriptor(method));
+    }
+}
@@ -0,0 +1,143 @@
+package com.alibaba.webx.restful.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size bounded cache evicting the least recently used entries. The cache is split into segments selected by the key
+ * hash, each segment is an access ordered {@link LinkedHashMap} guarded by its own lock, so concurrent requests for
+ * different keys rarely contend.
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of cached values
+ */
+public final class ConcurrentLruCache<K, V> {
+
+    private static final int      MAX_SEGMENT_COUNT = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int             segmentMask;
+    private final int             maxSize;
+
+    private final AtomicLong      hitCount          = new AtomicLong();
+    private final AtomicLong      missCount         = new AtomicLong();
+    private final AtomicLong      evictionCount     = new AtomicLong();
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ConcurrentLruCache(int maxSize){
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive : " + maxSize);
+        }
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENT_COUNT && segmentCount * 2 * 16 <= maxSize) {
+            segmentCount <<= 1;
+        }
+
+        this.maxSize = maxSize;
+        this.segmentMask = segmentCount - 1;
+        this.segments = new Segment[segmentCount];
+
+        int segmentSize = maxSize / segmentCount;
+        for (int i = 0; i < segmentCount; ++i) {
+            // the first segments take the remainder, so that the capacities add up to maxSize
+            int capacity = i < maxSize % segmentCount ? segmentSize + 1 : segmentSize;
+            segments[i] = new Segment<K, V>(capacity, evictionCount);
+        }
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return segments[h & segmentMask];
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+
+        if (value == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "size " + size() + "/" + maxSize + ", hit " + getHitCount() + ", miss " + getMissCount()
+               + ", eviction " + getEvictionCount();
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int         capacity;
+        private final AtomicLong  evictionCount;
+
+        Segment(int capacity, AtomicLong evictionCount){
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictionCount = evictionCount;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > capacity) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
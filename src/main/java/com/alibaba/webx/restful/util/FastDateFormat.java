@@ -0,0 +1,290 @@
+package com.alibaba.webx.restful.util;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable and thread safe date format of a pattern and a time zone, shared by the parameters and the message body
+ * writers instead of a new {@link SimpleDateFormat} per value.
+ * <p>
+ * The patterns {@code yyyy-MM-dd}, {@code yyyy-MM-dd HH:mm:ss} and {@code yyyy-MM-dd HH:mm:ss.SSS} are parsed and
+ * formatted by hand for the years 1600 to 9999, a text not in the exact shape of the pattern, a local time falling in a
+ * time zone transition and the other patterns are handed to a {@link SimpleDateFormat} kept per thread, so the results
+ * are always those of {@link SimpleDateFormat}.
+ */
+public final class FastDateFormat {
+
+    public final static String                                 DATE             = "yyyy-MM-dd";
+    public final static String                                 DATE_TIME        = "yyyy-MM-dd HH:mm:ss";
+    public final static String                                 DATE_TIME_MILLIS = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private final static long                                  MILLIS_PER_DAY   = 24L * 60 * 60 * 1000;
+    private final static int                                   MIN_YEAR         = 1600;
+    private final static int                                   MAX_YEAR         = 9999;
+    private final static long                                  INVALID          = Long.MIN_VALUE;
+    private final static int[]                                 POWERS_OF_TEN    = { 1, 10, 100, 1000 };
+
+    /**
+     * The formats of the default time zone, the time zone is read once for each pattern.
+     */
+    private final static ConcurrentMap<String, FastDateFormat> formats;
+
+    static {
+        formats = new ConcurrentHashMap<String, FastDateFormat>();
+    }
+
+    private final String                                       pattern;
+    private final TimeZone                                     timeZone;
+
+    /**
+     * The length of the text of the pattern parsed by hand, -1 for the other patterns.
+     */
+    private final int                                          length;
+
+    private final ThreadLocal<SimpleDateFormat>                dateFormats;
+
+    public FastDateFormat(String pattern, TimeZone timeZone){
+        if (pattern == null) {
+            throw new IllegalArgumentException("pattern is null");
+        }
+
+        if (DATE.equals(pattern) || DATE_TIME.equals(pattern) || DATE_TIME_MILLIS.equals(pattern)) {
+            this.length = pattern.length();
+        } else {
+            this.length = -1;
+        }
+
+        // checks the pattern
+        new SimpleDateFormat(pattern);
+
+        this.pattern = pattern;
+        this.timeZone = (TimeZone) timeZone.clone();
+        this.dateFormats = new DateFormatThreadLocal(pattern, this.timeZone);
+    }
+
+    /**
+     * The shared format of a pattern in the default time zone.
+     */
+    public static FastDateFormat getInstance(String pattern) {
+        FastDateFormat format = formats.get(pattern);
+        if (format == null) {
+            format = new FastDateFormat(pattern, TimeZone.getDefault());
+            FastDateFormat previous = formats.putIfAbsent(pattern, format);
+            if (previous != null) {
+                format = previous;
+            }
+        }
+        return format;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) timeZone.clone();
+    }
+
+    public Date parse(String text) throws ParseException {
+        if (text.length() == length) {
+            long millis = parseMillis(text);
+            if (millis != INVALID) {
+                return new Date(millis);
+            }
+        }
+
+        return dateFormats.get().parse(text);
+    }
+
+    public String format(Date date) {
+        StringBuilder buf = new StringBuilder(length > 0 ? length : 32);
+        try {
+            format(date.getTime(), buf);
+        } catch (IOException e) {
+            // not thrown by a string builder
+            throw new IllegalStateException(e);
+        }
+        return buf.toString();
+    }
+
+    public void format(long millis, Appendable out) throws IOException {
+        if (length < 0 || !formatMillis(millis, out)) {
+            out.append(dateFormats.get().format(new Date(millis)));
+        }
+    }
+
+    private long parseMillis(String text) {
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return INVALID;
+        }
+
+        int year = parseDigits(text, 0, 4);
+        int month = parseDigits(text, 5, 2);
+        int day = parseDigits(text, 8, 2);
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > getDaysOfMonth(year, month)) {
+            return INVALID;
+        }
+
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millisecond = 0;
+        if (length > DATE.length()) {
+            if (text.charAt(10) != ' ' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+                return INVALID;
+            }
+
+            hour = parseDigits(text, 11, 2);
+            minute = parseDigits(text, 14, 2);
+            second = parseDigits(text, 17, 2);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return INVALID;
+            }
+
+            if (length > DATE_TIME.length()) {
+                if (text.charAt(19) != '.') {
+                    return INVALID;
+                }
+
+                millisecond = parseDigits(text, 20, 3);
+                if (millisecond < 0) {
+                    return INVALID;
+                }
+            }
+        }
+
+        long localMillis = getDays(year, month, day) * MILLIS_PER_DAY
+                           + ((hour * 60L + minute) * 60L + second) * 1000L + millisecond;
+
+        // the offset of the local time read as standard time, as a calendar does
+        int offset = timeZone.getOffset(localMillis - timeZone.getRawOffset());
+        long millis = localMillis - offset;
+        if (timeZone.getOffset(millis) != offset) {
+            return INVALID;
+        }
+
+        return millis;
+    }
+
+    private boolean formatMillis(long millis, Appendable out) throws IOException {
+        long localMillis = millis + timeZone.getOffset(millis);
+        long days = localMillis / MILLIS_PER_DAY;
+        long millisOfDay = localMillis % MILLIS_PER_DAY;
+        if (millisOfDay < 0) {
+            days--;
+            millisOfDay += MILLIS_PER_DAY;
+        }
+
+        // days since 0000-03-01, the leap day being the last day of a year
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return false;
+        }
+
+        appendDigits(out, (int) year, 4);
+        out.append('-');
+        appendDigits(out, month, 2);
+        out.append('-');
+        appendDigits(out, day, 2);
+
+        if (length > DATE.length()) {
+            int secondOfDay = (int) (millisOfDay / 1000);
+            out.append(' ');
+            appendDigits(out, secondOfDay / 3600, 2);
+            out.append(':');
+            appendDigits(out, secondOfDay / 60 % 60, 2);
+            out.append(':');
+            appendDigits(out, secondOfDay % 60, 2);
+
+            if (length > DATE_TIME.length()) {
+                out.append('.');
+                appendDigits(out, (int) (millisOfDay % 1000), 3);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the value of the digits, -1 when a character is not a digit.
+     */
+    private static int parseDigits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; ++i) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    private static void appendDigits(Appendable out, int value, int count) throws IOException {
+        for (int divisor = POWERS_OF_TEN[count - 1]; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static int getDaysOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return the days from 1970-01-01 to a date of the gregorian calendar.
+     */
+    private static long getDays(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    @Override
+    public String toString() {
+        return "date format " + pattern + ", " + timeZone.getID();
+    }
+
+    private static final class DateFormatThreadLocal extends ThreadLocal<SimpleDateFormat> {
+
+        private final String   pattern;
+        private final TimeZone timeZone;
+
+        DateFormatThreadLocal(String pattern, TimeZone timeZone){
+            this.pattern = pattern;
+            this.timeZone = timeZone;
+        }
+
+        @Override
+        protected SimpleDateFormat initialValue() {
+            SimpleDateFormat dateFormat = new SimpleDateFormat(pattern);
+            dateFormat.setTimeZone((TimeZone) timeZone.clone());
+            return dateFormat;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.alibaba.webx.restful.util;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -29,9 +30,12 @@ import javax.ws.rs.ext.Provider;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.objectweb.asm.ClassReader;
 import org.springframework.context.ApplicationContext;
 
+import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.webx.restful.Constants;
+import com.alibaba.webx.restful.annotation.PerRequest;
 import com.alibaba.webx.restful.model.InstanceConstructor;
 import com.alibaba.webx.restful.model.MultiInstanceConstructor;
 import com.alibaba.webx.restful.model.InstanceSetter;
@@ -40,6 +44,7 @@ import com.alibaba.webx.restful.model.Parameter;
 import com.alibaba.webx.restful.model.Resource;
 import com.alibaba.webx.restful.model.ResourceMethod;
 import com.alibaba.webx.restful.model.SingletonInstanceConstructor;
+import com.alibaba.webx.restful.model.finder.AnnotatedClassVisitor;
 import com.alibaba.webx.restful.model.finder.ClassInfo;
 import com.alibaba.webx.restful.model.finder.MethodInfo;
 import com.alibaba.webx.restful.model.finder.PackageNamesScanner;
@@ -110,24 +115,61 @@ public class ResourceUtils {
 
         InstanceConstructor handlerConstructor;
         if (resouceInstance == null) {
+            MultiInstanceConstructor multiInstanceConstructor;
             try {
-                handlerConstructor = createHandlerConstructor(applicationContxt, parameterProvider, clazz, classInfo);
+                multiInstanceConstructor = createHandlerConstructor(applicationContxt, parameterProvider, clazz,
+                                                                    classInfo);
             } catch (Exception e) {
                 LOG.error("load resourceClass error. class '" + clazz.getName() + "'", e);
                 return null;
             }
 
-            if (handlerConstructor == null) {
+            if (multiInstanceConstructor == null) {
                 LOG.error("load resourceClass error, constructor not found. class '" + clazz.getName() + "'");
                 return null;
             }
+
+            handlerConstructor = promoteSingleton(clazz, multiInstanceConstructor);
         } else {
             handlerConstructor = new SingletonInstanceConstructor(clazz, resouceInstance);
         }
 
+        return buildResource(parameterProvider, clazz, classInfo, handlerConstructor, pathAnnotation.value(), true);
+    }
+
+    /**
+     * Create a single instance of a resource class reading nothing from the request, the instance is shared by the
+     * requests unless the class is annotated with {@link PerRequest}.
+     */
+    private static InstanceConstructor promoteSingleton(Class<?> clazz, MultiInstanceConstructor constructor) {
+        if (clazz.isAnnotationPresent(PerRequest.class) || !constructor.isRequestIndependent()) {
+            return constructor;
+        }
+
+        Object resourceInstance;
+        try {
+            resourceInstance = constructor.createInstance(null);
+        } catch (Exception e) {
+            LOG.warn("create singleton error, created per request. class '" + clazz.getName() + "'", e);
+            return constructor;
+        }
+
+        LOG.info("resourceClass promoted to singleton. class '" + clazz.getName() + "'");
+        return new SingletonInstanceConstructor(clazz, resourceInstance);
+    }
+
+    /**
+     * Build the model of a sub-resource class, the class of the objects returned by a sub-resource locator. The
+     * instances are returned by the locators, so the resource never creates them.
+     */
+    public static Resource buildSubResource(ParameterProvider parameterProvider, Class<?> clazz, ClassInfo classInfo) {
+        InstanceConstructor handlerConstructor = new SingletonInstanceConstructor(clazz, null);
+        return buildResource(parameterProvider, clazz, classInfo, handlerConstructor, null, false);
+    }
+
+    private static Resource buildResource(ParameterProvider parameterProvider, Class<?> clazz, ClassInfo classInfo,
+                                          InstanceConstructor handlerConstructor, String path, boolean isRoot) {
         String name = clazz.getName();
-        boolean isRoot = true;
-        String path = pathAnnotation.value();
         List<ResourceMethod> resourceMethods = new ArrayList<ResourceMethod>();
         List<ResourceMethod> subResourceMethods = new ArrayList<ResourceMethod>();
         List<ResourceMethod> subResourceLocators = new ArrayList<ResourceMethod>();
@@ -166,6 +208,27 @@ public class ResourceUtils {
         return resource;
     }
 
+    /**
+     * Read the class file of a class, for the parameter names of its methods.
+     */
+    @SuppressWarnings("unchecked")
+    public static ClassInfo readClassInfo(Class<?> clazz) throws IOException {
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        InputStream in = null;
+        try {
+            in = clazz.getClassLoader().getResourceAsStream(resourceName);
+            if (in == null) {
+                throw new IOException("class file not found : " + resourceName);
+            }
+
+            AnnotatedClassVisitor classVisitor = new AnnotatedClassVisitor();
+            new ClassReader(in).accept(classVisitor, 0);
+            return classVisitor.getClassInfo();
+        } finally {
+            IOUtils.close(in);
+        }
+    }
+
     private static String getHttpMethod(Method method) {
         HttpMethod httpMethodAnnotation = null;
 
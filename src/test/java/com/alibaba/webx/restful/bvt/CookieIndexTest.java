@@ -0,0 +1,99 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.util.Map;
+
+import javax.servlet.http.Cookie;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.process.CookieIndex;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+
+public class CookieIndexTest extends HelloworldTestBase {
+
+    public void test_index() throws Exception {
+        CookieIndex index = new CookieIndex(" sid=abc; theme = \"dark; blue\" ;;=x; flag; sid=def; empty=");
+        Assert.assertEquals(4, index.size());
+
+        Assert.assertEquals("abc", index.getFirst("sid"));
+        Assert.assertEquals("dark; blue", index.getFirst("theme"));
+        Assert.assertEquals("", index.getFirst("empty"));
+        Assert.assertNull(index.getFirst("flag"));
+        Assert.assertNull(index.getFirst("x"));
+
+        Assert.assertEquals("sid", index.getName(2));
+        Assert.assertEquals("def", index.getValue(2));
+
+        // the first cookie of a name is kept
+        Map<String, javax.ws.rs.core.Cookie> cookies = index.toCookieMap();
+        Assert.assertEquals(3, cookies.size());
+        Assert.assertEquals("abc", cookies.get("sid").getValue());
+        Assert.assertSame(cookies.get("sid"), index.getCookie(0));
+
+        Assert.assertEquals(0, new CookieIndex((String) null).size());
+        Assert.assertEquals(0, new CookieIndex("").size());
+        Assert.assertEquals(0, CookieIndex.EMPTY.toCookieMap().size());
+    }
+
+    public void test_attributes() throws Exception {
+        CookieIndex index = new CookieIndex("$Version=1; a=\"1\"; $Path=\"/orders\"; $Domain=.example.com; b=2");
+        Assert.assertEquals(2, index.size());
+
+        javax.ws.rs.core.Cookie a = index.getCookie(0);
+        Assert.assertEquals("1", a.getValue());
+        Assert.assertEquals("/orders", a.getPath());
+        Assert.assertEquals(".example.com", a.getDomain());
+        Assert.assertEquals(1, a.getVersion());
+
+        javax.ws.rs.core.Cookie b = index.getCookie(1);
+        Assert.assertNull(b.getPath());
+        Assert.assertEquals(1, b.getVersion());
+    }
+
+    public void test_grow() throws Exception {
+        StringBuilder header = new StringBuilder("$Version=1");
+        for (int i = 0; i < 20; ++i) {
+            header.append("; c").append(i).append('=').append(i);
+            if (i % 7 == 0) {
+                header.append("; $Path=/").append(i);
+            }
+        }
+
+        CookieIndex index = new CookieIndex(header.toString());
+        Assert.assertEquals(20, index.size());
+        for (int i = 0; i < 20; ++i) {
+            Assert.assertEquals(String.valueOf(i), index.getFirst("c" + i));
+            Assert.assertEquals(i % 7 == 0 ? "/" + i : null, index.getCookie(i).getPath());
+        }
+    }
+
+    public void test_parameter() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/stats/visitor");
+        MockHttpServletRequest request = (MockHttpServletRequest) requestContext.getHttpRequest();
+        request.addHeader("Cookie", "visits=3");
+        request.addHeader("Cookie", "sid=s1; visits=4");
+        Assert.assertEquals("s1 3", service(requestContext));
+        Assert.assertSame(requestContext.getCookieIndex(), requestContext.getCookieIndex());
+        Assert.assertEquals("3", requestContext.getCookies().get("visits").getValue());
+
+        // cookies of the servlet request only
+        requestContext = createRequestContext("GET", "/stats/visitor");
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).setCookies(new Cookie[] { new Cookie("sid", "s2") });
+        Assert.assertEquals("s2 0", service(requestContext));
+
+        // no cookies
+        requestContext = createRequestContext("GET", "/stats/visitor");
+        Assert.assertEquals("null 0", service(requestContext));
+        Assert.assertTrue(requestContext.getCookies().isEmpty());
+    }
+
+    private String service(ContainerRequestContextImpl requestContext) throws Exception {
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        component.getHandler().service(requestContext);
+        return ((MockHttpServletResponse) requestContext.getHttpResponse()).getContentAsString();
+    }
+}
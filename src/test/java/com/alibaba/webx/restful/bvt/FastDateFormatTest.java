@@ -0,0 +1,133 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.model.converter.DateConverter;
+import com.alibaba.webx.restful.process.JSONMessageBodyWriter;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.util.FastDateFormat;
+
+public class FastDateFormatTest extends HelloworldTestBase {
+
+    private static final String[] PATTERNS   = { FastDateFormat.DATE, FastDateFormat.DATE_TIME,
+            FastDateFormat.DATE_TIME_MILLIS, "yyyy/MM/dd HH:mm" };
+
+    private static final String[] TIME_ZONES = { "UTC", "Asia/Shanghai", "America/New_York", "Australia/Lord_Howe" };
+
+    public void test_format() throws Exception {
+        Random random = new Random(1);
+        for (String timeZoneId : TIME_ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
+            for (String pattern : PATTERNS) {
+                FastDateFormat format = new FastDateFormat(pattern, timeZone);
+                SimpleDateFormat expected = new SimpleDateFormat(pattern);
+                expected.setTimeZone(timeZone);
+
+                for (int i = 0; i < 2000; ++i) {
+                    // 1500 to 2500, and a few out of the range formatted by hand
+                    long millis = -14831769600000L + (long) (random.nextDouble() * 31556952000000L);
+                    Date date = new Date(millis);
+                    Assert.assertEquals(expected.format(date), format.format(date));
+                }
+                Date date = new Date(253402300800000L);
+                Assert.assertEquals(expected.format(date), format.format(date));
+            }
+        }
+    }
+
+    public void test_parse() throws Exception {
+        Random random = new Random(2);
+        for (String timeZoneId : TIME_ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
+            for (String pattern : PATTERNS) {
+                FastDateFormat format = new FastDateFormat(pattern, timeZone);
+                SimpleDateFormat expected = new SimpleDateFormat(pattern);
+                expected.setTimeZone(timeZone);
+
+                for (int i = 0; i < 2000; ++i) {
+                    long millis = -14831769600000L + (long) (random.nextDouble() * 31556952000000L);
+                    String text = expected.format(new Date(millis));
+                    Assert.assertEquals(text, expected.parse(text), format.parse(text));
+                }
+            }
+        }
+    }
+
+    public void test_parse_lenient() throws Exception {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        FastDateFormat format = new FastDateFormat(FastDateFormat.DATE_TIME, timeZone);
+        SimpleDateFormat expected = new SimpleDateFormat(FastDateFormat.DATE_TIME);
+        expected.setTimeZone(timeZone);
+
+        // transitions, out of range fields, other shapes, all as read by SimpleDateFormat
+        String[] texts = { "2012-03-11 02:30:00", "2012-11-04 01:30:00", "2012-02-30 10:00:00", "2012-13-01 00:00:00",
+                "2012-1-5 3:04:05", "2012-01-01 24:00:00", "2012-01-01 10:00:00 extra", "1582-10-10 00:00:00" };
+        for (String text : texts) {
+            Assert.assertEquals(text, expected.parse(text), format.parse(text));
+        }
+    }
+
+    public void test_converter() throws Exception {
+        DateConverter converter = new DateConverter();
+        SimpleDateFormat expected = new SimpleDateFormat(FastDateFormat.DATE_TIME_MILLIS);
+
+        Assert.assertEquals(expected.parse("2012-06-01 00:00:00.000"), converter.convert("2012-06-01"));
+        Assert.assertEquals(expected.parse("2012-06-01 08:30:15.000"), converter.convert("2012-06-01 08:30:15"));
+        Assert.assertEquals(expected.parse("2012-06-01 08:30:15.250"), converter.convert("2012-06-01 08:30:15.250"));
+        Assert.assertEquals(new Date(1338510615250L), converter.convert("1338510615250"));
+
+        Assert.assertEquals(expected.parse("2012-06-01 08:30:00.000"),
+                            new DateConverter("yyyy/MM/dd HH:mm").convert("2012/06/01 08:30"));
+    }
+
+    public void test_now_default() throws Exception {
+        // computed for each request, not when the resource is built
+        long start = System.currentTimeMillis();
+        Thread.sleep(20);
+        long since = Long.parseLong(service("/stats/since", null));
+        Assert.assertTrue(since > start);
+        Assert.assertTrue(since <= System.currentTimeMillis());
+
+        Assert.assertEquals("1338510615250", service("/stats/since", "1338510615250"));
+    }
+
+    public void test_json() throws Exception {
+        Date date = new Date(1338510615250L);
+        Object object = Collections.singletonMap("date", date);
+        SerializerFeature[] features = new SerializerFeature[] { SerializerFeature.DisableCircularReferenceDetect,
+                SerializerFeature.BrowserCompatible, SerializerFeature.WriteDateUseDateFormat };
+
+        String expected = new String(JSON.toJSONBytes(object, features), "UTF-8");
+        Assert.assertEquals(expected, new String(JSONMessageBodyWriter.toJSONBytes(object, "UTF-8", features), "UTF-8"));
+
+        Object timestamp = Collections.singletonMap("date", new java.sql.Timestamp(1338510615250L));
+        Assert.assertEquals(expected, new String(JSONMessageBodyWriter.toJSONBytes(timestamp, "UTF-8", features),
+                                                 "UTF-8"));
+
+        // milliseconds without the date format feature
+        Assert.assertEquals(JSON.toJSONString(object), new String(JSONMessageBodyWriter.toJSONBytes(object, "UTF-8"),
+                                                                  "UTF-8"));
+    }
+
+    private String service(String path, String from) throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", path);
+        if (from != null) {
+            ((MockHttpServletRequest) requestContext.getHttpRequest()).addParameter("from", from);
+        }
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        component.getHandler().service(requestContext);
+        return ((MockHttpServletResponse) requestContext.getHttpResponse()).getContentAsString();
+    }
+}
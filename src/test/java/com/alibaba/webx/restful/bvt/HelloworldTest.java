@@ -17,6 +17,7 @@ public class HelloworldTest extends HelloworldTestBase {
         MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
         MockHttpServletResponse response = new MockHttpServletResponse();
 
+        request.setMethod("GET");
         request.setServletPath("/rest");
         request.setContextPath("/study");
         request.setRequestURI("/study/rest/helloworld/now");
@@ -30,4 +31,38 @@ public class HelloworldTest extends HelloworldTestBase {
         String content = response.getContentAsString();
         System.out.println(content);
     }
+
+    public void test_pass_through() throws Exception {
+        Assert.assertTrue(component.getHandler().isRoutable("/helloworld.json", 0, 16));
+        Assert.assertTrue(component.getHandler().isRoutable("/orders", 0, 7));
+        Assert.assertFalse(component.getHandler().isRoutable("/order", 0, 6));
+        Assert.assertFalse(component.getHandler().isRoutable("/static/app.js", 0, 14));
+
+        // no resource has the prefix
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(createRequest("/study/rest/static/app.js"), response, chain);
+        Assert.assertNotNull(chain.getRequest());
+        Assert.assertEquals("", response.getContentAsString());
+
+        // a resource has the prefix, no route matches
+        chain = new MockFilterChain();
+        filter.doFilter(createRequest("/study/rest/helloworld/now/1"), new MockHttpServletResponse(), chain);
+        Assert.assertNotNull(chain.getRequest());
+
+        chain = new MockFilterChain();
+        response = new MockHttpServletResponse();
+        filter.doFilter(createRequest("/study/rest/helloworld"), response, chain);
+        Assert.assertNull(chain.getRequest());
+        Assert.assertEquals("Hello World!", response.getContentAsString());
+    }
+
+    private MockHttpServletRequest createRequest(String requestURI) {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+        request.setMethod("GET");
+        request.setServletPath("/rest");
+        request.setContextPath("/study");
+        request.setRequestURI(requestURI);
+        return request;
+    }
 }
@@ -0,0 +1,78 @@
+package com.alibaba.webx.restful.bvt;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.Constants;
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.examples.helloworld.OrdersResource;
+import com.alibaba.webx.restful.model.InstancePool;
+import com.alibaba.webx.restful.model.InstancePool.PooledInstance;
+import com.alibaba.webx.restful.model.MultiInstanceConstructor;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+
+public class InstancePoolTest extends HelloworldTestBase {
+
+    protected void addInitParameters(MockFilterConfig filterConfig) {
+        filterConfig.addInitParameter(Constants.INSTANCE_POOL_SIZE, "2");
+    }
+
+    public void test_reuse() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/5");
+        InstancePool pool = getInstancePool(requestContext);
+        Assert.assertNotNull(pool);
+        Assert.assertEquals(OrdersResource.class, pool.getHandlerClass());
+
+        Assert.assertEquals("{\"id\":5,\"name\":\"name_5\"}", service(requestContext).getContentAsString());
+        Assert.assertEquals(0, pool.getHitCount());
+        Assert.assertEquals(1, pool.getMissCount());
+        Assert.assertEquals(0, pool.getActiveCount());
+        Assert.assertEquals(1, pool.getIdleCount());
+
+        // the path parameter is set again, the autowired service kept
+        Assert.assertEquals("{\"id\":7,\"name\":\"name_7\"}", service(createRequestContext("GET", "/orders/7"))
+                .getContentAsString());
+        Assert.assertEquals(1, pool.getHitCount());
+        Assert.assertEquals(1, pool.getMissCount());
+
+        Assert.assertEquals("7/1", service(createRequestContext("GET", "/orders/7/items/1")).getContentAsString());
+        Assert.assertEquals(2, pool.getHitCount());
+    }
+
+    public void test_release() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/5");
+        InstancePool pool = getInstancePool(requestContext);
+
+        PooledInstance first = pool.borrow(requestContext);
+        PooledInstance second = pool.borrow(requestContext);
+        Assert.assertNotSame(first.getInstance(), second.getInstance());
+        Assert.assertEquals(2, pool.getActiveCount());
+
+        pool.release(first);
+        pool.release(second);
+        Assert.assertEquals(0, pool.getActiveCount());
+
+        try {
+            pool.release(first);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // released twice
+        }
+        Assert.assertEquals(0, pool.getLeakCount());
+    }
+
+    private InstancePool getInstancePool(ContainerRequestContextImpl requestContext) {
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        MultiInstanceConstructor constructor = (MultiInstanceConstructor) requestContext.getResourceMethod()
+                .getInvocable().getConstructor();
+        return constructor.getInstancePool();
+    }
+
+    private MockHttpServletResponse service(ContainerRequestContextImpl requestContext) throws Exception {
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        component.getHandler().service(requestContext);
+        return (MockHttpServletResponse) requestContext.getHttpResponse();
+    }
+}
@@ -0,0 +1,204 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.examples.helloworld.Order;
+import com.alibaba.webx.restful.examples.helloworld.OrdersResource;
+import com.alibaba.webx.restful.model.Invocable;
+import com.alibaba.webx.restful.model.MultiInstanceConstructor;
+import com.alibaba.webx.restful.model.invoker.AsmInvokerFactory;
+import com.alibaba.webx.restful.model.invoker.Binder;
+import com.alibaba.webx.restful.model.invoker.DefaultBinder;
+import com.alibaba.webx.restful.model.invoker.DefaultInjector;
+import com.alibaba.webx.restful.model.invoker.Invoker;
+import com.alibaba.webx.restful.model.invoker.ReflectionInvoker;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.route.Route;
+
+public class InvokerTest extends HelloworldTestBase {
+
+    public void test_resources() throws Exception {
+        for (Route route : component.getHandler().getRouter().getRoutes()) {
+            Invoker invoker = route.getResourceMethods().get(0).getInvocable().getInvoker();
+            Assert.assertFalse(invoker instanceof ReflectionInvoker);
+        }
+    }
+
+    public void test_binder() throws Exception {
+        for (Route route : component.getHandler().getRouter().getRoutes()) {
+            Invocable invocable = route.getResourceMethods().get(0).getInvocable();
+            Assert.assertFalse(invocable.getBinder() instanceof DefaultBinder);
+        }
+
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123/ljw");
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+
+        // the path parameter and the unannotated parameter read by the generated binder
+        Invocable invocable = requestContext.getResourceMethod().getInvocable();
+        Order order = (Order) invocable.invoke(invocable.createInstance(requestContext), requestContext);
+        Assert.assertEquals(123, order.getId());
+        Assert.assertEquals("ljw", order.getName());
+    }
+
+    public void test_binder_strategies() throws Exception {
+        // the default values, the zero values of the primitive parameters without default
+        Assert.assertEquals("2 1 id null 0 false", assertSameValue("/stats/page/2", null, null));
+        // the empty values
+        Assert.assertEquals("2 1 id null 0 false",
+                            assertSameValue("/stats/page/2", "page=&size=&limit=&desc=", ""));
+        Assert.assertEquals("2 3 name 10 20 true",
+                            assertSameValue("/stats/page/2", "page=3&size=10&limit=20&desc=true", "name"));
+
+        // the conversion errors
+        Assert.assertTrue(assertSameValue("/stats/page/x", null, null) instanceof Class<?>);
+        Assert.assertTrue(assertSameValue("/stats/page/2", "page=x", null) instanceof Class<?>);
+        Assert.assertTrue(assertSameValue("/stats/page/2", "size=x", null) instanceof Class<?>);
+        Assert.assertTrue(assertSameValue("/stats/page/2", "limit=x", null) instanceof Class<?>);
+    }
+
+    /**
+     * Bind the request by the generated binder and by the parameters of the method, the results must be the same.
+     *
+     * @return the result, the class of the exception if the binding failed.
+     */
+    private Object assertSameValue(String path, String query, String sort) throws Exception {
+        Object value = bind(path, query, sort, true);
+        Assert.assertEquals(value, bind(path, query, sort, false));
+        return value;
+    }
+
+    private Object bind(String path, String query, String sort, boolean generated) throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", path);
+        MockHttpServletRequest request = (MockHttpServletRequest) requestContext.getHttpRequest();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int equals = pair.indexOf('=');
+                request.addParameter(pair.substring(0, equals), pair.substring(equals + 1));
+            }
+        }
+        if (sort != null) {
+            request.addHeader("X-Sort", sort);
+        }
+
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+
+        Invocable invocable = requestContext.getResourceMethod().getInvocable();
+        Binder binder = invocable.getBinder();
+        Assert.assertFalse(binder instanceof DefaultBinder);
+        if (!generated) {
+            binder = new DefaultBinder(invocable);
+        }
+
+        try {
+            return binder.invoke(invocable.createInstance(requestContext), requestContext);
+        } catch (Exception e) {
+            return e.getClass();
+        }
+    }
+
+    public void test_injector() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123");
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+
+        Invocable invocable = requestContext.getResourceMethod().getInvocable();
+        MultiInstanceConstructor constructor = (MultiInstanceConstructor) invocable.getConstructor();
+        Assert.assertFalse(constructor.getInjector() instanceof DefaultInjector);
+        Assert.assertFalse(constructor.getRequestInjector() instanceof DefaultInjector);
+
+        // defined by class loaders of their own, unloaded when the resources are built again
+        Assert.assertNotSame(constructor.getInjector().getClass().getClassLoader(),
+                             constructor.getRequestInjector().getClass().getClassLoader());
+        Assert.assertNotSame(constructor.getInjector().getClass().getClassLoader(),
+                             invocable.getInvoker().getClass().getClassLoader());
+
+        // the int property set without boxing, the autowired one through its field of the generated class
+        OrdersResource resource = (OrdersResource) constructor.createInstance(requestContext);
+        Assert.assertEquals(123, resource.getId());
+        Assert.assertNotNull(resource.getService());
+
+        resource.setService(null);
+        constructor.resetInstance(resource, requestContext);
+        Assert.assertNull(resource.getService());
+    }
+
+    public void test_binder_unloaded() throws Exception {
+        AsmInvokerFactory factory = new AsmInvokerFactory();
+        Invocable invocable = component.getHandler().getRouter().getRoutes().get(0).getResourceMethods().get(0)
+                                       .getInvocable();
+
+        // a binder generated again is defined by a class loader of its own, not by the one of the invokers
+        Binder binder = factory.createBinder(invocable);
+        Assert.assertFalse(binder instanceof DefaultBinder);
+        Assert.assertNotSame(binder.getClass().getClassLoader(),
+                             factory.createBinder(invocable).getClass().getClassLoader());
+        Assert.assertNotSame(binder.getClass().getClassLoader(),
+                             factory.createInvoker(invocable.getMethod()).getClass().getClassLoader());
+
+        // and unloaded once dropped
+        WeakReference<ClassLoader> classLoader = new WeakReference<ClassLoader>(binder.getClass().getClassLoader());
+        binder = null;
+        for (int i = 0; i < 10 && classLoader.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(classLoader.get());
+    }
+
+    public void test_asm() throws Exception {
+        AsmInvokerFactory factory = new AsmInvokerFactory();
+
+        Method add = Calculator.class.getMethod("add", int.class, long.class);
+        Invoker invoker = factory.createInvoker(add);
+        Assert.assertSame(invoker, factory.createInvoker(add));
+        Assert.assertEquals(Long.valueOf(5), invoker.invoke(new Calculator(), new Object[] { 2, 3L }));
+
+        Calculator calculator = new Calculator();
+        Assert.assertNull(factory.createInvoker(Calculator.class.getMethod("clear")).invoke(calculator, new Object[0]));
+        Assert.assertTrue(calculator.cleared);
+
+        Invoker name = factory.createInvoker(Calculator.class.getMethod("name", String.class));
+        Assert.assertEquals("calc-1", name.invoke(null, new Object[] { "1" }));
+
+        // thrown as is, not wrapped
+        try {
+            factory.createInvoker(Calculator.class.getMethod("fail")).invoke(calculator, new Object[0]);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("fail", e.getMessage());
+        }
+
+        Method hidden = Calculator.class.getDeclaredMethod("hidden");
+        Assert.assertTrue(factory.createInvoker(hidden) instanceof ReflectionInvoker);
+    }
+
+    public static class Calculator {
+
+        boolean cleared;
+
+        public long add(int a, long b) {
+            return a + b;
+        }
+
+        public void clear() {
+            cleared = true;
+        }
+
+        public static String name(String id) {
+            return "calc-" + id;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+
+        String hidden() {
+            return "hidden";
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.Constants;
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.model.converter.ArrayConverter;
+import com.alibaba.webx.restful.model.converter.CollectionConverter;
+import com.alibaba.webx.restful.model.converter.JSONConverter;
+import com.alibaba.webx.restful.model.converter.MultiValueConverter;
+import com.alibaba.webx.restful.model.converter.TypeConvertException;
+import com.alibaba.webx.restful.model.converter.TypeConverterProviderImpl;
+import com.alibaba.webx.restful.process.ProcessException;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+
+public class MultiValueParameterTest extends HelloworldTestBase {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    protected void addInitParameters(MockFilterConfig filterConfig) {
+        filterConfig.addInitParameter(Constants.MAX_PARAMETER_VALUES, "5");
+        filterConfig.addInitParameter(Constants.QUERY_INDEX, "true");
+    }
+
+    public void test_array() throws Exception {
+        TypeConverterProviderImpl provider = new TypeConverterProviderImpl(5);
+
+        MultiValueConverter converter = (MultiValueConverter) provider.create(int[].class, int[].class, NO_ANNOTATIONS);
+        Assert.assertTrue(converter instanceof ArrayConverter);
+        Assert.assertTrue(Arrays.equals(new int[] { 1, 2, 3, -4 },
+                                        (int[]) converter.convert(new String[] { "1", "2, 3", ",-4," })));
+        Assert.assertTrue(Arrays.equals(new int[0], (int[]) converter.convert(new String[] { " , " })));
+
+        // the former JSON form
+        Assert.assertTrue(Arrays.equals(new int[] { 7, 8 }, (int[]) converter.convert("[7,8]")));
+
+        Object longs = provider.create(long[].class, long[].class, NO_ANNOTATIONS).convert("9007199254740993,1");
+        Assert.assertTrue(Arrays.equals(new long[] { 9007199254740993L, 1L }, (long[]) longs));
+
+        Object units = provider.create(TimeUnit[].class, TimeUnit[].class, NO_ANNOTATIONS).convert("SECONDS,0");
+        Assert.assertTrue(Arrays.equals(new TimeUnit[] { TimeUnit.SECONDS, TimeUnit.NANOSECONDS }, (Object[]) units));
+
+        // strings are not split
+        Object names = provider.create(String[].class, String[].class, NO_ANNOTATIONS).convert("a,b");
+        Assert.assertTrue(Arrays.equals(new String[] { "a,b" }, (Object[]) names));
+
+        try {
+            converter.convert(new String[] { "1,2,3", "4,5,6" });
+            Assert.fail();
+        } catch (TypeConvertException e) {
+            // more than 5 values
+        }
+
+        try {
+            converter.convert("1,x");
+            Assert.fail();
+        } catch (NumberFormatException e) {
+            // as a single int
+        }
+    }
+
+    public void test_collection() throws Exception {
+        TypeConverterProviderImpl provider = new TypeConverterProviderImpl();
+
+        java.lang.reflect.Type listType = Holder.class.getField("list").getGenericType();
+        MultiValueConverter converter = (MultiValueConverter) provider.create(List.class, listType, NO_ANNOTATIONS);
+        Assert.assertTrue(converter instanceof CollectionConverter);
+        Assert.assertSame(converter, provider.create(List.class, listType, NO_ANNOTATIONS));
+        Assert.assertEquals(Arrays.asList(3L, 1L, 3L), converter.convert(new String[] { "3,1", "3" }));
+
+        java.lang.reflect.Type setType = Holder.class.getField("set").getGenericType();
+        Set<?> set = (Set<?>) provider.create(Set.class, setType, NO_ANNOTATIONS).convert("3,1,3");
+        Assert.assertEquals(Arrays.asList(3L, 1L), Arrays.asList(set.toArray()));
+
+        java.lang.reflect.Type sortedSetType = Holder.class.getField("sortedSet").getGenericType();
+        SortedSet<?> sortedSet = (SortedSet<?>) provider.create(SortedSet.class, sortedSetType, NO_ANNOTATIONS)
+                                                        .convert("3,1,3");
+        Assert.assertEquals(Arrays.asList(1L, 3L), Arrays.asList(sortedSet.toArray()));
+
+        // elements without converter are read as JSON
+        java.lang.reflect.Type beansType = Holder.class.getField("beans").getGenericType();
+        Assert.assertTrue(provider.create(List.class, beansType, NO_ANNOTATIONS) instanceof JSONConverter);
+    }
+
+    public void test_binding() throws Exception {
+        // the servlet parameters
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/stats/sum");
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).addParameter("id", new String[] { "1,2", "3" });
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        Object[] args = requestContext.getResourceMethod().getInvocable().getArguments(requestContext);
+        Assert.assertTrue(Arrays.equals(new long[] { 1, 2, 3 }, (long[]) args[0]));
+        Assert.assertEquals(Arrays.asList(1, 2), args[1]);
+
+        // the query index, by the generated binder
+        Assert.assertEquals("60 [5, 0]", service("id=10&id=20,30&n=5"));
+
+        // the default value is not shared between requests
+        Assert.assertEquals("1 [1, 2, 0]", service("id=1"));
+        Assert.assertEquals("1 [1, 2, 0]", service("id=1"));
+
+        try {
+            service("id=1,2,3,4,5,6");
+            Assert.fail();
+        } catch (ProcessException e) {
+            // more than 5 values
+        }
+    }
+
+    private String service(String query) throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/stats/sum", query);
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        component.getHandler().service(requestContext);
+        return ((MockHttpServletResponse) requestContext.getHttpResponse()).getContentAsString();
+    }
+
+    public static class Holder {
+
+        public List<Long>      list;
+        public Set<Long>       set;
+        public SortedSet<Long> sortedSet;
+        public List<Holder>    beans;
+    }
+}
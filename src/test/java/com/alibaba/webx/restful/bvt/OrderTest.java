@@ -19,6 +19,7 @@ public class OrderTest extends HelloworldTestBase {
         MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
         MockHttpServletResponse response = new MockHttpServletResponse();
 
+        request.setMethod("GET");
         request.setServletPath("/rest");
         request.setContextPath("/study");
         request.setRequestURI("/study/rest/orders/123");
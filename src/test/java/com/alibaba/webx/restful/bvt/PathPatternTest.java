@@ -32,4 +32,33 @@ public class PathPatternTest extends TestCase {
         Assert.assertEquals("234", map.get("id"));
         Assert.assertEquals("ljw", map.get("name"));
     }
+
+    public void test_offsets() throws Exception {
+        PathPattern pattern = new PathPattern("/orders/{id: \\d+}/{name}",
+                                              PathPattern.RightHandPath.capturingZeroOrMoreSegments);
+        Assert.assertEquals(3, pattern.getGroupCount());
+
+        String path = "/v1/orders/123/jobs/items";
+        int[] offsets = new int[8];
+        Assert.assertEquals(3, pattern.match(path, 3, path.length(), offsets, 2));
+        Assert.assertEquals("123", path.substring(offsets[2], offsets[3]));
+        Assert.assertEquals("jobs", path.substring(offsets[4], offsets[5]));
+        Assert.assertEquals("/items", path.substring(offsets[6], offsets[7]));
+
+        Assert.assertEquals(-1, pattern.match(path, 0, path.length(), offsets, 0));
+        Assert.assertEquals(-1, pattern.match("/orders/abc/jobs", 0, 16, offsets, 0));
+    }
+
+    public void test_backtracking_risk() throws Exception {
+        Assert.assertFalse(new PathPattern("/orders/{id}/{name}").isBacktrackingRisk());
+        Assert.assertFalse(new PathPattern("/orders/{id: \\d+}").isBacktrackingRisk());
+        Assert.assertFalse(new PathPattern("/orders/{id: (\\d+)?}").isBacktrackingRisk());
+        Assert.assertFalse(new PathPattern("/orders/{id: (a++)+}").isBacktrackingRisk());
+        Assert.assertFalse(new PathPattern("/orders/{id: [(a+)]+}").isBacktrackingRisk());
+
+        Assert.assertTrue(new PathPattern("/orders/{id: (a+)+}").isBacktrackingRisk());
+        Assert.assertTrue(new PathPattern("/orders/{id: (?:\\w*\\d)*}").isBacktrackingRisk());
+        Assert.assertTrue(new PathPattern("/orders/{id: ((a|b)+c)+}").isBacktrackingRisk());
+        Assert.assertTrue(new PathPattern("/orders/{id: (a{1,3}){2,}}").isBacktrackingRisk());
+    }
 }
@@ -0,0 +1,76 @@
+package com.alibaba.webx.restful.bvt;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.webx.restful.model.converter.BooleanConverter;
+import com.alibaba.webx.restful.model.converter.DoubleConverter;
+import com.alibaba.webx.restful.model.converter.IntegerConverter;
+import com.alibaba.webx.restful.model.converter.LongConverter;
+import com.alibaba.webx.restful.model.converter.TypeConvertException;
+
+public class PrimitiveConverterTest extends TestCase {
+
+    public void test_int() throws Exception {
+        IntegerConverter converter = new IntegerConverter();
+        Assert.assertEquals(123, converter.toInt("/orders/123/ljw", 8, 11));
+        Assert.assertEquals(-5, converter.toInt("-5", 0, 2));
+        Assert.assertEquals(Integer.MAX_VALUE, converter.toInt("2147483647", 0, 10));
+        Assert.assertEquals(Integer.MIN_VALUE, converter.toInt("-2147483648", 0, 11));
+
+        for (String literalValue : new String[] { "", "-", "2147483648", "1a", "1.0", " 1" }) {
+            try {
+                converter.toInt(literalValue, 0, literalValue.length());
+                Assert.fail(literalValue);
+            } catch (NumberFormatException e) {
+                // as Integer.parseInt
+            }
+        }
+    }
+
+    public void test_long() throws Exception {
+        LongConverter converter = new LongConverter();
+        Assert.assertEquals(Long.MIN_VALUE, converter.toLong("-9223372036854775808", 0, 20));
+        Assert.assertEquals(42L, converter.toLong("+42", 0, 3));
+
+        try {
+            converter.toLong("9223372036854775808", 0, 19);
+            Assert.fail();
+        } catch (NumberFormatException e) {
+            // overflow
+        }
+    }
+
+    public void test_double() throws Exception {
+        DoubleConverter converter = new DoubleConverter();
+        String[] literalValues = { "0", "-0", "1.5", "-0.1", ".5", "1.", "3.14159", "1e10", "1.5E-3", "123456789012345",
+                "1234567890123456789", "0.000001", "1e300", "4.9e-324", "NaN", "-Infinity", "0x1p3", "1d", "007.50" };
+        for (String literalValue : literalValues) {
+            double expected = Double.parseDouble(literalValue);
+            double actual = converter.toDouble(literalValue, 0, literalValue.length());
+            Assert.assertEquals(literalValue, Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+        }
+
+        try {
+            converter.toDouble("1e", 0, 2);
+            Assert.fail();
+        } catch (NumberFormatException e) {
+            // as Double.parseDouble
+        }
+    }
+
+    public void test_boolean() throws Exception {
+        BooleanConverter converter = new BooleanConverter();
+        Assert.assertTrue(converter.toBoolean("TRUE", 0, 4));
+        Assert.assertTrue(converter.toBoolean("1", 0, 1));
+        Assert.assertFalse(converter.toBoolean("false", 0, 5));
+        Assert.assertEquals(Boolean.FALSE, converter.convert("0"));
+
+        try {
+            converter.toBoolean("yes", 0, 3);
+            Assert.fail();
+        } catch (TypeConvertException e) {
+            // neither true nor false
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.util.Arrays;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.Constants;
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.model.uri.QueryIndex;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.impl.UriInfoImpl;
+
+public class QueryIndexTest extends HelloworldTestBase {
+
+    protected void addInitParameters(MockFilterConfig filterConfig) {
+        filterConfig.addInitParameter(Constants.QUERY_INDEX, "true");
+    }
+
+    public void test_index() throws Exception {
+        QueryIndex index = new QueryIndex("a=1&b=x+y%21&a=2&&flag&=ignored&c=&d=1=2&e%5B%5D=3&m=%zz");
+        Assert.assertEquals(8, index.size());
+
+        Assert.assertEquals("1", index.getFirst("a"));
+        Assert.assertEquals(Arrays.asList("1", "2"), index.get("a"));
+        Assert.assertEquals("x y!", index.getFirst("b"));
+        Assert.assertEquals("x+y%21", index.getRawValue(1));
+        Assert.assertEquals("", index.getFirst("flag"));
+        Assert.assertEquals("", index.getFirst("c"));
+        Assert.assertEquals("1=2", index.getFirst("d"));
+        Assert.assertEquals("3", index.getFirst("e[]"));
+        Assert.assertEquals("%zz", index.getFirst("m"));
+        Assert.assertNull(index.getFirst("x"));
+        Assert.assertNull(index.get("x"));
+
+        // decoded once
+        Assert.assertSame(index.getFirst("b"), index.getFirst("b"));
+
+        Assert.assertEquals(0, new QueryIndex(null).size());
+        Assert.assertEquals(0, new QueryIndex("").size());
+        Assert.assertEquals(0, QueryIndex.EMPTY.size());
+    }
+
+    public void test_grow() throws Exception {
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < 20; ++i) {
+            query.append("p").append(i).append(i % 3 == 0 ? "%20" : "").append('=').append(i).append('&');
+        }
+
+        QueryIndex index = new QueryIndex(query.toString());
+        Assert.assertEquals(20, index.size());
+        for (int i = 0; i < 20; ++i) {
+            Assert.assertEquals(String.valueOf(i), index.getFirst("p" + i + (i % 3 == 0 ? " " : "")));
+        }
+    }
+
+    public void test_uri_info() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+        request.setQueryString("a=1&a=2&b=x%20y");
+        UriInfoImpl uriInfo = new UriInfoImpl(request, "/stats");
+
+        MultivaluedMap<String, String> parameters = uriInfo.getQueryParameters();
+        Assert.assertEquals(Arrays.asList("1", "2"), parameters.get("a"));
+        Assert.assertEquals("x y", parameters.getFirst("b"));
+        Assert.assertEquals("x%20y", uriInfo.getQueryParameters(false).getFirst("b"));
+
+        Assert.assertTrue(new UriInfoImpl(new MockHttpServletRequest(), "/stats").getQueryParameters().isEmpty());
+    }
+
+    public void test_parameter() throws Exception {
+        // read from the query string, the servlet parameter map is not used
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/stats/since", "from=1338510615250");
+        Assert.assertEquals("1338510615250", service(requestContext));
+        Assert.assertNull(requestContext.getHttpRequest().getParameter("from"));
+        Assert.assertEquals("1338510615250", requestContext.getParameter("from"));
+
+        // other methods read the servlet parameters
+        requestContext = createRequestContext("POST", "/stats/since", "from=1");
+        requestContext.setQueryIndexEnabled(true);
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).addParameter("from", "2");
+        Assert.assertEquals("2", requestContext.getParameter("from"));
+    }
+
+    private String service(ContainerRequestContextImpl requestContext) throws Exception {
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        component.getHandler().service(requestContext);
+        return ((MockHttpServletResponse) requestContext.getHttpResponse()).getContentAsString();
+    }
+}
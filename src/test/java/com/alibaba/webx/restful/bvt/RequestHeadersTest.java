@@ -0,0 +1,110 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.impl.HttpHeadersImpl;
+import com.alibaba.webx.restful.process.impl.RequestHeaders;
+
+public class RequestHeadersTest extends HelloworldTestBase {
+
+    public void test_headers() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept", "text/plain");
+        request.addHeader("X-Tag", "a");
+        request.addHeader("X-Tag", "b");
+        request.addHeader("Host", "localhost");
+
+        RequestHeaders headers = new RequestHeaders(request);
+        Assert.assertEquals(3, headers.size());
+        Assert.assertEquals(Arrays.asList("text/plain"), headers.get("accept"));
+        Assert.assertEquals(Arrays.asList("a", "b"), headers.get("x-tag"));
+        Assert.assertEquals("a", headers.getFirst("X-TAG"));
+        Assert.assertEquals("a,b", headers.getHeaderString("X-Tag"));
+        Assert.assertEquals("localhost", headers.getHeaderString("host"));
+        Assert.assertTrue(headers.containsKey("HOST"));
+        Assert.assertNull(headers.get("X-None"));
+        Assert.assertNull(headers.getHeaderString("X-None"));
+        Assert.assertNull(headers.get(Integer.valueOf(1)));
+
+        int count = 0;
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            Assert.assertSame(entry.getValue(), headers.get(entry.getKey()));
+            count++;
+        }
+        Assert.assertEquals(3, count);
+
+        try {
+            headers.add("X-Tag", "c");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // read only
+        }
+
+        try {
+            headers.get("X-Tag").add("c");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // read only
+        }
+
+        Assert.assertEquals(0, new RequestHeaders(new MockHttpServletRequest()).size());
+    }
+
+    public void test_grow() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        for (int i = 0; i < 40; ++i) {
+            request.addHeader("X-Header-" + i, String.valueOf(i));
+        }
+
+        RequestHeaders headers = new RequestHeaders(request);
+        Assert.assertEquals(40, headers.size());
+        for (int i = 0; i < 40; ++i) {
+            Assert.assertEquals(String.valueOf(i), headers.getFirst("x-header-" + i));
+        }
+    }
+
+    public void test_http_headers() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Tag", "a");
+        request.addHeader("X-Tag", "b");
+
+        HttpHeadersImpl httpHeaders = new HttpHeadersImpl(request);
+        Assert.assertEquals("a", httpHeaders.getHeader("x-tag"));
+        Assert.assertSame(httpHeaders.getRequestHeaders(), httpHeaders.getRequestHeaders());
+        Assert.assertEquals("a,b", httpHeaders.getHeaderString("x-tag"));
+        Assert.assertEquals(Arrays.asList("a", "b"), httpHeaders.getRequestHeader("X-TAG"));
+        Assert.assertEquals(Collections.emptyList(), httpHeaders.getRequestHeader("X-None"));
+        Assert.assertEquals("a", httpHeaders.getHeader("x-tag"));
+        Assert.assertNull(httpHeaders.getHeader("X-None"));
+    }
+
+    public void test_parameter() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/stats/client");
+        MockHttpServletRequest request = (MockHttpServletRequest) requestContext.getHttpRequest();
+        request.addHeader("User-Agent", "curl");
+        request.addHeader("X-Retries", "2");
+        Assert.assertEquals("curl 2", service(requestContext));
+
+        // read from the headers already copied
+        requestContext = createRequestContext("GET", "/stats/client");
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).addHeader("User-Agent", "wget");
+        Assert.assertSame(requestContext.getHeaders(), requestContext.getHeaders());
+        Assert.assertEquals("wget 0", service(requestContext));
+    }
+
+    private String service(ContainerRequestContextImpl requestContext) throws Exception {
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        component.getHandler().service(requestContext);
+        return ((MockHttpServletResponse) requestContext.getHttpResponse()).getContentAsString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.util.Collections;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.webx.restful.model.ApplicationImpl;
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceMethod;
+
+public class ResourceOrderTest extends TestCase {
+
+    public void test_order() throws Exception {
+        Resource[] resources = { createResource("r1", "orders/{id}"), createResource("r2", "orders/{id: \\d+}"),
+                createResource("r3", "orders/latest"), createResource("r4", "{any}"),
+                createResource("r5", "orders/{id}") };
+
+        ApplicationImpl config = new ApplicationImpl();
+        for (Resource resource : resources) {
+            config.addResource(resource);
+        }
+
+        ApplicationImpl reversedConfig = new ApplicationImpl();
+        for (int i = resources.length - 1; i >= 0; --i) {
+            reversedConfig.addResource(resources[i]);
+        }
+
+        Resource[] sorted = config.getResourceArray();
+        Assert.assertEquals(resources.length, sorted.length);
+
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < sorted.length; ++i) {
+            Assert.assertSame(sorted[i], reversedConfig.getResourceArray()[i]);
+            names.append(sorted[i].getName()).append(' ');
+        }
+
+        // literal characters first, then template variables, then explicit regexes, then names
+        Assert.assertEquals("r3 r2 r1 r5 r4 ", names.toString());
+    }
+
+    private Resource createResource(String name, String path) {
+        return new Resource(name, path, true, Collections.<ResourceMethod> emptyList(),
+                            Collections.<ResourceMethod> emptyList(), Collections.<ResourceMethod> emptyList());
+    }
+}
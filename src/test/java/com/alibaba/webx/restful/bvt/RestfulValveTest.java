@@ -0,0 +1,110 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+
+import com.alibaba.citrus.service.pipeline.PipelineContext;
+import com.alibaba.citrus.turbine.TurbineRunData;
+import com.alibaba.citrus.webx.WebxComponent;
+import com.alibaba.webx.restful.Constants;
+import com.alibaba.webx.restful.examples.helloworld.OrderStatsResource;
+import com.alibaba.webx.restful.process.ProcessException;
+import com.alibaba.webx.restful.support.webx3.RestfulValve;
+
+public class RestfulValveTest extends TestCase {
+
+    private StaticWebApplicationContext applicationContext;
+    private RestfulValve                valve;
+    private int                         nextCount;
+
+    protected void setUp() throws Exception {
+        applicationContext = new StaticWebApplicationContext();
+        applicationContext.setServletContext(new MockServletContext());
+        applicationContext.registerSingleton("order-stats", OrderStatsResource.class);
+        applicationContext.refresh();
+
+        valve = new RestfulValve();
+        Map<String, Object> results = new HashMap<String, Object>();
+        results.put("getApplicationContext", applicationContext);
+        valve.setComponent((WebxComponent) createProxy(WebxComponent.class, results));
+        valve.getProperties().put(Constants.MAX_PARAMETER_VALUES, "3");
+        valve.getProperties().put(Constants.QUERY_INDEX, "true");
+    }
+
+    protected void tearDown() throws Exception {
+        applicationContext.close();
+    }
+
+    public void test_max_values() throws Exception {
+        Assert.assertEquals("6 [1, 2, 0]", invoke("/stats/sum", "id=1,2&id=3"));
+
+        try {
+            invoke("/stats/sum", "id=1,2,3,4");
+            Assert.fail();
+        } catch (ProcessException e) {
+            // more than 3 values
+        }
+
+        // the resources built again keep the limit
+        valve.refresh();
+        try {
+            invoke("/stats/sum", "id=1&id=2&id=3&id=4");
+            Assert.fail();
+        } catch (ProcessException e) {
+            // more than 3 values
+        }
+
+        // other targets go down the pipeline
+        Assert.assertEquals(0, nextCount);
+        invoke("/index.htm", null);
+        Assert.assertEquals(1, nextCount);
+    }
+
+    private String invoke(String target, String query) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(applicationContext.getServletContext());
+        request.setMethod("GET");
+        request.setQueryString(query);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Map<String, Object> results = new HashMap<String, Object>();
+        results.put("getTarget", target);
+        results.put("getRequest", request);
+        request.setAttribute("_webx3_turbine_rundata_", createProxy(TurbineRunData.class, results));
+
+        valve.setRequest(request);
+        valve.setResponse(response);
+        valve.invoke((PipelineContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                                                              new Class<?>[] { PipelineContext.class },
+                                                              new InvocationHandler() {
+
+                                                                  public Object invoke(Object proxy, Method method,
+                                                                                       Object[] args) {
+                                                                      if ("invokeNext".equals(method.getName())) {
+                                                                          nextCount++;
+                                                                      }
+                                                                      return null;
+                                                                  }
+                                                              }));
+        return response.getContentAsString();
+    }
+
+    private Object createProxy(Class<?> type, final Map<String, Object> results) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, new InvocationHandler() {
+
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                return results.get(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.alibaba.webx.restful.bvt;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.model.InstanceConstructor;
+import com.alibaba.webx.restful.model.MultiInstanceConstructor;
+import com.alibaba.webx.restful.model.SingletonInstanceConstructor;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+
+public class SingletonPromotionTest extends HelloworldTestBase {
+
+    public void test_promoted() throws Exception {
+        Assert.assertTrue(getConstructor("/stats") instanceof SingletonInstanceConstructor);
+        Assert.assertEquals("name_1", service("/stats"));
+        Assert.assertEquals("name_1", service("/stats"));
+    }
+
+    public void test_request_dependent() throws Exception {
+        // path parameter property
+        Assert.assertTrue(getConstructor("/orders/123") instanceof MultiInstanceConstructor);
+        // request constructor parameter
+        Assert.assertTrue(getConstructor("/helloworld") instanceof MultiInstanceConstructor);
+    }
+
+    public void test_per_request() throws Exception {
+        Assert.assertTrue(getConstructor("/audit") instanceof MultiInstanceConstructor);
+
+        // a new instance for each request
+        Assert.assertEquals("name_1", service("/audit"));
+        Assert.assertEquals("name_1", service("/audit"));
+    }
+
+    private InstanceConstructor getConstructor(String path) {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", path);
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        return requestContext.getResourceMethod().getInvocable().getConstructor();
+    }
+
+    private String service(String path) throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", path);
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        component.getHandler().service(requestContext);
+        return ((MockHttpServletResponse) requestContext.getHttpResponse()).getContentAsString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.alibaba.webx.restful.bvt;
+
+import java.lang.annotation.Annotation;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import org.springframework.context.support.StaticApplicationContext;
+
+import com.alibaba.webx.restful.model.converter.BooleanConverter;
+import com.alibaba.webx.restful.model.converter.DateConverter;
+import com.alibaba.webx.restful.model.converter.EnumConverter;
+import com.alibaba.webx.restful.model.converter.IntegerConverter;
+import com.alibaba.webx.restful.model.converter.JSONConverter;
+import com.alibaba.webx.restful.model.converter.TypeConvertException;
+import com.alibaba.webx.restful.model.converter.TypeConverter;
+import com.alibaba.webx.restful.model.converter.TypeConverterProviderImpl;
+import com.alibaba.webx.restful.model.param.LiteralParameter;
+import com.alibaba.webx.restful.model.param.ParameterProviderImpl;
+
+public class TypeConverterRegistryTest extends TestCase {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    public void test_shared() throws Exception {
+        TypeConverterProviderImpl provider = new TypeConverterProviderImpl();
+
+        TypeConverter converter = provider.create(int.class, int.class, NO_ANNOTATIONS);
+        Assert.assertTrue(converter instanceof IntegerConverter);
+        Assert.assertSame(converter, provider.create(Integer.class, Integer.class, NO_ANNOTATIONS));
+        Assert.assertEquals(Integer.valueOf(3), converter.convert("3"));
+
+        Assert.assertTrue(provider.create(Boolean.class, Boolean.class, NO_ANNOTATIONS) instanceof BooleanConverter);
+        TypeConverter dateConverter = provider.create(Date.class, Date.class, NO_ANNOTATIONS);
+        Assert.assertTrue(dateConverter instanceof DateConverter);
+        Assert.assertEquals(new Date(1000L), dateConverter.convert("1000"));
+
+        // read as JSON, created once per type
+        TypeConverter jsonConverter = provider.create(List.class, List.class, NO_ANNOTATIONS);
+        Assert.assertTrue(jsonConverter instanceof JSONConverter);
+        Assert.assertSame(jsonConverter, provider.create(List.class, List.class, NO_ANNOTATIONS));
+    }
+
+    public void test_enum() throws Exception {
+        TypeConverterProviderImpl provider = new TypeConverterProviderImpl();
+
+        TypeConverter converter = provider.create(TimeUnit.class, TimeUnit.class, NO_ANNOTATIONS);
+        Assert.assertTrue(converter instanceof EnumConverter);
+        Assert.assertSame(converter, provider.create(TimeUnit.class, TimeUnit.class, NO_ANNOTATIONS));
+        Assert.assertEquals(TimeUnit.SECONDS, converter.convert("SECONDS"));
+        Assert.assertEquals(TimeUnit.NANOSECONDS, converter.convert("0"));
+
+        try {
+            converter.convert("seconds");
+            Assert.fail();
+        } catch (TypeConvertException e) {
+            // names are case sensitive
+        }
+    }
+
+    public void test_bean() throws Exception {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.registerSingleton("moneyConverter", MoneyConverter.class);
+        applicationContext.refresh();
+
+        ParameterProviderImpl parameterProvider = new ParameterProviderImpl(applicationContext);
+        LiteralParameter parameter = (LiteralParameter) parameterProvider.createParameter(getClass(), null, "price",
+                                                                                          Money.class, Money.class,
+                                                                                          NO_ANNOTATIONS);
+        Assert.assertTrue(parameter.getTypeConverter() instanceof MoneyConverter);
+        Assert.assertEquals(150, ((Money) parameter.getTypeConverter().convert("1.50")).cents);
+    }
+
+    public static class Money {
+
+        final long cents;
+
+        Money(long cents){
+            this.cents = cents;
+        }
+    }
+
+    public static class MoneyConverter implements TypeConverter {
+
+        public Money convert(String literalValue) {
+            return new Money(Math.round(Double.parseDouble(literalValue) * 100));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.alibaba.webx.restful.bvt;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.alibaba.webx.restful.process.impl.MediaTypeExtensions;
+import com.alibaba.webx.restful.process.impl.UriInfoImpl;
+
+public class UriInfoTest extends TestCase {
+
+    public void test_extension() throws Exception {
+        MediaTypeExtensions extensions = new MediaTypeExtensions("json=application/json, .txt=text/plain");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/study");
+        request.setServletPath("/rest");
+        request.setRequestURI("/study/rest/helloworld.TXT");
+
+        UriInfoImpl uriInfo = new UriInfoImpl(request, extensions);
+        Assert.assertEquals("/helloworld", uriInfo.getPath());
+        Assert.assertEquals("text/plain", uriInfo.getExtensionMediaType().toString());
+
+        request.setRequestURI("/study/rest/orders/1.2/ljw");
+        uriInfo = new UriInfoImpl(request, extensions);
+        Assert.assertEquals("/orders/1.2/ljw", uriInfo.getPath());
+        Assert.assertNull(uriInfo.getExtensionMediaType());
+
+        uriInfo = new UriInfoImpl(request, "/orders/1.xml", extensions);
+        Assert.assertEquals("/orders/1.xml", uriInfo.getPath());
+        Assert.assertNull(uriInfo.getExtensionMediaType());
+
+        uriInfo = new UriInfoImpl(request, "/orders/1.json");
+        Assert.assertEquals("/orders/1", uriInfo.getPath());
+        Assert.assertEquals("application/json", uriInfo.getExtensionMediaType().toString());
+    }
+}
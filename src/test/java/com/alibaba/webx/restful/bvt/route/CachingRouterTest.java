@@ -0,0 +1,117 @@
+package com.alibaba.webx.restful.bvt.route;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.alibaba.webx.restful.Constants;
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.route.CachingRouter;
+
+public class CachingRouterTest extends TrieRouterTest {
+
+    protected void addInitParameters(MockFilterConfig filterConfig) {
+        filterConfig.addInitParameter(Constants.ROUTE_CACHE_SIZE, "2");
+    }
+
+    public void test_cache() throws Exception {
+        CachingRouter router = (CachingRouter) component.getHandler().getRouter();
+
+        Assert.assertTrue(router.match(createRequestContext("GET", "/orders/123/ljw")));
+        Assert.assertEquals(0, router.getHitCount());
+        Assert.assertEquals(1, router.getMissCount());
+
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123/ljw");
+        Assert.assertTrue(router.match(requestContext));
+        Assert.assertEquals(1, router.getHitCount());
+        Assert.assertEquals("findOrder", requestContext.getResourceMethod().getResourceMethod().getName());
+        Assert.assertEquals("123", requestContext.getResourceMatchResult().group(1));
+        Assert.assertEquals("ljw", requestContext.getResourceMethodMatchResult().group(1));
+
+        // same path, other method
+        Assert.assertFalse(router.match(createRequestContext("POST", "/orders/123/ljw")));
+        Assert.assertEquals(2, router.getMissCount());
+    }
+
+    public void test_not_found_cache() throws Exception {
+        CachingRouter router = (CachingRouter) component.getHandler().getRouter();
+
+        Assert.assertFalse(router.match(createRequestContext("GET", "/xxx")));
+        Assert.assertFalse(router.match(createRequestContext("GET", "/xxx")));
+        Assert.assertEquals(1, router.getNotFoundHitCount());
+
+        Assert.assertFalse(router.match(createRequestContext("GET", "/yyy")));
+        Assert.assertFalse(router.match(createRequestContext("GET", "/zzz")));
+        Assert.assertEquals(1, router.getEvictionCount());
+        Assert.assertEquals(3, router.getMissCount());
+
+        // unmatched paths do not evict matched ones
+        Assert.assertTrue(router.match(createRequestContext("GET", "/helloworld")));
+        Assert.assertFalse(router.match(createRequestContext("GET", "/aaa")));
+        Assert.assertTrue(router.match(createRequestContext("GET", "/helloworld")));
+        Assert.assertEquals(2, router.getHitCount());
+
+        // every lookup falls through to the router or hits
+        Assert.assertEquals(5, router.getMissCount());
+        Assert.assertEquals(7, router.getHitCount() + router.getMissCount());
+    }
+
+    public void test_media_type_key() throws Exception {
+        CachingRouter router = (CachingRouter) component.getHandler().getRouter();
+
+        Assert.assertTrue(router.match(createAcceptContext("GET", "/helloworld", "application/xml, text/*;q=0.5")));
+        Assert.assertEquals(1, router.getMissCount());
+
+        // the same media ranges written differently share the entry
+        ContainerRequestContextImpl requestContext = createAcceptContext("GET", "/helloworld",
+                                                                         "text/*; q=0.4,application/xml;level=1");
+        Assert.assertTrue(router.match(requestContext));
+        Assert.assertEquals(1, router.getHitCount());
+        Assert.assertEquals(1, router.size());
+        Assert.assertEquals("text/plain", requestContext.getResponseMediaType().toString());
+
+        Assert.assertFalse(router.match(createAcceptContext("GET", "/helloworld", "application/xml")));
+        Assert.assertEquals(2, router.getMissCount());
+    }
+
+    public void test_abort_count() throws Exception {
+        CachingRouter router = (CachingRouter) component.getHandler().getRouter();
+        String path = "/orders/123/codes/aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", path);
+        Assert.assertFalse(router.match(requestContext));
+        Assert.assertEquals(400, requestContext.getMatchStatus());
+
+        // rejected from the cache, still counted
+        requestContext = createRequestContext("GET", path);
+        Assert.assertFalse(router.match(requestContext));
+        Assert.assertEquals(1, router.getHitCount());
+        Assert.assertEquals(400, requestContext.getMatchStatus());
+        Assert.assertNull(requestContext.getResourceMethod());
+        Assert.assertEquals(2, requestContext.getRoute().getAbortCount());
+    }
+
+    public void test_invalidate() throws Exception {
+        CachingRouter router = (CachingRouter) component.getHandler().getRouter();
+
+        Assert.assertTrue(router.match(createRequestContext("GET", "/helloworld")));
+        Assert.assertEquals(1, router.size());
+
+        Resource resource = component.getConfig().getResources().iterator().next();
+        component.getConfig().addResource(resource);
+
+        // the cache belongs to the replaced router
+        router = (CachingRouter) component.getHandler().getRouter();
+        Assert.assertEquals(0, router.size());
+        Assert.assertTrue(router.match(createRequestContext("GET", "/helloworld")));
+        Assert.assertEquals(0, router.getHitCount());
+    }
+
+    private ContainerRequestContextImpl createAcceptContext(String method, String path, String accept) {
+        ContainerRequestContextImpl requestContext = createRequestContext(method, path);
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).addHeader("Accept", accept);
+        return requestContext;
+    }
+}
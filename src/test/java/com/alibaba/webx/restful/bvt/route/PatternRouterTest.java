@@ -0,0 +1,19 @@
+package com.alibaba.webx.restful.bvt.route;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockFilterConfig;
+
+import com.alibaba.webx.restful.Constants;
+import com.alibaba.webx.restful.process.route.PatternRouter;
+
+public class PatternRouterTest extends TrieRouterTest {
+
+    protected void addInitParameters(MockFilterConfig filterConfig) {
+        filterConfig.addInitParameter(Constants.ROUTER, Constants.ROUTER_PATTERN);
+    }
+
+    public void test_router() throws Exception {
+        Assert.assertTrue(component.getHandler().getRouter() instanceof PatternRouter);
+    }
+}
@@ -0,0 +1,43 @@
+package com.alibaba.webx.restful.bvt.route;
+
+import java.util.regex.Pattern;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.webx.restful.process.route.StepLimitExceededException;
+import com.alibaba.webx.restful.process.route.StepLimitedCharSequence;
+
+public class StepLimitedCharSequenceTest extends TestCase {
+
+    public void test_limit() throws Exception {
+        StepLimitedCharSequence chars = new StepLimitedCharSequence("abc", 5);
+        Assert.assertEquals(3, chars.length());
+
+        for (int i = 0; i < 5; ++i) {
+            Assert.assertEquals("abc".charAt(i % 3), chars.charAt(i % 3));
+        }
+
+        try {
+            chars.charAt(0);
+            Assert.fail();
+        } catch (StepLimitExceededException e) {
+            // the sixth read
+        }
+
+        // the length and the text are not counted
+        Assert.assertEquals(3, chars.length());
+        Assert.assertEquals("abc", chars.toString());
+    }
+
+    public void test_match() throws Exception {
+        Assert.assertTrue(Pattern.matches("(a+)+b", new StepLimitedCharSequence("aaab", 100)));
+
+        try {
+            Pattern.matches("[ab]+c", new StepLimitedCharSequence("ababababab", 5));
+            Assert.fail();
+        } catch (StepLimitExceededException e) {
+            // more than 5 characters read
+        }
+    }
+}
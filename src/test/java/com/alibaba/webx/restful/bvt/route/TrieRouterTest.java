@@ -0,0 +1,222 @@
+package com.alibaba.webx.restful.bvt.route;
+
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.model.Parameter;
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceMethod;
+import com.alibaba.webx.restful.model.param.PathVariableParameter;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.route.Router;
+
+public class TrieRouterTest extends HelloworldTestBase {
+
+    public void test_match() throws Exception {
+        Assert.assertEquals("getHello", match("/helloworld"));
+        Assert.assertEquals("getHello", match("/helloworld/"));
+        Assert.assertEquals("now", match("/helloworld/now"));
+        Assert.assertEquals("getOrder", match("/orders/123"));
+        Assert.assertEquals("findOrder", match("/orders/123/ljw"));
+    }
+
+    public void test_not_match() throws Exception {
+        Assert.assertNull(match("/"));
+        Assert.assertNull(match("/hello"));
+        Assert.assertNull(match("/helloworld/now/1"));
+        Assert.assertNull(match("/orders"));
+        Assert.assertNull(match("/orders/123/ljw/1"));
+    }
+
+    public void test_path_variables() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123/ljw/");
+
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        Assert.assertEquals("123", requestContext.getPathVariable("id"));
+        Assert.assertEquals("ljw", requestContext.getPathVariable("name"));
+        Assert.assertNull(requestContext.getPathVariable("xxx"));
+        Assert.assertEquals(2, requestContext.getPathVariables().size());
+        Assert.assertEquals("ljw", requestContext.getPathVariables().get("name"));
+
+        Assert.assertEquals("123", requestContext.getResourceMatchResult().group(1));
+        Assert.assertEquals("ljw", requestContext.getResourceMethodMatchResult().group(1));
+    }
+
+    public void test_path_variable_binding() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123/ljw");
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+
+        ResourceMethod resourceMethod = requestContext.getResourceMethod();
+        Assert.assertEquals(1, resourceMethod.getPathVariableIndex("name"));
+
+        List<Parameter> parameters = resourceMethod.getInvocable().getParameters();
+        Assert.assertEquals(0, ((PathVariableParameter) parameters.get(0)).getPathVariableIndex());
+        Assert.assertEquals(1, ((PathVariableParameter) parameters.get(1)).getPathVariableIndex());
+
+        Object[] args = resourceMethod.getInvocable().getArguments(requestContext);
+        Assert.assertEquals(123, args[0]);
+        Assert.assertEquals("ljw", args[1]);
+    }
+
+    public void test_method_not_allowed() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("POST", "/orders/123");
+
+        Assert.assertFalse(component.getHandler().getRouter().match(requestContext));
+        Assert.assertNull(requestContext.getResourceMethod());
+        Assert.assertNotNull(requestContext.getRoute());
+        Assert.assertEquals("GET, HEAD, OPTIONS", requestContext.getRoute().getAllow());
+
+        MockHttpServletResponse response = (MockHttpServletResponse) requestContext.getHttpResponse();
+        component.getHandler().service(requestContext);
+        Assert.assertEquals(405, response.getStatus());
+        Assert.assertEquals("GET, HEAD, OPTIONS", response.getHeader("Allow"));
+    }
+
+    public void test_head() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("HEAD", "/orders/123");
+
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        Assert.assertEquals("getOrder", requestContext.getResourceMethod().getResourceMethod().getName());
+    }
+
+    public void test_negotiation() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/helloworld");
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).addHeader("Accept", "application/xml, text/*;q=0.5");
+
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        Assert.assertEquals("text/plain", requestContext.getResponseMediaType().toString());
+
+        MockHttpServletResponse response = (MockHttpServletResponse) requestContext.getHttpResponse();
+        component.getHandler().service(requestContext);
+        Assert.assertEquals("text/plain", response.getContentType());
+        Assert.assertEquals("Hello World!", response.getContentAsString());
+    }
+
+    public void test_not_acceptable() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/helloworld");
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).addHeader("Accept", "application/xml");
+
+        Assert.assertFalse(component.getHandler().getRouter().match(requestContext));
+        Assert.assertNull(requestContext.getResourceMethod());
+        Assert.assertEquals(406, requestContext.getMatchStatus());
+
+        MockHttpServletResponse response = (MockHttpServletResponse) requestContext.getHttpResponse();
+        component.getHandler().service(requestContext);
+        Assert.assertEquals(406, response.getStatus());
+    }
+
+    public void test_extension() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123.json");
+        Assert.assertEquals("/orders/123", requestContext.getUriInfo().getPath());
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+
+        // the extension takes precedence over the Accept header
+        requestContext = createRequestContext("GET", "/helloworld.json");
+        ((MockHttpServletRequest) requestContext.getHttpRequest()).addHeader("Accept", "text/plain");
+        Assert.assertFalse(component.getHandler().getRouter().match(requestContext));
+        Assert.assertEquals(406, requestContext.getMatchStatus());
+    }
+
+    public void test_locator() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123/items/5");
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        Assert.assertNotNull(requestContext.getRoute().getLocator());
+
+        Assert.assertEquals("123/5", service(requestContext).getContentAsString());
+        Assert.assertEquals("/5", requestContext.getMatchingPath());
+        Assert.assertEquals("5", requestContext.getPathVariable("index"));
+
+        Assert.assertEquals("items of 123", service("GET", "/orders/123/items").getContentAsString());
+        Assert.assertEquals("items of 123", service("GET", "/orders/123/items/").getContentAsString());
+        Assert.assertEquals(405, service("POST", "/orders/123/items/5").getStatus());
+        Assert.assertEquals(404, service("GET", "/orders/123/items/5/x").getStatus());
+    }
+
+    public void test_step_limit() throws Exception {
+        Assert.assertEquals("aab", service("GET", "/orders/123/codes/aab").getContentAsString());
+
+        // (a+)+ followed by a back reference backtracks exponentially on a path without the final b
+        ContainerRequestContextImpl requestContext = createRequestContext("GET",
+                                                                          "/orders/123/codes/aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+        Assert.assertFalse(component.getHandler().getRouter().match(requestContext));
+        Assert.assertEquals(400, requestContext.getMatchStatus());
+        Assert.assertTrue(requestContext.getRoute().isBacktrackingRisk());
+        Assert.assertEquals(1, requestContext.getRoute().getAbortCount());
+        Assert.assertEquals(400, service(requestContext).getStatus());
+    }
+
+    public void test_resource_order() throws Exception {
+        // the resource matched one by one comes first, as sorted
+        Assert.assertEquals("text tag abc", service("GET", "/tags/abc.txt").getContentAsString());
+        Assert.assertEquals("tag xyz.txt", service("GET", "/tags/xyz.txt").getContentAsString());
+        Assert.assertEquals("tag abc", service("GET", "/tags/abc").getContentAsString());
+        Assert.assertEquals("note abc", service("PUT", "/tags/abc").getContentAsString());
+    }
+
+    public void test_allow_merged() throws Exception {
+        // both tag resources match the path, matched twice for the route cache
+        for (int i = 0; i < 2; ++i) {
+            MockHttpServletResponse response = serviceNotMatched("DELETE", "/tags/abc");
+            Assert.assertEquals(405, response.getStatus());
+            Assert.assertEquals("PUT, GET, HEAD, OPTIONS", response.getHeader("Allow"));
+
+            response = serviceNotMatched("OPTIONS", "/tags/abc");
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("PUT, GET, HEAD, OPTIONS", response.getHeader("Allow"));
+        }
+    }
+
+    public void test_swap() throws Exception {
+        Router router = component.getHandler().getRouter();
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/helloworld");
+        Assert.assertTrue(router.match(requestContext));
+
+        Resource resource = requestContext.getResource();
+        component.getConfig().removeResource(resource);
+
+        Assert.assertNotSame(router, component.getHandler().getRouter());
+        Assert.assertNull(match("/helloworld"));
+        Assert.assertEquals("getOrder", match("/orders/123"));
+
+        // matched before the swap, finishes with the old resources
+        MockHttpServletResponse response = (MockHttpServletResponse) requestContext.getHttpResponse();
+        component.getHandler().service(requestContext);
+        Assert.assertEquals("Hello World!", response.getContentAsString());
+
+        component.getConfig().addResource(resource);
+        Assert.assertEquals("getHello", match("/helloworld"));
+    }
+
+    private MockHttpServletResponse service(String method, String path) throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext(method, path);
+        Assert.assertTrue(component.getHandler().getRouter().match(requestContext));
+        return service(requestContext);
+    }
+
+    private MockHttpServletResponse serviceNotMatched(String method, String path) throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext(method, path);
+        Assert.assertFalse(component.getHandler().getRouter().match(requestContext));
+        return service(requestContext);
+    }
+
+    private MockHttpServletResponse service(ContainerRequestContextImpl requestContext) throws Exception {
+        component.getHandler().service(requestContext);
+        return (MockHttpServletResponse) requestContext.getHttpResponse();
+    }
+
+    private String match(String path) {
+        Router router = component.getHandler().getRouter();
+
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", path);
+        if (!router.match(requestContext)) {
+            return null;
+        }
+
+        return requestContext.getResourceMethod().getResourceMethod().getName();
+    }
+}
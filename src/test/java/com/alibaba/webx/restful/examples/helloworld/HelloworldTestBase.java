@@ -4,11 +4,15 @@ import junit.framework.TestCase;
 
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockServletContext;
 
 import com.alibaba.webx.restful.Constants;
 import com.alibaba.webx.restful.RestfulServletFilter;
 import com.alibaba.webx.restful.process.RestfulComponent;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.impl.UriInfoImpl;
 import com.alibaba.webx.restful.util.ApplicationContextUtils;
 
 public class HelloworldTestBase extends TestCase {
@@ -28,6 +32,7 @@ public class HelloworldTestBase extends TestCase {
 
         filterConfig.addInitParameter(Constants.PROVIDER_PACKAGES,
                                       "com.alibaba.webx.restful.examples.helloworld");
+        addInitParameters(filterConfig);
 
         filter = new RestfulServletFilter();
         filter.init(filterConfig);
@@ -35,6 +40,26 @@ public class HelloworldTestBase extends TestCase {
         component = filter.getComponent();
     }
 
+    protected void addInitParameters(MockFilterConfig filterConfig) {
+
+    }
+
+    protected ContainerRequestContextImpl createRequestContext(String method, String path) {
+        return createRequestContext(method, path, null);
+    }
+
+    /**
+     * Create the context of a request to a path of the resources, the query string is read by the query index only,
+     * the parameters, headers and cookies are added to {@link ContainerRequestContextImpl#getHttpRequest()}.
+     */
+    protected ContainerRequestContextImpl createRequestContext(String method, String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+        request.setMethod(method);
+        request.setQueryString(query);
+
+        return new ContainerRequestContextImpl(request, new MockHttpServletResponse(), new UriInfoImpl(request, path));
+    }
+
     protected void tearDown() throws Exception {
         filter.destroy();
         applicationContext.destroy();
@@ -0,0 +1,33 @@
+package com.alibaba.webx.restful.examples.helloworld;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alibaba.webx.restful.annotation.PerRequest;
+
+@PerRequest
+@Path("audit")
+public class OrderAuditResource {
+
+    @Autowired
+    private OrderService service;
+
+    private int          count;
+
+    public OrderService getService() {
+        return service;
+    }
+
+    public void setService(OrderService service) {
+        this.service = service;
+    }
+
+    @GET
+    @Produces("text/plain")
+    public String audit() {
+        return service.findOrder(++count).getName();
+    }
+}
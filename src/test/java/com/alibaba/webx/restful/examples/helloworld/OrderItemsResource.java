@@ -0,0 +1,28 @@
+package com.alibaba.webx.restful.examples.helloworld;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+
+public class OrderItemsResource {
+
+    private final int orderId;
+
+    public OrderItemsResource(int orderId){
+        this.orderId = orderId;
+    }
+
+    @GET
+    @Produces("text/plain")
+    public String list() {
+        return "items of " + orderId;
+    }
+
+    @GET
+    @Path("{index}")
+    @Produces("text/plain")
+    public String get(@PathParam("index") int index) {
+        return orderId + "/" + index;
+    }
+}
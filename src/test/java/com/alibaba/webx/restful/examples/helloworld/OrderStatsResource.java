@@ -0,0 +1,79 @@
+package com.alibaba.webx.restful.examples.helloworld;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+@Path("stats")
+public class OrderStatsResource {
+
+    @Autowired
+    private OrderService service;
+
+    public OrderService getService() {
+        return service;
+    }
+
+    public void setService(OrderService service) {
+        this.service = service;
+    }
+
+    @GET
+    @Produces("text/plain")
+    public String getName() {
+        return service.findOrder(1).getName();
+    }
+
+    @GET
+    @Path("since")
+    @Produces("text/plain")
+    public String getSince(@QueryParam("from") @DefaultValue("now()") Date from) {
+        return Long.toString(from.getTime());
+    }
+
+    @GET
+    @Path("sum")
+    @Produces("text/plain")
+    public String getSum(@QueryParam("id") long[] ids, @QueryParam("n") @DefaultValue("1,2") List<Integer> numbers) {
+        long sum = 0;
+        for (long id : ids) {
+            sum += id;
+        }
+        numbers.add(0);
+        return sum + " " + numbers;
+    }
+
+    @GET
+    @Path("visitor")
+    @Produces("text/plain")
+    public String getVisitor(@CookieParam("sid") String sid, @CookieParam("visits") @DefaultValue("0") int visits) {
+        return sid + " " + visits;
+    }
+
+    @GET
+    @Path("client")
+    @Produces("text/plain")
+    public String getClient(@HeaderParam("user-agent") String agent,
+                            @HeaderParam("X-Retries") @DefaultValue("0") int retries) {
+        return agent + " " + retries;
+    }
+
+    @GET
+    @Path("page/{section}")
+    @Produces("text/plain")
+    public String getPage(@PathParam("section") Integer section, @QueryParam("page") @DefaultValue("1") Integer page,
+                          @HeaderParam("X-Sort") @DefaultValue("id") String sort, Long size,
+                          @QueryParam("limit") int limit, @QueryParam("desc") boolean desc) {
+        return section + " " + page + " " + sort + " " + size + " " + limit + " " + desc;
+    }
+}
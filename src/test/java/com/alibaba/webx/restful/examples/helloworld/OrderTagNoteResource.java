@@ -0,0 +1,19 @@
+package com.alibaba.webx.restful.examples.helloworld;
+
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+
+/**
+ * Matches the paths of {@link OrderTagResource} too, with another HTTP method.
+ */
+@Path("tags/{tag: [a-z]+}")
+public class OrderTagNoteResource {
+
+    @PUT
+    @Produces("text/plain")
+    public String put(@PathParam("tag") String tag) {
+        return "note " + tag;
+    }
+}
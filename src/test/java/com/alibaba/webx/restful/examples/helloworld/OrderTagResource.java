@@ -0,0 +1,16 @@
+package com.alibaba.webx.restful.examples.helloworld;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+
+@Path("tags/{tag: .+}")
+public class OrderTagResource {
+
+    @GET
+    @Produces("text/plain")
+    public String get(@PathParam("tag") String tag) {
+        return "tag " + tag;
+    }
+}
@@ -0,0 +1,20 @@
+package com.alibaba.webx.restful.examples.helloworld;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+
+/**
+ * Sorted before {@link OrderTagResource} for its literal characters, the lookahead keeps it out of the combined
+ * pattern of the pattern router.
+ */
+@Path("tags/{tag: (?!x)[a-z]+}.txt")
+public class OrderTextTagResource {
+
+    @GET
+    @Produces("text/plain")
+    public String get(@PathParam("tag") String tag) {
+        return "text tag " + tag;
+    }
+}
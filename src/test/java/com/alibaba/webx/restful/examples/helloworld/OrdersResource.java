@@ -42,4 +42,16 @@ public class OrdersResource {
     public Order findOrder(@PathParam("id") int id, String name) {
         return service.findOrder(id, name);
     }
+
+    @GET
+    @Path("codes/{code: (?<run>a+)+\\k<run>b}")
+    @Produces("text/plain")
+    public String findCode(@PathParam("code") String code) {
+        return code;
+    }
+
+    @Path("items")
+    public OrderItemsResource items(@PathParam("id") int id) {
+        return new OrderItemsResource(id);
+    }
 }
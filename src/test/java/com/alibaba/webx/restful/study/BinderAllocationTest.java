@@ -0,0 +1,51 @@
+package com.alibaba.webx.restful.study;
+
+import java.lang.management.ManagementFactory;
+
+
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.model.converter.IntegerConverter;
+import com.alibaba.webx.restful.model.param.PathParameter;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Bytes allocated reading the {@code int} path variable of {@code /orders/{id}}, by the primitive getter used by the
+ * generated binders compared with the boxed value.
+ */
+public class BinderAllocationTest extends HelloworldTestBase {
+
+    private static final int LOOPS = 1000 * 100;
+
+    public void test_allocation() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123456");
+        if (!component.getHandler().getRouter().match(requestContext)) {
+            throw new IllegalStateException();
+        }
+
+        PathParameter parameter = new PathParameter("id", new IntegerConverter(), null);
+        parameter.setPathVariableIndex(0);
+
+        for (int i = 0; i < 5; ++i) {
+            long startBytes = getAllocatedBytes();
+            long sum = 0;
+            for (int j = 0; j < LOOPS; ++j) {
+                sum += parameter.getIntValue(requestContext);
+            }
+            long primitiveBytes = (getAllocatedBytes() - startBytes) / LOOPS;
+
+            startBytes = getAllocatedBytes();
+            for (int j = 0; j < LOOPS; ++j) {
+                sum += (Integer) parameter.getParameterValue(requestContext);
+            }
+            long boxedBytes = (getAllocatedBytes() - startBytes) / LOOPS;
+
+            System.out.println("primitive " + primitiveBytes + " bytes/op, boxed " + boxedBytes + " bytes/op, " + sum);
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.alibaba.webx.restful.study;
+
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.webx.restful.util.FastDateFormat;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Time and bytes allocated parsing and formatting {@code yyyy-MM-dd HH:mm:ss} by the shared {@link FastDateFormat},
+ * compared with a new {@link SimpleDateFormat} per value as done before.
+ */
+public class DateFormatPerfTest extends TestCase {
+
+    private static final int LOOPS = 1000 * 100;
+
+    public void test_perf() throws Exception {
+        String text = "2012-06-01 08:30:15";
+        long millis = 1338510615000L;
+        FastDateFormat format = FastDateFormat.getInstance(FastDateFormat.DATE_TIME);
+        SerializeWriter out = new SerializeWriter();
+
+        for (int i = 0; i < 5; ++i) {
+            long sum = 0;
+
+            long startBytes = getAllocatedBytes();
+            long startNano = System.nanoTime();
+            for (int j = 0; j < LOOPS; ++j) {
+                sum += format.parse(text).getTime();
+            }
+            long fastParseNanos = (System.nanoTime() - startNano) / LOOPS;
+            long fastParseBytes = (getAllocatedBytes() - startBytes) / LOOPS;
+
+            startBytes = getAllocatedBytes();
+            startNano = System.nanoTime();
+            for (int j = 0; j < LOOPS; ++j) {
+                sum += new SimpleDateFormat(FastDateFormat.DATE_TIME).parse(text).getTime();
+            }
+            long parseNanos = (System.nanoTime() - startNano) / LOOPS;
+            long parseBytes = (getAllocatedBytes() - startBytes) / LOOPS;
+
+            startBytes = getAllocatedBytes();
+            startNano = System.nanoTime();
+            for (int j = 0; j < LOOPS; ++j) {
+                out.reset();
+                format.format(millis + j, out);
+                sum += out.size();
+            }
+            long fastFormatNanos = (System.nanoTime() - startNano) / LOOPS;
+            long fastFormatBytes = (getAllocatedBytes() - startBytes) / LOOPS;
+
+            startBytes = getAllocatedBytes();
+            startNano = System.nanoTime();
+            for (int j = 0; j < LOOPS; ++j) {
+                out.reset();
+                out.write(new SimpleDateFormat(FastDateFormat.DATE_TIME).format(new Date(millis + j)));
+                sum += out.size();
+            }
+            long formatNanos = (System.nanoTime() - startNano) / LOOPS;
+            long formatBytes = (getAllocatedBytes() - startBytes) / LOOPS;
+
+            System.out.println("parse " + fastParseNanos + " ns/op " + fastParseBytes + " bytes/op, simple "
+                               + parseNanos + " ns/op " + parseBytes + " bytes/op; format " + fastFormatNanos
+                               + " ns/op " + fastFormatBytes + " bytes/op, simple " + formatNanos + " ns/op "
+                               + formatBytes + " bytes/op, " + sum);
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
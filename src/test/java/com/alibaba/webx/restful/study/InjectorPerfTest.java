@@ -0,0 +1,53 @@
+package com.alibaba.webx.restful.study;
+
+
+import com.alibaba.webx.restful.examples.helloworld.HelloworldTestBase;
+import com.alibaba.webx.restful.examples.helloworld.OrdersResource;
+import com.alibaba.webx.restful.model.MultiInstanceConstructor;
+import com.alibaba.webx.restful.model.invoker.DefaultInjector;
+import com.alibaba.webx.restful.model.invoker.Injector;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+
+/**
+ * Cost of setting the properties of a resource instance, the {@code int} path parameter and the autowired service of
+ * {@link OrdersResource}, through the generated injector compared with the reflective setter calls.
+ */
+public class InjectorPerfTest extends HelloworldTestBase {
+
+    private static final int LOOPS = 1000 * 1000;
+
+    public void test_perf() throws Exception {
+        ContainerRequestContextImpl requestContext = createRequestContext("GET", "/orders/123");
+        if (!component.getHandler().getRouter().match(requestContext)) {
+            throw new IllegalStateException();
+        }
+
+        MultiInstanceConstructor constructor = (MultiInstanceConstructor) requestContext.getResourceMethod()
+                .getInvocable().getConstructor();
+        Injector generated = constructor.getInjector();
+        Injector reflective = new DefaultInjector(constructor.getSetters());
+
+        OrdersResource resource = new OrdersResource();
+        for (int i = 0; i < 5; ++i) {
+            long startNanos = System.nanoTime();
+            perf(generated, resource, requestContext);
+            long generatedNanos = (System.nanoTime() - startNanos) / LOOPS;
+
+            startNanos = System.nanoTime();
+            perf(reflective, resource, requestContext);
+            long reflectiveNanos = (System.nanoTime() - startNanos) / LOOPS;
+
+            System.out.println("generated " + generatedNanos + " ns/op, reflection " + reflectiveNanos + " ns/op");
+        }
+    }
+
+    private void perf(Injector injector, OrdersResource resource, ContainerRequestContextImpl requestContext)
+                                                                                                             throws Exception {
+        for (int i = 0; i < LOOPS; ++i) {
+            injector.inject(resource, requestContext);
+        }
+        if (resource.getId() != 123) {
+            throw new IllegalStateException();
+        }
+    }
+}
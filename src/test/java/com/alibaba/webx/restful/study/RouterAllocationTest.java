@@ -0,0 +1,69 @@
+package com.alibaba.webx.restful.study;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.impl.UriInfoImpl;
+import com.alibaba.webx.restful.process.route.PatternRouter;
+import com.alibaba.webx.restful.process.route.Router;
+import com.alibaba.webx.restful.process.route.TrieRouter;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Bytes allocated by the routers for each matched request, the allocation of the request context itself is measured
+ * separately and subtracted.
+ */
+public class RouterAllocationTest extends TestCase {
+
+    private static final int LOOPS = 1000 * 100;
+
+    public void test_allocation() throws Exception {
+        List<Resource> resources = RouterScalingTest.createResources(1000);
+        Resource[] resourceArray = resources.toArray(new Resource[resources.size()]);
+
+        Router trieRouter = new TrieRouter(resourceArray);
+        Router patternRouter = new PatternRouter(resourceArray);
+
+        String path = "/r999/items/123";
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        UriInfoImpl uriInfo = new UriInfoImpl(request, path);
+
+        for (int i = 0; i < 5; ++i) {
+            long contextBytes = perf(null, request, response, uriInfo);
+            long trieBytes = perf(trieRouter, request, response, uriInfo) - contextBytes;
+            long patternBytes = perf(patternRouter, request, response, uriInfo) - contextBytes;
+
+            System.out.println("trie " + trieBytes + " bytes/op, pattern " + patternBytes + " bytes/op");
+        }
+    }
+
+    private long perf(Router router, MockHttpServletRequest request, MockHttpServletResponse response,
+                      UriInfoImpl uriInfo) {
+        long startBytes = getAllocatedBytes();
+        for (int i = 0; i < LOOPS; ++i) {
+            ContainerRequestContextImpl requestContext = new ContainerRequestContextImpl(request, response, uriInfo);
+            if (router != null) {
+                if (!router.match(requestContext)) {
+                    throw new IllegalStateException();
+                }
+                if (requestContext.getPathVariableOffsets()[1] == 0) {
+                    throw new IllegalStateException();
+                }
+            }
+        }
+        return (getAllocatedBytes() - startBytes) / LOOPS;
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,114 @@
+package com.alibaba.webx.restful.study;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+import javax.ws.rs.core.MediaType;
+
+import junit.framework.TestCase;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alibaba.webx.restful.model.Invocable;
+import com.alibaba.webx.restful.model.Parameter;
+import com.alibaba.webx.restful.model.Resource;
+import com.alibaba.webx.restful.model.ResourceMethod;
+import com.alibaba.webx.restful.model.SingletonInstanceConstructor;
+import com.alibaba.webx.restful.process.impl.ContainerRequestContextImpl;
+import com.alibaba.webx.restful.process.impl.UriInfoImpl;
+import com.alibaba.webx.restful.process.route.PatternRouter;
+import com.alibaba.webx.restful.process.route.Router;
+import com.alibaba.webx.restful.process.route.TrieRouter;
+
+/**
+ * Lookup latency of the trie router and the combined pattern router compared with a linear scan over the resource
+ * path patterns, for 10, 1k and 10k routes.
+ */
+public class RouterScalingTest extends TestCase {
+
+    private static final int LOOPS = 1000 * 100;
+
+    public void test_scaling() throws Exception {
+        for (int routeCount : new int[] { 10, 1000, 10000 }) {
+            List<Resource> resources = createResources(routeCount);
+            Resource[] resourceArray = resources.toArray(new Resource[resources.size()]);
+            TrieRouter router = new TrieRouter(resourceArray);
+            PatternRouter patternRouter = new PatternRouter(resourceArray);
+
+            String path = "/r" + (routeCount - 1) + "/items/123";
+
+            for (int i = 0; i < 5; ++i) {
+                long startNanos = System.nanoTime();
+                perfRouter(router, path);
+                long trieNanos = (System.nanoTime() - startNanos) / LOOPS;
+
+                startNanos = System.nanoTime();
+                perfRouter(patternRouter, path);
+                long patternNanos = (System.nanoTime() - startNanos) / LOOPS;
+
+                startNanos = System.nanoTime();
+                perfLinear(resources, path, LOOPS / 100);
+                long linearNanos = (System.nanoTime() - startNanos) / (LOOPS / 100);
+
+                System.out.println("routes " + routeCount + ", trie " + trieNanos + " ns/op, pattern " + patternNanos
+                                   + " ns/op, linear " + linearNanos + " ns/op");
+            }
+        }
+    }
+
+    private void perfRouter(Router router, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        UriInfoImpl uriInfo = new UriInfoImpl(request, path);
+
+        for (int i = 0; i < LOOPS; ++i) {
+            if (!router.match(new ContainerRequestContextImpl(request, response, uriInfo))) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private void perfLinear(List<Resource> resources, String path, int loops) {
+        for (int i = 0; i < loops; ++i) {
+            Resource matched = null;
+            for (Resource resource : resources) {
+                MatchResult matchResult = resource.getPathPattern().match(path);
+                if (matchResult != null) {
+                    matched = resource;
+                    break;
+                }
+            }
+            if (matched == null) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    static List<Resource> createResources(int count) throws Exception {
+        Method method = Items.class.getMethod("get");
+        Invocable invocable = new Invocable(new SingletonInstanceConstructor(Items.class, new Items()), method,
+                                            Collections.<Parameter> emptyList());
+
+        List<Resource> resources = new ArrayList<Resource>(count);
+        for (int i = 0; i < count; ++i) {
+            List<ResourceMethod> subResourceMethods = new ArrayList<ResourceMethod>();
+            subResourceMethods.add(new ResourceMethod("GET", "items/{id}", Collections.<MediaType> emptyList(),
+                                                      Collections.<MediaType> emptyList(), invocable));
+
+            resources.add(new Resource("r" + i, "r" + i, true, Collections.<ResourceMethod> emptyList(),
+                                       subResourceMethods, Collections.<ResourceMethod> emptyList()));
+        }
+        return resources;
+    }
+
+    public static class Items {
+
+        public String get() {
+            return "item";
+        }
+    }
+}